@@ -0,0 +1,68 @@
+package gregtech.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.minecraft.item.ItemStack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gregtech.api.enums.ItemList;
+import gregtech.api.enums.Materials;
+import gregtech.common.blocks.ItemMachines;
+import gregtech.common.tileentities.machines.MTEHatchOutputBusME;
+
+public class GTOutputBusMETest {
+
+    MTEHatchOutputBusME bus;
+    ItemStack ironDust;
+    ItemStack copperDust;
+
+    @BeforeEach
+    void setup() {
+        MTEHatchOutputBusME prototype = (MTEHatchOutputBusME) ItemMachines
+            .getMetaTileEntity(ItemList.Hatch_Output_Bus_ME.get(1));
+        bus = (MTEHatchOutputBusME) prototype.newMetaEntity(null);
+        ironDust = Materials.Iron.getDust(1);
+        copperDust = Materials.Copper.getDust(1);
+    }
+
+    @Test
+    void storeAllClearsStoredAmounts() {
+        ItemStack[] types = { ironDust, null, copperDust };
+        long[] amounts = { 3_000_000_000L, 5, 0 };
+
+        assertTrue(bus.storeAll(types, amounts, false));
+        // Skipped entries keep their amounts
+        assertArrayEquals(new long[] { 0, 5, 0 }, amounts);
+        assertFalse(bus.canAcceptItem());
+    }
+
+    @Test
+    void storeAllSimulateDoesNotStore() {
+        ItemStack[] types = { ironDust, copperDust };
+        long[] amounts = { 3_000_000_000L, 7 };
+
+        assertTrue(bus.storeAll(types, amounts, true));
+        assertArrayEquals(new long[] { 0, 0 }, amounts);
+        assertTrue(bus.canAcceptItem());
+    }
+
+    @Test
+    void storeAllLeavesItemsRejectedByLock() {
+        bus.getLockedItems()
+            .add(ironDust.copy());
+        ItemStack[] types = { ironDust, copperDust };
+        long[] amounts = { 10, 20 };
+
+        assertFalse(bus.storeAll(types, amounts, false));
+        assertArrayEquals(new long[] { 0, 20 }, amounts);
+
+        // The rejected type stays rejected on its own as well
+        long[] copperAmounts = { 20 };
+        assertFalse(bus.storeAll(new ItemStack[] { copperDust }, copperAmounts, false));
+        assertArrayEquals(new long[] { 20 }, copperAmounts);
+    }
+}
@@ -1,5 +1,6 @@
 package gregtech.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -19,6 +20,7 @@ import gregtech.test.mock.MockIVoidableMachine;
 public class GTParallelHelperTest {
 
     static GTRecipe rubberRecipe;
+    static GTRecipe bulkRubberRecipe;
     static ItemStack[] inputItems;
     static MockIVoidableMachine machine;
 
@@ -37,6 +39,16 @@ public class GTParallelHelperTest {
             1,
             1,
             0);
+        bulkRubberRecipe = new GTRecipe(
+            new ItemStack[] { rubberDust.copy(), sulfurDust.copy() },
+            new ItemStack[] { GTUtility.copyAmountUnsafe(1_000, Materials.Rubber.getDust(1)) },
+            null,
+            new int[] { 10000 },
+            null,
+            null,
+            1,
+            1,
+            0);
 
         inputItems = new ItemStack[] { GTUtility.copyAmountUnsafe(Integer.MAX_VALUE, rubberDust),
             GTUtility.copyAmountUnsafe(Integer.MAX_VALUE, rubberDust),
@@ -104,4 +116,87 @@ public class GTParallelHelperTest {
         assertTrue(rubberDustTinyAmount >= 60 && rubberDustTinyAmount <= 70);
     }
 
+    @Test
+    void itemOutputsIntegerOverflow() {
+        ParallelHelper helper = new ParallelHelper().setRecipe(bulkRubberRecipe)
+            .setMachine(machine, false, false)
+            .setItemInputs(inputItems)
+            .setMaxParallel(4_000_000)
+            .setAvailableEUt(4_000_000)
+            .setOutputCalculation(true)
+            .setConsumption(false)
+            .build();
+        ItemStack[] itemStacks = helper.getItemOutputs();
+
+        assertEquals(2, itemStacks.length);
+        assertEquals(Integer.MAX_VALUE, itemStacks[0].stackSize);
+        assertEquals(4_000_000L * 1000 - Integer.MAX_VALUE, itemStacks[1].stackSize);
+        assertArrayEquals(new long[] { 4_000_000L * 1000 }, helper.getItemOutputAmounts());
+    }
+
+    @Test
+    void chancedOutputsExactSampling() {
+        // Too close to 0 or the parallel for the normal approximation, so these are sampled exactly
+        assertAverageChancedOutput(100, 100, 1);
+        assertAverageChancedOutput(9900, 100, 99);
+        assertAverageChancedOutput(10100, 100, 101);
+        // A negative chance multiplier leaves a negative fractional part, which never succeeds
+        assertEquals(-100, ParallelHelper.calculateChancedOutputMultiplier(-100, 100));
+    }
+
+    private static void assertAverageChancedOutput(int chance, int parallel, double expected) {
+        final int samples = 10_000;
+        double sum = 0;
+        for (int i = 0; i < samples; i++) {
+            double multiplier = ParallelHelper.calculateChancedOutputMultiplier(chance, parallel);
+            assertEquals(Math.floor(multiplier), multiplier);
+            assertTrue(multiplier >= Math.floorDiv(chance, 10000) * parallel);
+            assertTrue(multiplier <= (Math.floorDiv(chance, 10000) + 1) * parallel);
+            sum += multiplier;
+        }
+        // About 10 standard deviations of the average
+        assertEquals(expected, sum / samples, 0.1);
+    }
+
+    @Test
+    void outputTypesMatchOutputs() {
+        assertOutputTypesMatchOutputs(
+            new ParallelHelper().setRecipe(rubberRecipe)
+                .setMachine(machine, false, false)
+                .setItemInputs(inputItems)
+                .setMaxParallel(10)
+                .setAvailableEUt(10)
+                .setConsumption(false)
+                .setOutputCalculation(true)
+                .build());
+        assertOutputTypesMatchOutputs(
+            new ParallelHelper().setRecipe(bulkRubberRecipe)
+                .setMachine(machine, false, false)
+                .setItemInputs(inputItems)
+                .setMaxParallel(4_000_000)
+                .setAvailableEUt(4_000_000)
+                .setConsumption(false)
+                .setOutputCalculation(true)
+                .build());
+    }
+
+    private static void assertOutputTypesMatchOutputs(ParallelHelper helper) {
+        ItemStack[] types = helper.getItemOutputTypes();
+        long[] amounts = helper.getItemOutputAmounts();
+        ItemStack[] outputs = helper.getItemOutputs();
+        assertEquals(types.length, amounts.length);
+
+        // Outputs are the types in the same order, split into stacks of at most Integer.MAX_VALUE
+        int index = 0;
+        for (int i = 0; i < types.length; i++) {
+            long amount = 0;
+            while (amount < amounts[i]) {
+                assertTrue(GTUtility.areStacksEqual(types[i], outputs[index]));
+                amount += outputs[index++].stackSize;
+            }
+            assertEquals(amounts[i], amount);
+        }
+        assertEquals(outputs.length, index);
+    }
+
 }
@@ -0,0 +1,84 @@
+package gregtech.jmh;
+
+import static gregtech.api.enums.GTValues.V;
+import static gregtech.api.enums.GTValues.VP;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gregtech.api.util.OverclockCalculator;
+
+/**
+ * {@link OverclockCalculator#calculate} for the common overclock setups. Doesn't need any fixtures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverclockCalculatorBenchmark {
+
+    /**
+     * Voltage tier of the machine, the recipe is always LV.
+     */
+    @Param({ "1", "5", "9", "14" })
+    public int tier;
+
+    @Param({ "256", "4096" })
+    public int parallel;
+
+    @Benchmark
+    public OverclockCalculator normal() {
+        return new OverclockCalculator().setRecipeEUt(VP[1])
+            .setEUt(V[tier])
+            .setDuration(1024)
+            .setParallel(parallel)
+            .calculate();
+    }
+
+    @Benchmark
+    public OverclockCalculator perfect() {
+        return new OverclockCalculator().setRecipeEUt(VP[1])
+            .setEUt(V[tier])
+            .setDuration(1024)
+            .setParallel(parallel)
+            .enablePerfectOC()
+            .calculate();
+    }
+
+    @Benchmark
+    public OverclockCalculator heat() {
+        return new OverclockCalculator().setRecipeEUt(VP[1])
+            .setEUt(V[tier])
+            .setDuration(1024)
+            .setParallel(parallel)
+            .setHeatOC(true)
+            .setHeatDiscount(true)
+            .setRecipeHeat(1800)
+            .setMachineHeat(1800 * 5)
+            .calculate();
+    }
+
+    @Benchmark
+    public OverclockCalculator laser() {
+        return new OverclockCalculator().setRecipeEUt(VP[1])
+            .setEUt(V[tier])
+            .setAmperage(256)
+            .setDuration(1024)
+            .setParallel(parallel)
+            .setLaserOC(true)
+            .setAmperageOC(true)
+            .calculate();
+    }
+}
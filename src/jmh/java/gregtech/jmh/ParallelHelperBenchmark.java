@@ -0,0 +1,131 @@
+package gregtech.jmh;
+
+import static gregtech.api.enums.GTValues.V;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gregtech.api.enums.VoidingMode;
+import gregtech.api.interfaces.fluid.IFluidStore;
+import gregtech.api.interfaces.tileentity.IVoidable;
+import gregtech.api.recipe.RecipeMaps;
+import gregtech.api.util.GTRecipe;
+import gregtech.api.util.OverclockCalculator;
+import gregtech.api.util.ParallelHelper;
+
+/**
+ * {@link ParallelHelper#build} of a recipe with chanced outputs, from single parallel up to the parallel counts of
+ * the big multiblocks. Inputs are never consumed, so every invocation does the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelHelperBenchmark {
+
+    @Param({ "1", "256", "4096", "1000000" })
+    public int maxParallel;
+
+    @Param({ "false", "true" })
+    public boolean batchMode;
+
+    private GTRecipe recipe;
+    private ItemStack[] items;
+    private FluidStack[] fluids;
+    private final IVoidable machine = new VoidingMachine();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RecipeFixtures.init();
+        for (GTRecipe candidate : RecipeMaps.assemblerRecipes.getAllRecipes()) {
+            if (candidate.mInputs.length >= 3 && candidate.mFluidInputs.length > 0) {
+                recipe = candidate;
+                break;
+            }
+        }
+        items = RecipeFixtures.itemInputsOf(recipe, Integer.MAX_VALUE);
+        fluids = RecipeFixtures.fluidInputsOf(recipe, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public ParallelHelper build() {
+        ParallelHelper helper = new ParallelHelper().setRecipe(recipe)
+            .setMachine(machine, false, false)
+            .setItemInputs(items)
+            .setFluidInputs(fluids)
+            .setAvailableEUt(V[14])
+            .setMaxParallel(maxParallel)
+            .setCalculator(
+                new OverclockCalculator().setRecipeEUt(recipe.mEUt)
+                    .setEUt(V[14])
+                    .setDuration(recipe.mDuration))
+            .setOutputCalculation(true)
+            .setConsumption(false);
+        if (batchMode) {
+            helper.enableBatchMode(128);
+        }
+        return helper.build();
+    }
+
+    /**
+     * Voids everything, so the benchmark measures input and output calculation rather than void protection.
+     */
+    private static final class VoidingMachine implements IVoidable {
+
+        @Override
+        public boolean supportsVoidProtection() {
+            return true;
+        }
+
+        @Override
+        public VoidingMode getVoidingMode() {
+            return VoidingMode.VOID_ALL;
+        }
+
+        @Override
+        public void setVoidingMode(VoidingMode mode) {}
+
+        @Override
+        public List<ItemStack> getItemOutputSlots(ItemStack[] toOutput) {
+            return null;
+        }
+
+        @Override
+        public List<? extends IFluidStore> getFluidOutputSlots(FluidStack[] toOutput) {
+            return null;
+        }
+
+        @Override
+        public boolean canDumpItemToME() {
+            return false;
+        }
+
+        @Override
+        public boolean canDumpFluidToME() {
+            return false;
+        }
+
+        @Override
+        public VoidingMode getDefaultVoidingMode() {
+            return VoidingMode.VOID_ALL;
+        }
+    }
+}
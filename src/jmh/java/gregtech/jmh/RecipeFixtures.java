@@ -0,0 +1,146 @@
+package gregtech.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.minecraft.block.Block;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+
+import org.mockito.Mockito;
+
+import gregtech.GTMod;
+import gregtech.api.GregTechAPI;
+import gregtech.api.recipe.RecipeMap;
+import gregtech.api.recipe.RecipeMaps;
+import gregtech.api.util.GTRecipe;
+import gregtech.api.util.GTUtility;
+import gregtech.common.GTProxy;
+
+/**
+ * Fills the real recipemaps with generated recipes, so the benchmarks can run without a Minecraft server.
+ * <p>
+ * Only vanilla items are registered here, so the recipes are synthetic but have the shape of the real ones: 1-6 item
+ * inputs with up to 64 items each, some fluid inputs and chanced outputs. Generation is seeded, so every fork
+ * benchmarks exactly the same recipes.
+ */
+public final class RecipeFixtures {
+
+    /**
+     * Roughly the number of recipes the respective maps have in a full pack.
+     */
+    public static final int ASSEMBLER_RECIPES = 12_000;
+    public static final int CHEMICAL_REACTOR_RECIPES = 2_500;
+
+    private static final int FLUIDS = 32;
+
+    private static boolean initialized;
+    private static List<ItemStack> itemPool;
+    private static List<Fluid> fluidPool;
+
+    private RecipeFixtures() {}
+
+    /**
+     * Registers vanilla blocks / items, fluids used by the fixtures and fills the recipemaps. Safe to call repeatedly.
+     */
+    public static synchronized void init() {
+        if (initialized) return;
+        initialized = true;
+
+        Block.registerBlocks();
+        Item.registerItems();
+        // Only the fields read while adding recipes are needed, the proxy itself is never started
+        GTMod.gregtechproxy = Mockito.mock(GTProxy.class);
+
+        itemPool = new ArrayList<>();
+        for (Object item : Item.itemRegistry) {
+            for (int damage = 0; damage < 4; damage++) {
+                itemPool.add(new ItemStack((Item) item, 1, damage));
+            }
+        }
+        fluidPool = new ArrayList<>();
+        fluidPool.add(FluidRegistry.WATER);
+        fluidPool.add(FluidRegistry.LAVA);
+        for (int i = fluidPool.size(); i < FLUIDS; i++) {
+            Fluid fluid = new Fluid("gtbenchmark.fluid" + i);
+            FluidRegistry.registerFluid(fluid);
+            fluidPool.add(fluid);
+        }
+
+        Random random = new Random(0x6754);
+        fill(RecipeMaps.assemblerRecipes, ASSEMBLER_RECIPES, 6, 1, random);
+        fill(RecipeMaps.chemicalReactorRecipes, CHEMICAL_REACTOR_RECIPES, 2, 1, random);
+        fill(RecipeMaps.multiblockChemicalReactorRecipes, CHEMICAL_REACTOR_RECIPES, 6, 6, random);
+
+        // Lets the recipes cache and compile their inputs like they do in game
+        GregTechAPI.sUnificationEntriesRegistered = true;
+        GregTechAPI.sFullLoadFinished = true;
+    }
+
+    private static void fill(RecipeMap<?> map, int count, int maxItems, int maxFluids, Random random) {
+        for (int i = 0; i < count; i++) {
+            ItemStack[] inputs = new ItemStack[1 + random.nextInt(maxItems)];
+            for (int j = 0; j < inputs.length; j++) {
+                inputs[j] = randomItem(random, 1 + random.nextInt(64));
+            }
+            FluidStack[] fluidInputs = new FluidStack[random.nextInt(maxFluids + 1)];
+            for (int j = 0; j < fluidInputs.length; j++) {
+                fluidInputs[j] = new FluidStack(randomFluid(random), 144 * (1 + random.nextInt(16)));
+            }
+            ItemStack[] outputs = { randomItem(random, 1), randomItem(random, 1) };
+            int[] chances = { 10000, 2500 };
+            GTRecipe recipe = new GTRecipe(
+                false,
+                inputs,
+                outputs,
+                null,
+                chances,
+                fluidInputs,
+                new FluidStack[0],
+                20 * (1 + random.nextInt(30)),
+                (int) (30 * Math.pow(4, random.nextInt(6))),
+                0);
+            map.getBackend()
+                .compileRecipe(recipe);
+        }
+    }
+
+    public static ItemStack randomItem(Random random, int amount) {
+        return GTUtility.copyAmountUnsafe(amount, itemPool.get(random.nextInt(itemPool.size())));
+    }
+
+    public static Fluid randomFluid(Random random) {
+        return fluidPool.get(random.nextInt(fluidPool.size()));
+    }
+
+    /**
+     * @return Inputs of the recipe, each multiplied by the supplied amount. Stack sizes are not capped, like stacks
+     *         of an ME input bus.
+     */
+    public static ItemStack[] itemInputsOf(GTRecipe recipe, long multiplier) {
+        ItemStack[] items = new ItemStack[recipe.mInputs.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = GTUtility.copyAmountUnsafe(
+                (int) Math.min(Integer.MAX_VALUE, recipe.mInputs[i].stackSize * multiplier),
+                recipe.mInputs[i]);
+        }
+        return items;
+    }
+
+    /**
+     * @return Fluid inputs of the recipe, each multiplied by the supplied amount.
+     */
+    public static FluidStack[] fluidInputsOf(GTRecipe recipe, long multiplier) {
+        FluidStack[] fluids = new FluidStack[recipe.mFluidInputs.length];
+        for (int i = 0; i < fluids.length; i++) {
+            fluids[i] = new FluidStack(
+                recipe.mFluidInputs[i],
+                (int) Math.min(Integer.MAX_VALUE, recipe.mFluidInputs[i].amount * multiplier));
+        }
+        return fluids;
+    }
+}
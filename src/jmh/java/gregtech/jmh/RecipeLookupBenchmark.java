@@ -0,0 +1,143 @@
+package gregtech.jmh;
+
+import static gregtech.api.enums.GTValues.V;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import gregtech.api.recipe.RecipeInputSnapshot;
+import gregtech.api.recipe.RecipeMap;
+import gregtech.api.recipe.RecipeMaps;
+import gregtech.api.recipe.RecipeMatchCursor;
+import gregtech.api.util.GTRecipe;
+
+/**
+ * Recipe lookup as done by machines every recipe check, and matching the inputs of a single candidate recipe.
+ * <ul>
+ * <li>hit: exactly the inputs of a recipe</li>
+ * <li>miss: a recipe with one of its inputs replaced, so candidates are found but none matches</li>
+ * <li>largeBus: the inputs of a recipe hidden between many other stacks, with ME bus sized stacks</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeLookupBenchmark {
+
+    private static final int LARGE_BUS_STACKS = 128;
+    private static final int LARGE_BUS_MULTIPLIER = 1_000_000;
+
+    @Param({ "assembler", "chemicalReactor", "largeChemicalReactor" })
+    public String recipeMap;
+
+    @Param({ "hit", "miss", "largeBus" })
+    public String scenario;
+
+    private RecipeMap<?> map;
+    private GTRecipe target;
+    private ItemStack[] items;
+    private FluidStack[] fluids;
+    private final RecipeMatchCursor cursor = new RecipeMatchCursor();
+    private final RecipeInputSnapshot snapshot = new RecipeInputSnapshot();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RecipeFixtures.init();
+        map = switch (recipeMap) {
+            case "assembler" -> RecipeMaps.assemblerRecipes;
+            case "chemicalReactor" -> RecipeMaps.chemicalReactorRecipes;
+            case "largeChemicalReactor" -> RecipeMaps.multiblockChemicalReactorRecipes;
+            default -> throw new IllegalArgumentException(recipeMap);
+        };
+
+        Random random = new Random(0x2F);
+        List<GTRecipe> candidates = new ArrayList<>();
+        for (GTRecipe recipe : map.getAllRecipes()) {
+            if (recipe.mInputs.length >= 2) candidates.add(recipe);
+        }
+        target = candidates.get(random.nextInt(candidates.size()));
+
+        switch (scenario) {
+            case "hit" -> {
+                items = RecipeFixtures.itemInputsOf(target, 1);
+                fluids = RecipeFixtures.fluidInputsOf(target, 1);
+            }
+            case "miss" -> {
+                items = RecipeFixtures.itemInputsOf(target, 1);
+                items[items.length - 1] = RecipeFixtures.randomItem(random, 64);
+                fluids = RecipeFixtures.fluidInputsOf(target, 1);
+            }
+            case "largeBus" -> {
+                ItemStack[] targetItems = RecipeFixtures.itemInputsOf(target, LARGE_BUS_MULTIPLIER);
+                items = new ItemStack[LARGE_BUS_STACKS + targetItems.length];
+                for (int i = 0; i < LARGE_BUS_STACKS; i++) {
+                    items[i] = RecipeFixtures.randomItem(random, LARGE_BUS_MULTIPLIER);
+                }
+                System.arraycopy(targetItems, 0, items, LARGE_BUS_STACKS, targetItems.length);
+                fluids = RecipeFixtures.fluidInputsOf(target, LARGE_BUS_MULTIPLIER);
+            }
+            default -> throw new IllegalArgumentException(scenario);
+        }
+    }
+
+    @Benchmark
+    public GTRecipe findRecipe() {
+        return map.findRecipeQuery()
+            .items(items)
+            .fluids(fluids)
+            .voltage(V[14])
+            .find();
+    }
+
+    @Benchmark
+    public void findAllRecipes(Blackhole blackhole) {
+        map.findRecipeQuery()
+            .items(items)
+            .fluids(fluids)
+            .voltage(V[14])
+            .findAll()
+            .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public boolean iterateRecipes() {
+        return map.findRecipeQuery()
+            .items(items)
+            .fluids(fluids)
+            .voltage(V[14])
+            .iterate(cursor)
+            .hasNext();
+    }
+
+    @Benchmark
+    public boolean isRecipeInputEqual() {
+        return target.isRecipeInputEqual(false, false, fluids, items);
+    }
+
+    @Benchmark
+    public double maxParallelFromSnapshot() {
+        return target.maxParallelCalculatedByInputs(1, snapshot.set(fluids, items));
+    }
+}
@@ -678,4 +678,10 @@ public class MTELinkedInputBus extends MTEHatchInputBus implements IRecipeProces
             fake = nbt.getBoolean("fake");
         }
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Contents are shared with other linked buses
+        return false;
+    }
 }
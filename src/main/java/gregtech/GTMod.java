@@ -67,6 +67,7 @@ import gregtech.api.modularui2.GTWidgetThemes;
 import gregtech.api.objects.GTItemStack;
 import gregtech.api.objects.ItemData;
 import gregtech.api.objects.XSTR;
+import gregtech.api.recipe.RecipeMap;
 import gregtech.api.registries.LHECoolantRegistry;
 import gregtech.api.threads.RunnableMachineUpdate;
 import gregtech.api.util.AssemblyLineServer;
@@ -738,6 +739,13 @@ public class GTMod implements IGTMod {
         for (SetMultimap<GTItemStack, ?> gt_itemStackMap : GregTechAPI.itemStackMultiMaps) {
             GTUtility.reMap(gt_itemStackMap);
         }
+        for (RecipeMap<?> recipeMap : RecipeMap.ALL_RECIPE_MAPS.values()) {
+            recipeMap.getBackend()
+                .invalidateLookupIndex();
+            recipeMap.getBackend()
+                .getMissCache()
+                .clear();
+        }
     }
 
     @Mod.EventHandler
@@ -748,6 +756,13 @@ public class GTMod implements IGTMod {
 
         gregtechproxy.onServerStopping();
 
+        // Fluid ids are assigned per world, so remembered misses must not outlive the server
+        for (RecipeMap<?> recipeMap : RecipeMap.ALL_RECIPE_MAPS.values()) {
+            recipeMap.getBackend()
+                .getMissCache()
+                .clear();
+        }
+
         for (Runnable tRunnable : GregTechAPI.sAfterGTServerstop) {
             tRunnable.run();
         }
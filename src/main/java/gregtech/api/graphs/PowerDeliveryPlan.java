@@ -0,0 +1,149 @@
+package gregtech.api.graphs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import gregtech.api.graphs.consumers.ConsumerNode;
+import gregtech.api.graphs.paths.PowerNodePath;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+/*
+ * the routes from one power node to every consumer of its network, flattened so powering the network doesn't have to
+ * walk the node map. a hop is one step from a node to its neighbour on some side, applying the self path of the node
+ * and the path on that side like PowerNodes does. the node map is a tree, so every consumer has exactly one chain of
+ * hops, and the voltage loss up to every hop is fixed. the node map is regenerated with new nodes whenever it changes,
+ * so a plan stored on its source node never gets stale
+ */
+public class PowerDeliveryPlan {
+
+    private final ConsumerNode[] mConsumers;
+    // hops of consumer i are mChains[mChainStart[i]] to mChains[mChainStart[i + 1] - 1], starting at the source
+    private final int[] mChainStart;
+    private final int[] mChains;
+    // voltage lost between the source and each consumer
+    private final long[] mConsumerLoss;
+
+    private final PowerNodePath[] mHopSelfPaths;
+    private final PowerNodePath[] mHopPaths;
+    private final Lock[] mHopLocks;
+    // voltage lost between the source and the node each hop starts at
+    private final long[] mHopLoss;
+    // the last call each hop had voltage applied in
+    private final int[] mHopApplied;
+    private int mCall = 0;
+
+    public PowerDeliveryPlan(PowerNode aSource) {
+        final ArrayList<PowerNodePath> tSelfPaths = new ArrayList<>();
+        final ArrayList<PowerNodePath> tPaths = new ArrayList<>();
+        final ArrayList<Lock> tLocks = new ArrayList<>();
+        final ArrayList<Long> tHopLoss = new ArrayList<>();
+        final IntArrayList tHopParent = new IntArrayList();
+        // hop leading to each node, -1 for the source
+        final Reference2IntOpenHashMap<Node> tNodeHop = new Reference2IntOpenHashMap<>();
+        final Reference2IntOpenHashMap<Node> tNodeLossIndex = new Reference2IntOpenHashMap<>();
+        final ArrayList<Long> tNodeLoss = new ArrayList<>();
+
+        tNodeHop.put(aSource, -1);
+        tNodeLossIndex.put(aSource, 0);
+        tNodeLoss.add(0L);
+        final ArrayDeque<Node> tStack = new ArrayDeque<>();
+        tStack.push(aSource);
+        while (!tStack.isEmpty()) {
+            final Node tNode = tStack.pop();
+            final long tLoss = tNodeLoss.get(tNodeLossIndex.getInt(tNode));
+            final PowerNodePath tSelfPath = (PowerNodePath) tNode.mSelfPath;
+            for (int side = 0; side < 6; side++) {
+                final Node tNextNode = tNode.mNeighbourNodes[side];
+                if (tNextNode == null || tNodeHop.containsKey(tNextNode)) continue;
+                final PowerNodePath tPath = (PowerNodePath) tNode.mNodePaths[side];
+                if (tPath == null) continue;
+                final int tHop = tPaths.size();
+                tSelfPaths.add(tSelfPath);
+                tPaths.add(tPath);
+                tLocks.add(tNode.locks[side]);
+                tHopLoss.add(tLoss);
+                tHopParent.add(tNodeHop.getInt(tNode));
+                tNodeHop.put(tNextNode, tHop);
+                tNodeLossIndex.put(tNextNode, tNodeLoss.size());
+                tNodeLoss.add(tLoss + (tSelfPath == null ? 0 : tSelfPath.getLoss()) + tPath.getLoss());
+                tStack.push(tNextNode);
+            }
+        }
+
+        final ArrayList<ConsumerNode> tConsumers = new ArrayList<>();
+        final IntArrayList tChainStart = new IntArrayList();
+        final IntArrayList tChains = new IntArrayList();
+        final ArrayList<Long> tConsumerLoss = new ArrayList<>();
+        for (ConsumerNode tConsumer : aSource.mConsumers) {
+            if (!tNodeHop.containsKey(tConsumer) || tNodeHop.getInt(tConsumer) < 0) continue;
+            tConsumers.add(tConsumer);
+            tChainStart.add(tChains.size());
+            tConsumerLoss.add(tNodeLoss.get(tNodeLossIndex.getInt(tConsumer)));
+            final int tFirst = tChains.size();
+            for (int tHop = tNodeHop.getInt(tConsumer); tHop >= 0; tHop = tHopParent.getInt(tHop)) {
+                tChains.add(tHop);
+            }
+            // collected from the consumer back to the source
+            for (int i = tFirst, j = tChains.size() - 1; i < j; i++, j--) {
+                final int tSwap = tChains.getInt(i);
+                tChains.set(i, tChains.getInt(j));
+                tChains.set(j, tSwap);
+            }
+        }
+        tChainStart.add(tChains.size());
+
+        mConsumers = tConsumers.toArray(new ConsumerNode[0]);
+        mChainStart = tChainStart.toIntArray();
+        mChains = tChains.toIntArray();
+        mConsumerLoss = new long[mConsumers.length];
+        for (int i = 0; i < mConsumerLoss.length; i++) mConsumerLoss[i] = tConsumerLoss.get(i);
+        mHopSelfPaths = tSelfPaths.toArray(new PowerNodePath[0]);
+        mHopPaths = tPaths.toArray(new PowerNodePath[0]);
+        mHopLocks = tLocks.toArray(new Lock[0]);
+        mHopLoss = new long[mHopPaths.length];
+        for (int i = 0; i < mHopLoss.length; i++) mHopLoss[i] = tHopLoss.get(i);
+        mHopApplied = new int[mHopPaths.length];
+    }
+
+    // power the consumers in network order, like PowerNodes.powerNode, returns the amps used
+    public long powerConsumers(long aVoltage, long aMaxAmps, boolean aOnlyNeedingEnergy) {
+        final int tCall = ++mCall;
+        long tAmpsUsed = 0;
+        for (int i = 0; i < mConsumers.length && tAmpsUsed < aMaxAmps; i++) {
+            final ConsumerNode tConsumer = mConsumers[i];
+            if (aOnlyNeedingEnergy && !tConsumer.needsEnergy()) continue;
+            final int tStart = mChainStart[i], tEnd = mChainStart[i + 1];
+            if (isLocked(tStart, tEnd)) continue;
+            for (int j = tStart; j < tEnd; j++) {
+                final int tHop = mChains[j];
+                if (mHopApplied[tHop] == tCall) continue;
+                mHopApplied[tHop] = tCall;
+                final PowerNodePath tSelfPath = mHopSelfPaths[tHop];
+                long tVoltage = aVoltage - mHopLoss[tHop];
+                if (tSelfPath != null) {
+                    tSelfPath.applyVoltage(tVoltage, false);
+                    tVoltage -= tSelfPath.getLoss();
+                }
+                mHopPaths[tHop].applyVoltage(tVoltage, true);
+            }
+            final long tAmps = tConsumer.injectEnergy(aVoltage - mConsumerLoss[i], aMaxAmps - tAmpsUsed);
+            if (tAmps == 0) continue;
+            for (int j = tStart; j < tEnd; j++) {
+                final int tHop = mChains[j];
+                mHopPaths[tHop].addAmps(tAmps);
+                if (mHopSelfPaths[tHop] != null) mHopSelfPaths[tHop].addAmps(tAmps);
+            }
+            tAmpsUsed += tAmps;
+        }
+        return tAmpsUsed;
+    }
+
+    private boolean isLocked(int aStart, int aEnd) {
+        for (int j = aStart; j < aEnd; j++) {
+            final Lock tLock = mHopLocks[mChains[j]];
+            if (tLock != null && tLock.isLocked()) return true;
+        }
+        return false;
+    }
+}
@@ -10,6 +10,8 @@ import gregtech.api.graphs.consumers.ConsumerNode;
 public class PowerNode extends Node {
 
     public boolean mHadVoltage = false;
+    // built on the first transfer, the node map gets regenerated with new nodes when it changes
+    public PowerDeliveryPlan mDeliveryPlan;
 
     public PowerNode(int aNodeValue, TileEntity aTileEntity, ArrayList<ConsumerNode> aConsumers) {
         super(aNodeValue, aTileEntity, aConsumers);
@@ -0,0 +1,28 @@
+package gregtech.api.interfaces.metatileentity;
+
+/**
+ * Implement this interface if your input hatch can tell its multiblock controller when its contents change.
+ * Controllers compare the version between recipe checks, so idle machines don't re-check recipes against inputs
+ * they have already failed on.
+ */
+public interface IInputChangeTracking {
+
+    /**
+     * @return Counter that changes every time the contents of this hatch change. Only meaningful when compared to a
+     *         previously returned value of the same hatch.
+     */
+    int getInputVersion();
+
+    /**
+     * Reports that the contents of this hatch have changed in a way {@link #getInputVersion} would not notice.
+     */
+    void markInputChanged();
+
+    /**
+     * @return False if the contents can change without {@link #getInputVersion} changing, e.g. if they are backed
+     *         by an ME network. Controllers must not skip recipe checks for such hatches.
+     */
+    default boolean isInputChangeTracked() {
+        return true;
+    }
+}
@@ -1,11 +1,16 @@
 package gregtech.api.interfaces.metatileentity;
 
+import java.util.ArrayList;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import net.minecraftforge.common.util.ForgeDirection;
 
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
 import gregtech.api.metatileentity.BaseMetaPipeEntity;
+import gregtech.common.covers.Cover;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
 
 public interface IMetaTileEntityItemPipe extends IMetaTileEntityPipe {
 
@@ -53,18 +58,30 @@ public interface IMetaTileEntityItemPipe extends IMetaTileEntityPipe {
          */
         public static Map<IMetaTileEntityItemPipe, Long> scanPipes(IMetaTileEntityItemPipe aMetaTileEntity,
             Map<IMetaTileEntityItemPipe, Long> aMap, long aStep, boolean aSuckItems, boolean aIgnoreCapacity) {
+            return scanPipes(aMetaTileEntity, aMap, aStep, aSuckItems, aIgnoreCapacity, null);
+        }
+
+        /**
+         * @param aCoverChecks if not null, records the cover checks the scan depends on, so a cached result can be
+         *                     validated against cover changes later.
+         * @return connected Item Pipes
+         */
+        public static Map<IMetaTileEntityItemPipe, Long> scanPipes(IMetaTileEntityItemPipe aMetaTileEntity,
+            Map<IMetaTileEntityItemPipe, Long> aMap, long aStep, boolean aSuckItems, boolean aIgnoreCapacity,
+            @Nullable CoverChecks aCoverChecks) {
             aStep += aMetaTileEntity.getStepSize();
             if (aIgnoreCapacity || aMetaTileEntity.pipeCapacityCheck())
                 if (aMap.get(aMetaTileEntity) == null || aMap.get(aMetaTileEntity) > aStep) {
                     final IGregTechTileEntity aBaseMetaTileEntity = aMetaTileEntity.getBaseMetaTileEntity();
+                    // A pipe visited again only gets a shorter distance, its covers have been recorded already
+                    final CoverChecks tCoverChecks = aMap.get(aMetaTileEntity) == null ? aCoverChecks : null;
                     aMap.put(aMetaTileEntity, aStep);
                     for (final ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
                         if (aMetaTileEntity instanceof IConnectable
                             && !((IConnectable) aMetaTileEntity).isConnectedAtSide(side)) continue;
                         final ForgeDirection oppositeSide = side.getOpposite();
                         if (aSuckItems) {
-                            if (aBaseMetaTileEntity.getCoverAtSide(side)
-                                .letsItemsIn(-2)) {
+                            if (letsItems(aBaseMetaTileEntity, side, true, tCoverChecks)) {
                                 final IGregTechTileEntity tItemPipe = aBaseMetaTileEntity
                                     .getIGregTechTileEntityAtSide(side);
                                 if (aBaseMetaTileEntity.getColorization() >= 0) {
@@ -76,20 +93,19 @@ public interface IMetaTileEntityItemPipe extends IMetaTileEntityPipe {
                                 if (tItemPipe instanceof BaseMetaPipeEntity) {
                                     final IMetaTileEntity tMetaTileEntity = tItemPipe.getMetaTileEntity();
                                     if (tMetaTileEntity instanceof IMetaTileEntityItemPipe
-                                        && tItemPipe.getCoverAtSide(oppositeSide)
-                                            .letsItemsOut(-2)) {
+                                        && letsItems(tItemPipe, oppositeSide, false, tCoverChecks)) {
                                         scanPipes(
                                             (IMetaTileEntityItemPipe) tMetaTileEntity,
                                             aMap,
                                             aStep,
                                             aSuckItems,
-                                            aIgnoreCapacity);
+                                            aIgnoreCapacity,
+                                            aCoverChecks);
                                     }
                                 }
                             }
                         } else {
-                            if (aBaseMetaTileEntity.getCoverAtSide(side)
-                                .letsItemsOut(-2)) {
+                            if (letsItems(aBaseMetaTileEntity, side, false, tCoverChecks)) {
                                 final IGregTechTileEntity tItemPipe = aBaseMetaTileEntity
                                     .getIGregTechTileEntityAtSide(side);
                                 if (tItemPipe != null) {
@@ -102,14 +118,14 @@ public interface IMetaTileEntityItemPipe extends IMetaTileEntityPipe {
                                     if (tItemPipe instanceof BaseMetaPipeEntity) {
                                         final IMetaTileEntity tMetaTileEntity = tItemPipe.getMetaTileEntity();
                                         if (tMetaTileEntity instanceof IMetaTileEntityItemPipe
-                                            && tItemPipe.getCoverAtSide(oppositeSide)
-                                                .letsItemsIn(-2)) {
+                                            && letsItems(tItemPipe, oppositeSide, true, tCoverChecks)) {
                                             scanPipes(
                                                 (IMetaTileEntityItemPipe) tMetaTileEntity,
                                                 aMap,
                                                 aStep,
                                                 aSuckItems,
-                                                aIgnoreCapacity);
+                                                aIgnoreCapacity,
+                                                aCoverChecks);
                                         }
                                     }
                                 }
@@ -119,5 +135,47 @@ public interface IMetaTileEntityItemPipe extends IMetaTileEntityPipe {
                 }
             return aMap;
         }
+
+        private static boolean letsItems(IGregTechTileEntity aTileEntity, ForgeDirection side, boolean aIn,
+            @Nullable CoverChecks aCoverChecks) {
+            final Cover cover = aTileEntity.getCoverAtSide(side);
+            final boolean result = aIn ? cover.letsItemsIn(-2) : cover.letsItemsOut(-2);
+            if (aCoverChecks != null) aCoverChecks.add(aTileEntity, side, aIn, cover, result);
+            return result;
+        }
+    }
+
+    /**
+     * Cover checks a {@link Util#scanPipes} result depends on. Covers can change their mode at any time without
+     * notifying the pipes, so cached scan results re-run these cheap checks instead of the whole scan.
+     */
+    final class CoverChecks {
+
+        private final ArrayList<IGregTechTileEntity> tiles = new ArrayList<>();
+        private final ArrayList<Cover> covers = new ArrayList<>();
+        private final ByteArrayList sides = new ByteArrayList();
+
+        private void add(IGregTechTileEntity aTileEntity, ForgeDirection side, boolean aIn, Cover cover,
+            boolean aResult) {
+            tiles.add(aTileEntity);
+            covers.add(cover);
+            // Side ordinal in the low bits, direction and outcome above
+            sides.add((byte) (side.ordinal() | (aIn ? 8 : 0) | (aResult ? 16 : 0)));
+        }
+
+        /**
+         * @return if all the recorded covers are still there and still give the same result.
+         */
+        public boolean isValid() {
+            for (int i = 0, size = tiles.size(); i < size; i++) {
+                final byte tData = sides.getByte(i);
+                final Cover cover = tiles.get(i)
+                    .getCoverAtSide(ForgeDirection.getOrientation(tData & 7));
+                if (cover != covers.get(i)) return false;
+                final boolean result = (tData & 8) != 0 ? cover.letsItemsIn(-2) : cover.letsItemsOut(-2);
+                if (result != ((tData & 16) != 0)) return false;
+            }
+            return true;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package gregtech.api.logic;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -18,14 +19,20 @@ import net.minecraftforge.fluids.FluidStack;
 import gregtech.api.interfaces.tileentity.IRecipeLockable;
 import gregtech.api.interfaces.tileentity.IVoidable;
 import gregtech.api.objects.GTDualInputPattern;
+import gregtech.api.recipe.FindRecipeQuery;
 import gregtech.api.recipe.RecipeMap;
+import gregtech.api.recipe.RecipeMatchCursor;
+import gregtech.api.recipe.RecipeMissCache;
+import gregtech.api.recipe.RecipeSearchBatch;
 import gregtech.api.recipe.check.CheckRecipeResult;
 import gregtech.api.recipe.check.CheckRecipeResultRegistry;
 import gregtech.api.recipe.check.SingleRecipeCheck;
 import gregtech.api.util.GTRecipe;
+import gregtech.api.util.GTUtility;
 import gregtech.api.util.OverclockCalculator;
 import gregtech.api.util.ParallelHelper;
 import gregtech.common.tileentities.machines.IDualInputInventoryWithPattern;
+import it.unimi.dsi.fastutil.HashCommon;
 
 /**
  * Logic class to calculate result of recipe check from inputs, based on recipemap.
@@ -33,6 +40,52 @@ import gregtech.common.tileentities.machines.IDualInputInventoryWithPattern;
 @SuppressWarnings({ "unused", "UnusedReturnValue" })
 public class ProcessingLogic {
 
+    /**
+     * Whether the class keeps the default {@link #findRecipeMatches}, so the allocation-free lookup can be used
+     * instead of it without changing the behavior. Says nothing about whether the search only depends on the inputs,
+     * see {@link #setRecipeSearchCaching} for that.
+     */
+    private static final ClassValue<Boolean> USES_DEFAULT_RECIPE_MATCHES = new ClassValue<>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != ProcessingLogic.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("findRecipeMatches", RecipeMap.class);
+                    return false;
+                } catch (NoSuchMethodException ignored) {}
+            }
+            return true;
+        }
+    };
+
+    /**
+     * Whether the class keeps the default {@link #validateRecipe}, {@link #createParallelHelper} and
+     * {@link #createOverclockCalculator}, so recipes rejected for lack of power can be told apart by their EU/t alone.
+     * Overridden validation might change the EU/t modifier before the parallel helper sees it.
+     */
+    private static final ClassValue<Boolean> USES_DEFAULT_POWER_CHECK = new ClassValue<>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != ProcessingLogic.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("validateRecipe", GTRecipe.class);
+                    return false;
+                } catch (NoSuchMethodException ignored) {}
+                try {
+                    c.getDeclaredMethod("createParallelHelper", GTRecipe.class);
+                    return false;
+                } catch (NoSuchMethodException ignored) {}
+                try {
+                    c.getDeclaredMethod("createOverclockCalculator", GTRecipe.class);
+                    return false;
+                } catch (NoSuchMethodException ignored) {}
+            }
+            return true;
+        }
+    };
+
     // Traits
     protected IVoidable machine;
     protected IRecipeLockable recipeLockableMachine;
@@ -54,6 +107,7 @@ public class ProcessingLogic {
     protected double overClockTimeReduction = 2.0;
     protected double overClockPowerIncrease = 4.0;
     protected boolean amperageOC = true;
+    protected boolean recipeSearchCaching;
 
     // Calculated results
     protected ItemStack[] outputItems;
@@ -81,6 +135,13 @@ public class ProcessingLogic {
      */
     protected Map<IDualInputInventoryWithPattern, Set<GTRecipe>> dualInvWithPatternToRecipeCache = new HashMap<>();
 
+    /**
+     * Reused for every search on recipemaps with {@link gregtech.api.recipe.RecipeMapBuilder#indexedLookup}.
+     */
+    private FindRecipeQuery recipeQuery;
+    private RecipeMap<?> recipeQueryMap;
+    private final RecipeMatchCursor recipeCursor = new RecipeMatchCursor();
+
     public ProcessingLogic() {}
 
     // region Setters
@@ -278,6 +339,17 @@ public class ProcessingLogic {
         return this;
     }
 
+    /**
+     * Sets whether inputs which matched no recipe are remembered until they or the recipes change, and searches are
+     * shared with other machines searching the same inputs in the same tick. Only enable it if the recipes found
+     * depend on nothing but the inputs, the special slot, the voltage tier and the recipemap, i.e. neither the recipe
+     * search nor the recipemap depends on any other state of the machine.
+     */
+    public ProcessingLogic setRecipeSearchCaching(boolean recipeSearchCaching) {
+        this.recipeSearchCaching = recipeSearchCaching;
+        return this;
+    }
+
     // endregion
 
     // region Overwrite calculated result
@@ -399,10 +471,59 @@ public class ProcessingLogic {
                 recipeLockableMachine.getSingleRecipeCheck()
                     .getRecipe()).checkRecipeResult;
         }
-        Stream<GTRecipe> matchedRecipes = findRecipeMatches(recipeMap);
-        Iterable<GTRecipe> recipeIterable = matchedRecipes::iterator;
+
+        // Only machines known to search by nothing but the inputs can rely on remembered misses
+        RecipeMissCache missCache = null;
+        long inputFingerprint = 0;
+        if (recipeMap != null && recipeSearchCaching) {
+            missCache = recipeMap.getBackend()
+                .getMissCache();
+            inputFingerprint = RecipeMissCache
+                .fingerprint(inputItems, inputFluids, specialSlotItem, GTUtility.getTier(availableVoltage));
+            if (missCache.isKnownMiss(inputFingerprint)) {
+                return CheckRecipeResultRegistry.NO_RECIPE;
+            }
+        }
+
         CheckRecipeResult checkRecipeResult = CheckRecipeResultRegistry.NO_RECIPE;
-        for (GTRecipe matchedRecipe : recipeIterable) {
+        long pruneEUt = missCache != null ? getPrunableEUt() : Long.MAX_VALUE;
+        // Identical machines often search the same inputs in the same tick, so reuse what their search has found
+        RecipeSearchBatch.Search search = null;
+        if (missCache != null) {
+            RecipeSearchBatch searchBatch = recipeMap.getBackend()
+                .getSearchBatch();
+            long searchKey = pruneEUt == Long.MAX_VALUE ? inputFingerprint
+                : HashCommon.mix(inputFingerprint ^ pruneEUt);
+            RecipeSearchBatch.Search sharedSearch = searchBatch.get(searchKey, lastRecipe);
+            if (sharedSearch != null) {
+                List<GTRecipe> candidates = sharedSearch.getCandidates();
+                for (int i = 0; i < candidates.size(); i++) {
+                    CalculationResult foundResult = validateAndCalculateRecipe(candidates.get(i));
+                    if (foundResult.successfullyConsumedInputs) {
+                        return foundResult.checkRecipeResult;
+                    }
+                    if (foundResult.checkRecipeResult != CheckRecipeResultRegistry.NO_RECIPE) {
+                        checkRecipeResult = foundResult.checkRecipeResult;
+                    }
+                }
+                if (sharedSearch.isComplete()) {
+                    return checkRecipeResult;
+                }
+                // The other machine stopped searching before all the candidates were found, search on our own
+                checkRecipeResult = CheckRecipeResultRegistry.NO_RECIPE;
+            } else {
+                search = searchBatch.start(searchKey, lastRecipe);
+            }
+        }
+
+        Iterator<GTRecipe> matchedRecipes = findRecipeMatchIterator(recipeMap, pruneEUt);
+        boolean foundAny = false;
+        while (matchedRecipes.hasNext()) {
+            foundAny = true;
+            GTRecipe matchedRecipe = matchedRecipes.next();
+            if (search != null) {
+                search.add(matchedRecipe);
+            }
             CalculationResult foundResult = validateAndCalculateRecipe(matchedRecipe);
             if (foundResult.successfullyConsumedInputs) {
                 // Successfully found and set recipe, so return it
@@ -413,9 +534,47 @@ public class ProcessingLogic {
                 checkRecipeResult = foundResult.checkRecipeResult;
             }
         }
+
+        if (matchedRecipes == recipeCursor && recipeCursor.hasPrunedByEUt()) {
+            // A skipped recipe matches the inputs, but would have been rejected for lack of power. Not a miss, and the
+            // shared search stays incomplete so others report it as well.
+            return CheckRecipeResultRegistry
+                .insufficientPower((long) Math.ceil(recipeCursor.getPrunedEUt() * euModifier));
+        }
+
+        if (!foundAny && missCache != null) {
+            missCache.recordMiss(inputFingerprint);
+        }
+        if (search != null) {
+            search.complete();
+        }
         return checkRecipeResult;
     }
 
+    /**
+     * @return The highest recipe EU/t {@link ParallelHelper} can accept with the available power, so recipes above it
+     *         can be skipped before matching their inputs. {@link Long#MAX_VALUE} if nothing can be skipped, e.g.
+     *         because parallel or overclock logic is overridden.
+     */
+    private long getPrunableEUt() {
+        if (maxParallel <= 0 || euModifier <= 0 || !USES_DEFAULT_POWER_CHECK.get(getClass())) {
+            return Long.MAX_VALUE;
+        }
+        long availableEUt = availableVoltage * availableAmperage;
+        if (availableEUt < 0 || availableEUt >= Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        // Start from the estimate and correct it using the exact check of ParallelHelper
+        long eut = Math.min((long) (availableEUt / euModifier), Integer.MAX_VALUE);
+        while (eut < Integer.MAX_VALUE && Math.ceil((int) (eut + 1) * euModifier) <= availableEUt) {
+            eut++;
+        }
+        while (eut >= 0 && Math.ceil((int) eut * euModifier) > availableEUt) {
+            eut--;
+        }
+        return eut;
+    }
+
     /**
      * Checks if supplied recipe is valid for process. This involves voltage check, output full check. If successful,
      * additionally performs input consumption, output calculation with parallel, and overclock calculation.
@@ -510,6 +669,30 @@ public class ProcessingLogic {
             .findAll();
     }
 
+    /**
+     * Iterates {@link #findRecipeMatches}. If it's not overridden and the recipemap has indexed lookup enabled, the
+     * same matches are iterated without allocating a stream.
+     *
+     * @param pruneEUt Indexed recipes above this EU/t are skipped, see {@link RecipeMatchCursor#pruneAboveEUt}.
+     */
+    @Nonnull
+    private Iterator<GTRecipe> findRecipeMatchIterator(@Nullable RecipeMap<?> map, long pruneEUt) {
+        if (map == null || !map.getBackend()
+            .getProperties().indexedLookup || !USES_DEFAULT_RECIPE_MATCHES.get(getClass())) {
+            return findRecipeMatches(map).iterator();
+        }
+        if (recipeQueryMap != map) {
+            recipeQuery = map.findRecipeQuery();
+            recipeQueryMap = map;
+        }
+        return recipeQuery.items(inputItems)
+            .fluids(inputFluids)
+            .specialSlot(specialSlotItem)
+            .cachedRecipe(lastRecipe)
+            .iterate(recipeCursor)
+            .pruneAboveEUt(pruneEUt);
+    }
+
     /**
      * Override to do additional check for found recipe if needed.
      */
@@ -71,14 +71,19 @@ import gregtech.api.interfaces.tileentity.IEnergyConnected;
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
 import gregtech.api.interfaces.tileentity.IGregtechWailaProvider;
 import gregtech.api.metatileentity.implementations.MTEBasicMachine;
+import gregtech.api.metatileentity.implementations.MTEMultiBlockBase;
 import gregtech.api.net.GTPacketTileEntity;
+import gregtech.api.net.GTPacketTileEntityBatch;
 import gregtech.api.objects.blockupdate.BlockUpdateHandler;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTModHandler;
 import gregtech.api.util.GTOreDictUnificator;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.MachineProfiler;
+import gregtech.api.util.TickPhaseProfiler;
 import gregtech.api.util.shutdown.ShutDownReason;
 import gregtech.api.util.shutdown.ShutDownReasonRegistry;
+import gregtech.common.config.Other;
 import gregtech.common.covers.Cover;
 import gregtech.common.pollution.Pollution;
 import gtPlusPlus.xmod.gregtech.api.metatileentity.implementations.base.MTESteamMultiBase;
@@ -124,6 +129,12 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
     private String mOwnerName = "";
     private UUID mOwnerUuid = GTUtility.defaultUuid;
     private int cableUpdateDelay = 30;
+    // with Other.eventDrivenEnergyTicks, energy sides are only recomputed when marked or once per refresh interval
+    private static final int ENERGY_SIDES_REFRESH = 20;
+    private static final int HAZARD_CHECK_INTERVAL = 1000;
+    private boolean mEnergySidesDirty = true;
+    // spreads the refreshes and hazard checks of all the machines over the ticks
+    private final int mTickPhase = XSTR_INSTANCE.nextInt(HAZARD_CHECK_INTERVAL);
 
     public BaseMetaTileEntity() {}
 
@@ -282,6 +293,8 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
 
         mRunningThroughTick = true;
         final boolean isServerSide = isServerSide();
+        final boolean profile = isServerSide && TickPhaseProfiler.isEnabled();
+        long phaseStart = profile ? System.nanoTime() : 0;
         if (hasValidMetaTileEntity()) {
             if (mTickTimer++ == 0) {
                 oldX = xCoord;
@@ -334,6 +347,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
                     return;
                 }
             }
+            if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.COVERS, phaseStart);
             if (isServerSide) {
                 if (++mAverageEUInputIndex >= mAverageEUInput.length) mAverageEUInputIndex = 0;
                 if (++mAverageEUOutputIndex >= mAverageEUOutput.length) mAverageEUOutputIndex = 0;
@@ -343,6 +357,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
             }
 
             mMetaTileEntity.onPreTick(this, mTickTimer);
+            if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.PRE_TICK, phaseStart);
 
             if (!hasValidMetaTileEntity()) {
                 mRunningThroughTick = false;
@@ -381,7 +396,11 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
                         oldOutput = getOutputVoltage();
                     }
 
-                    if (mMetaTileEntity.isEnetOutput() || mMetaTileEntity.isEnetInput()) {
+                    final boolean tEventDriven = Other.eventDrivenEnergyTicks;
+                    if ((mMetaTileEntity.isEnetOutput() || mMetaTileEntity.isEnetInput()) && (!tEventDriven
+                        || mEnergySidesDirty
+                        || (mTickTimer + mTickPhase) % ENERGY_SIDES_REFRESH == 0)) {
+                        mEnergySidesDirty = false;
                         for (final ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
                             final int ordinalSide = side.ordinal();
                             boolean temp = isEnergyInputSide(side);
@@ -408,8 +427,12 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
                             decreaseStoredEU(tEU, true);
                         }
                     }
+                    if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.ENERGY, phaseStart);
                     if (getEUCapacity() > 0) {
-                        if (GregTechAPI.sMachineFireExplosions && getRandomNumber(1000) == 0) {
+                        final boolean tHazardTick = tEventDriven
+                            && (mTickTimer + mTickPhase) % HAZARD_CHECK_INTERVAL == 0;
+                        if (GregTechAPI.sMachineFireExplosions
+                            && (tEventDriven ? tHazardTick : getRandomNumber(1000) == 0)) {
                             final Block tBlock = getBlockAtSide(ForgeDirection.getOrientation(getRandomNumber(6)));
                             if (tBlock instanceof BlockFire) doEnergyExplosion();
                         }
@@ -421,7 +444,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
 
                         if (GregTechAPI.sMachineRainExplosions) {
                             if (mMetaTileEntity.willExplodeInRain()) {
-                                if (getRandomNumber(1000) == 0 && isRainPossible()) {
+                                if ((tEventDriven ? tHazardTick : getRandomNumber(1000) == 0) && isRainPossible()) {
                                     // Short-circuit so raincheck happens before isRainExposed,
                                     // saves sme TPS since rain exposed check can be slow
                                     // This logic can be compressed further by only checking for
@@ -486,12 +509,14 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
                             }
                         }
                     }
+                    if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.HAZARDS, phaseStart);
                 }
 
                 if (!hasValidMetaTileEntity()) {
                     mRunningThroughTick = false;
                     return;
                 }
+                if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.ENERGY, phaseStart);
             }
             if (isServerSide) {
                 if (mMetaTileEntity.dechargerSlotCount() > 0 && getStoredEU() < getEUCapacity()) {
@@ -538,11 +563,21 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
                 mRunningThroughTick = false;
                 return;
             }
-            mMetaTileEntity.onPostTick(this, mTickTimer);
+            if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.CHARGING, phaseStart);
+            if (isServerSide && MachineProfiler.isEnabled()
+                && mMetaTileEntity instanceof MTEMultiBlockBase multiBlock) {
+                final long postTickStart = System.nanoTime();
+                multiBlock.onPostTick(this, mTickTimer);
+                multiBlock.getProfilerStats()
+                    .add(MachineProfiler.POST_TICK_NANOS, System.nanoTime() - postTickStart);
+            } else {
+                mMetaTileEntity.onPostTick(this, mTickTimer);
+            }
             if (!hasValidMetaTileEntity()) {
                 mRunningThroughTick = false;
                 return;
             }
+            if (profile) phaseStart = TickPhaseProfiler.record(mID, TickPhaseProfiler.POST_TICK, phaseStart);
             if (isServerSide) {
                 if (mTickTimer > 20 && cableUpdateDelay == 0) {
                     generatePowerNodes();
@@ -561,26 +596,26 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
 
                     if (textureData != oldTextureData) {
                         oldTextureData = textureData;
-                        sendBlockEvent(GregTechTileClientEvents.CHANGE_COMMON_DATA, oldTextureData);
+                        getClientSyncEntry().setCommon(oldTextureData);
                     }
 
                     byte updateData = mMetaTileEntity.getUpdateData();
 
                     if (updateData != oldUpdateData) {
                         oldUpdateData = updateData;
-                        sendBlockEvent(GregTechTileClientEvents.CHANGE_CUSTOM_DATA, oldUpdateData);
+                        getClientSyncEntry().setUpdate(oldUpdateData);
                     }
 
                     if (mColor != oldColor) {
                         oldColor = mColor;
-                        sendBlockEvent(GregTechTileClientEvents.CHANGE_COLOR, oldColor);
+                        getClientSyncEntry().setColor(oldColor);
                     }
 
                     byte redstone = getSidedRedstoneMask();
 
                     if (redstone != oldRedstoneData) {
                         oldRedstoneData = redstone;
-                        sendBlockEvent(GregTechTileClientEvents.CHANGE_REDSTONE_OUTPUT, oldRedstoneData);
+                        getClientSyncEntry().setRedstone(oldRedstoneData);
                     }
 
                     if (mLightValue != oldLightValue) {
@@ -593,7 +628,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
                         worldObj.updateLightByType(EnumSkyBlock.Block, xCoord, yCoord, zCoord + 1);
                         worldObj.updateLightByType(EnumSkyBlock.Block, xCoord, yCoord, zCoord - 1);
                         issueTextureUpdate();
-                        sendBlockEvent(GregTechTileClientEvents.CHANGE_LIGHT, oldLightValue = mLightValue);
+                        getClientSyncEntry().setLight(oldLightValue = mLightValue);
                     }
                 }
 
@@ -605,6 +640,10 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
             }
         }
 
+        if (profile) {
+            TickPhaseProfiler.record(mID, TickPhaseProfiler.UPDATES, phaseStart);
+            TickPhaseProfiler.countTick(mID);
+        }
         mWorkUpdate = mInventoryChanged = mRunningThroughTick = false;
     }
 
@@ -644,6 +683,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
 
             oldColor = mColor;
 
+            GTPacketTileEntityBatch.onFullSync(worldObj, xCoord, yCoord, zCoord);
             NW.sendPacketToAllPlayersInRange(
                 worldObj,
                 new GTPacketTileEntity(
@@ -668,6 +708,13 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
         sendCoverDataIfNeeded();
     }
 
+    /**
+     * @return The entry of this machine in the client data sent for its chunk at the end of the tick.
+     */
+    private GTPacketTileEntityBatch.Entry getClientSyncEntry() {
+        return GTPacketTileEntityBatch.getEntry(worldObj, xCoord, yCoord, zCoord);
+    }
+
     public final void receiveMetaTileEntityData(short aID, int aCover0, int aCover1, int aCover2, int aCover3,
         int aCover4, int aCover5, byte aTextureData, byte aUpdateData, byte aRedstoneData, byte aColorData) {
         issueTextureUpdate();
@@ -804,6 +851,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
     public void setFrontFacing(ForgeDirection aFacing) {
         if (isValidFacing(aFacing)) {
             mFacing = aFacing;
+            mEnergySidesDirty = true;
             mMetaTileEntity.onFacingChange();
 
             doEnetUpdate();
@@ -917,6 +965,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
     public void onMachineBlockUpdate() {
         if (canAccessData()) mMetaTileEntity.onMachineBlockUpdate();
         cableUpdateDelay = 10;
+        mEnergySidesDirty = true;
     }
 
     /**
@@ -951,6 +1000,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
     public void enableWorking() {
         if (!mWorks) mWorkUpdate = true;
         mWorks = true;
+        mEnergySidesDirty = true;
         setShutdownStatus(false);
         if (hasValidMetaTileEntity()) {
             mMetaTileEntity.onEnableWorking();
@@ -960,6 +1010,7 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
     @Override
     public void disableWorking() {
         mWorks = false;
+        mEnergySidesDirty = true;
         if (hasValidMetaTileEntity()) {
             mMetaTileEntity.onDisableWorking();
         }
@@ -1195,6 +1246,19 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
         return false;
     }
 
+    @Override
+    public void issueBlockUpdate() {
+        super.issueBlockUpdate();
+        // Covers attached, dropped or changed
+        mEnergySidesDirty = true;
+    }
+
+    @Override
+    public void issueCoverUpdate(ForgeDirection side) {
+        super.issueCoverUpdate(side);
+        mEnergySidesDirty = true;
+    }
+
     @Override
     protected boolean hasValidMetaTileEntity() {
         return mMetaTileEntity != null && mMetaTileEntity.getBaseMetaTileEntity() == this;
@@ -1367,6 +1431,10 @@ public class BaseMetaTileEntity extends CommonBaseMetaTileEntity
         }
 
         if (isServerSide()) {
+            if (mMetaTileEntity instanceof MTEMultiBlockBase multiBlock) {
+                // Whatever the player is doing, the machine should react to it right away
+                multiBlock.resetRecipeCheckBackoff();
+            }
             if (!privateAccess() || aPlayer.getDisplayName()
                 .equalsIgnoreCase(getOwnerName())) {
                 final ItemStack tCurrentItem = aPlayer.inventory.getCurrentItem();
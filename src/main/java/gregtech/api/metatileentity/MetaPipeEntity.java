@@ -260,6 +260,11 @@ public abstract class MetaPipeEntity extends CommonMetaTileEntity implements ICo
         mCheckConnections = true;
     }
 
+    /**
+     * Called on the server when this pipe connects to or disconnects from a side.
+     */
+    protected void onConnectionsChanged() {}
+
     public long injectEnergyUnits(ForgeDirection side, long aVoltage, long aAmperage) {
         return 0;
     }
@@ -358,13 +363,19 @@ public abstract class MetaPipeEntity extends CommonMetaTileEntity implements ICo
     }
 
     private void connectAtSide(ForgeDirection side) {
-        mConnections |= side.flag;
+        if ((mConnections & side.flag) == 0) {
+            mConnections |= side.flag;
+            onConnectionsChanged();
+        }
     }
 
     @Override
     public void disconnect(ForgeDirection side) {
         if (side == ForgeDirection.UNKNOWN) return;
-        mConnections &= ~side.flag;
+        if ((mConnections & side.flag) != 0) {
+            mConnections &= ~side.flag;
+            onConnectionsChanged();
+        }
         final ForgeDirection oppositeSide = side.getOpposite();
         IGregTechTileEntity tTileEntity = getBaseMetaTileEntity().getIGregTechTileEntityAtSide(side);
         IMetaTileEntity tPipe = tTileEntity == null ? null : tTileEntity.getMetaTileEntity();
@@ -0,0 +1,226 @@
+package gregtech.api.metatileentity.implementations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import net.minecraftforge.common.util.ForgeDirection;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Connected fluid pipes of the same kind, moving fluids as one logical pipe when
+ * {@link gregtech.common.config.Other#fluidPipeNetworks} is enabled.
+ * <p>
+ * Every 5 ticks the fluids of all the member pipes are pooled and pushed straight into the tanks next to the network,
+ * with the per-pipe throughput and proportional split of {@code MTEFluidPipe.distributeFluid}. What's left is spread
+ * evenly over the members again, so every pipe keeps holding its share and still leaks gases or burns through
+ * {@code checkEnvironment} like before. Only the tanks at the border of the network are ever accessed, so
+ * long pipelines cost about as much as their endpoints.
+ * <p>
+ * Pipes only join a network if they are of the same class, capacity, fluid slot count, heat resistance and gas
+ * proofing, and are connected to each other without covers or disabled inputs in between. Anything else is an
+ * endpoint of the network, including other pipes. A network is rebuilt once one of its pipes connects, disconnects or
+ * gets inputs disabled, a pipe next to it is placed, loaded or replaced, or a cover is put between two of its pipes.
+ * Only accessed from the server thread.
+ */
+final class FluidPipeNetwork {
+
+    private static final int STEP_TICKS = 5;
+
+    private final MTEFluidPipe[] pipes;
+    // Sides of each pipe linked to other members
+    private final byte[] linkedSides;
+    private final MTEFluidPipe[] endpoints;
+    private final byte[] endpointSides;
+    private final FluidStack[] poolFluids;
+    private final long[] poolAmounts;
+    private boolean valid = true;
+    private long lastStep = -STEP_TICKS;
+    private boolean handled;
+
+    private FluidPipeNetwork(MTEFluidPipe[] pipes, byte[] linkedSides, MTEFluidPipe[] endpoints,
+        byte[] endpointSides) {
+        this.pipes = pipes;
+        this.linkedSides = linkedSides;
+        this.endpoints = endpoints;
+        this.endpointSides = endpointSides;
+        this.poolFluids = new FluidStack[pipes[0].mPipeAmount];
+        this.poolAmounts = new long[pipes[0].mPipeAmount];
+    }
+
+    /**
+     * Drops this network, its pipes build a new one the next time they need it.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Finds the network of a pipe and assigns it to all its members.
+     */
+    static FluidPipeNetwork build(MTEFluidPipe origin) {
+        final ArrayList<MTEFluidPipe> members = new ArrayList<>();
+        final ByteArrayList linkedSides = new ByteArrayList();
+        final ArrayList<MTEFluidPipe> endpoints = new ArrayList<>();
+        final ByteArrayList endpointSides = new ByteArrayList();
+        final ReferenceOpenHashSet<MTEFluidPipe> visited = new ReferenceOpenHashSet<>();
+        final ArrayDeque<MTEFluidPipe> queue = new ArrayDeque<>();
+        visited.add(origin);
+        queue.add(origin);
+        while (!queue.isEmpty()) {
+            final MTEFluidPipe pipe = queue.poll();
+            members.add(pipe);
+            byte links = 0;
+            byte sides = 0;
+            for (final ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
+                if (!pipe.isConnectedAtSide(side)) continue;
+                final MTEFluidPipe neighbour = getLinkedPipe(pipe, side);
+                if (neighbour == null) {
+                    sides |= side.flag;
+                    continue;
+                }
+                links |= side.flag;
+                if (visited.add(neighbour)) queue.add(neighbour);
+            }
+            linkedSides.add(links);
+            if (sides != 0) {
+                endpoints.add(pipe);
+                endpointSides.add(sides);
+            }
+        }
+
+        final FluidPipeNetwork network = new FluidPipeNetwork(
+            members.toArray(new MTEFluidPipe[0]),
+            linkedSides.toByteArray(),
+            endpoints.toArray(new MTEFluidPipe[0]),
+            endpointSides.toByteArray());
+        for (MTEFluidPipe pipe : network.pipes) {
+            pipe.mNetwork = network;
+        }
+        return network;
+    }
+
+    /**
+     * @return The pipe at the side if fluids can pass freely in both directions, so it belongs to the same network.
+     */
+    private static MTEFluidPipe getLinkedPipe(MTEFluidPipe pipe, ForgeDirection side) {
+        final IGregTechTileEntity base = pipe.getBaseMetaTileEntity();
+        final IGregTechTileEntity tile = base.getIGregTechTileEntityAtSide(side);
+        if (tile == null || !(tile.getMetaTileEntity() instanceof MTEFluidPipe neighbour)) return null;
+        final ForgeDirection oppositeSide = side.getOpposite();
+        if (neighbour.getClass() != pipe.getClass() || neighbour.mCapacity != pipe.mCapacity
+            || neighbour.mPipeAmount != pipe.mPipeAmount
+            || neighbour.mHeatResistance != pipe.mHeatResistance
+            || neighbour.mGasProof != pipe.mGasProof) return null;
+        if (!neighbour.isConnectedAtSide(oppositeSide) || pipe.isInputDisabledAtSide(side)
+            || neighbour.isInputDisabledAtSide(oppositeSide)) return null;
+        if (base.getCoverAtSide(side)
+            .isValid()
+            || tile.getCoverAtSide(oppositeSide)
+                .isValid())
+            return null;
+        return neighbour;
+    }
+
+    /**
+     * Moves the fluids of the network once per 5 ticks, no matter how many members call this.
+     *
+     * @return if the network moves the fluids of its members for this period, otherwise every pipe has to distribute
+     *         its fluids on its own.
+     */
+    boolean distribute(long worldTime) {
+        if (worldTime - lastStep < STEP_TICKS) return handled;
+        lastStep = worldTime;
+        handled = step();
+        return handled;
+    }
+
+    private boolean step() {
+        final int slots = poolFluids.length;
+        final long slotCapacity = pipes[0].mCapacity * 20L;
+        int types = 0;
+        for (int index = 0; index < pipes.length; index++) {
+            final MTEFluidPipe pipe = pipes[index];
+            final IGregTechTileEntity base = pipe.getBaseMetaTileEntity();
+            if (base == null || base.isDead() || base.getMetaTileEntity() != pipe) {
+                // Unloaded or replaced without notifying anyone
+                valid = false;
+                return false;
+            }
+            if (linkedSides[index] != 0) {
+                for (final ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
+                    if ((linkedSides[index] & side.flag) != 0 && base.getCoverAtSide(side)
+                        .isValid()) {
+                        // Covers are attached without notifying the pipe
+                        valid = false;
+                        return false;
+                    }
+                }
+            }
+            for (FluidStack fluid : pipe.mFluids) {
+                if (fluid == null || fluid.amount <= 0) continue;
+                int type = 0;
+                while (type < types && !poolFluids[type].isFluidEqual(fluid)) type++;
+                if (type == types) {
+                    // More kinds of fluids than a pipe can hold, they can't be spread evenly
+                    if (types == slots) return false;
+                    poolFluids[types] = fluid.copy();
+                    poolAmounts[types++] = 0;
+                }
+                poolAmounts[type] += fluid.amount;
+            }
+        }
+        if (types == 0) return true;
+        for (int type = 0; type < types; type++) {
+            if (poolAmounts[type] > slotCapacity * pipes.length) return false;
+        }
+
+        if (endpoints.length > 0) {
+            final IGregTechTileEntity base = pipes[0].getBaseMetaTileEntity();
+            final int endpointOffset = base.getRandomNumber(endpoints.length);
+            final int typeOffset = base.getRandomNumber(types);
+            for (int i = 0; i < endpoints.length; i++) {
+                final int endpoint = (i + endpointOffset) % endpoints.length;
+                final MTEFluidPipe pipe = endpoints[endpoint];
+                // Same as a single pipe, don't push while the inflow is changing
+                if (pipe.oLastReceivedFrom != pipe.mLastReceivedFrom) continue;
+                for (int j = 0; j < types; j++) {
+                    final int type = (j + typeOffset) % types;
+                    if (poolAmounts[type] <= 0) continue;
+                    poolAmounts[type] -= pipe
+                        .distributeNetworkFluid(poolFluids[type], poolAmounts[type], endpointSides[endpoint]);
+                }
+            }
+        }
+
+        final int count = pipes.length;
+        for (int index = 0; index < count; index++) {
+            final FluidStack[] fluids = pipes[index].mFluids;
+            for (int slot = 0; slot < slots; slot++) {
+                if (slot >= types) {
+                    fluids[slot] = null;
+                    continue;
+                }
+                final int amount = (int) (poolAmounts[slot] / count + (index < poolAmounts[slot] % count ? 1 : 0));
+                if (amount <= 0) {
+                    fluids[slot] = null;
+                } else if (fluids[slot] != null && fluids[slot].isFluidEqual(poolFluids[slot])) {
+                    fluids[slot].amount = amount;
+                } else {
+                    fluids[slot] = new FluidStack(poolFluids[slot], amount);
+                }
+            }
+        }
+        for (int type = 0; type < types; type++) {
+            poolFluids[type] = null;
+        }
+        return true;
+    }
+}
@@ -25,11 +25,8 @@ import gregtech.api.enums.Dyes;
 import gregtech.api.enums.Materials;
 import gregtech.api.enums.TextureSet;
 import gregtech.api.enums.Textures;
-import gregtech.api.graphs.Node;
-import gregtech.api.graphs.NodeList;
+import gregtech.api.graphs.PowerDeliveryPlan;
 import gregtech.api.graphs.PowerNode;
-import gregtech.api.graphs.PowerNodes;
-import gregtech.api.graphs.consumers.ConsumerNode;
 import gregtech.api.graphs.paths.PowerNodePath;
 import gregtech.api.interfaces.ITexture;
 import gregtech.api.interfaces.metatileentity.IConnectable;
@@ -215,19 +212,11 @@ public class MTECable extends MetaPipeEntity implements IMetaTileEntityCable {
             return 0;
         final BaseMetaPipeEntity tBase = (BaseMetaPipeEntity) getBaseMetaTileEntity();
         if (!(tBase.getNode() instanceof PowerNode tNode)) return 0;
-        int tPlace = 0;
-        final Node[] tToPower = new Node[tNode.mConsumers.size()];
-        if (tNode.mHadVoltage) {
-            for (ConsumerNode consumer : tNode.mConsumers) {
-                if (consumer.needsEnergy()) tToPower[tPlace++] = consumer;
-            }
-        } else {
-            tNode.mHadVoltage = true;
-            for (ConsumerNode consumer : tNode.mConsumers) {
-                tToPower[tPlace++] = consumer;
-            }
-        }
-        return PowerNodes.powerNode(tNode, null, new NodeList(tToPower), (int) voltage, (int) amperage);
+        if (tNode.mDeliveryPlan == null) tNode.mDeliveryPlan = new PowerDeliveryPlan(tNode);
+        // Everything gets voltage applied once, so dead ends know about it
+        final boolean tOnlyNeedingEnergy = tNode.mHadVoltage;
+        tNode.mHadVoltage = true;
+        return tNode.mDeliveryPlan.powerConsumers((int) voltage, (int) amperage, tOnlyNeedingEnergy);
     }
 
     @Override
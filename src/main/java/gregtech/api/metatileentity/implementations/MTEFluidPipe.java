@@ -102,6 +102,11 @@ public class MTEFluidPipe extends MetaPipeEntity {
         RESTR_TEXTURE_MAP.put(TOP.mask | BOTTOM.mask | LEFT.mask | RIGHT.mask, Textures.BlockIcons.PIPE_RESTRICTOR);
     }
 
+    // Scratch space of distributeNetworkFluid, only used on the server thread
+    private static final IFluidHandler[] sNetworkTanks = new IFluidHandler[6];
+    private static final ForgeDirection[] sNetworkSides = new ForgeDirection[6];
+    private static final int[] sNetworkSpace = new int[6];
+
     public final float mThickNess;
     public final Materials mMaterial;
     public final int mCapacity, mHeatResistance, mPipeAmount;
@@ -112,6 +117,7 @@ public class MTEFluidPipe extends MetaPipeEntity {
      * Bitmask for whether disable fluid input form each side.
      */
     public byte mDisableInput = 0;
+    FluidPipeNetwork mNetwork;
 
     public MTEFluidPipe(int aID, String aName, String aNameRegional, float aThickNess, Materials aMaterial,
         int aCapacity, int aHeatResistance, boolean aGasProof) {
@@ -295,6 +301,10 @@ public class MTEFluidPipe extends MetaPipeEntity {
             if (!GTMod.gregtechproxy.gt6Pipe || mCheckConnections) checkConnections();
 
             final boolean shouldDistribute = (oLastReceivedFrom == mLastReceivedFrom);
+            final FluidPipeNetwork network = getNetwork();
+            final boolean networkDistributes = network != null && network.distribute(
+                aBaseMetaTileEntity.getWorld()
+                    .getTotalWorldTime());
             for (int i = 0, j = aBaseMetaTileEntity.getRandomNumber(mPipeAmount); i < mPipeAmount; i++) {
                 final int index = (i + j) % mPipeAmount;
                 if (mFluids[index] != null && mFluids[index].amount <= 0) mFluids[index] = null;
@@ -303,7 +313,7 @@ public class MTEFluidPipe extends MetaPipeEntity {
                 if (checkEnvironment(index, aBaseMetaTileEntity)) return;
 
                 if (shouldDistribute) {
-                    distributeFluid(index, aBaseMetaTileEntity);
+                    if (!networkDistributes) distributeFluid(index, aBaseMetaTileEntity);
                     mLastReceivedFrom = 0;
                 }
             }
@@ -442,6 +452,102 @@ public class MTEFluidPipe extends MetaPipeEntity {
         }
     }
 
+    /**
+     * Pushes fluid of the {@link FluidPipeNetwork} this pipe is an endpoint of out of some sides, splitting it like
+     * {@link #distributeFluid}.
+     *
+     * @param aFluid     the kind of fluid
+     * @param aAvailable how much of it the network holds
+     * @param aSides     bitmask of the sides facing out of the network
+     * @return how much has been pushed
+     */
+    int distributeNetworkFluid(FluidStack aFluid, long aAvailable, byte aSides) {
+        final IGregTechTileEntity aBaseMetaTileEntity = getBaseMetaTileEntity();
+        final IFluidHandler[] tTanks = sNetworkTanks;
+        final ForgeDirection[] tSides = sNetworkSides;
+        final int[] tSpace = sNetworkSpace;
+        final int tAmount = (int) Math.min(mCapacity * 10L, aAvailable);
+        final FluidStack tFluid = new FluidStack(aFluid, tAmount);
+        final FluidStack maxFluid = new FluidStack(aFluid, Integer.MAX_VALUE);
+
+        int tCount = 0;
+        double availableCapacity = 0;
+        final byte tOffset = (byte) aBaseMetaTileEntity.getRandomNumber(6);
+        for (final byte i : ALL_VALID_SIDES) {
+            final ForgeDirection side = ForgeDirection.getOrientation((i + tOffset) % 6);
+            if ((aSides & side.flag) == 0 || (mLastReceivedFrom & side.flag) != 0) continue;
+            final ForgeDirection oppositeSide = side.getOpposite();
+            final IFluidHandler tTank = aBaseMetaTileEntity.getITankContainerAtSide(side);
+            final IGregTechTileEntity gTank = tTank instanceof IGregTechTileEntity ? (IGregTechTileEntity) tTank : null;
+            if (tTank != null && aBaseMetaTileEntity.getCoverAtSide(side)
+                .letsFluidOut(tFluid.getFluid())
+                && (gTank == null || gTank.getCoverAtSide(oppositeSide)
+                    .letsFluidIn(tFluid.getFluid()))) {
+                if (tTank.fill(oppositeSide, tFluid, false) > 0) {
+                    tTanks[tCount] = tTank;
+                    tSides[tCount] = oppositeSide;
+                    tSpace[tCount] = tTank.fill(oppositeSide, maxFluid, false);
+                    availableCapacity += tSpace[tCount++];
+                }
+                tFluid.amount = tAmount; // Because some mods do actually modify input fluid stack
+                maxFluid.amount = Integer.MAX_VALUE;
+            }
+        }
+
+        int tMoved = 0;
+        for (int i = 0; i < tCount && tMoved < tAmount; i++) {
+            int tToFill = tSpace[i];
+            if (availableCapacity > tAmount) tToFill = (int) Math.floor(tToFill * tAmount / availableCapacity);
+            if (tToFill == 0) tToFill = 1;
+            tToFill = Math.min(tToFill, tAmount - tMoved);
+            if (tToFill > 0) tMoved += tTanks[i].fill(tSides[i], new FluidStack(aFluid, tToFill), true);
+        }
+        for (int i = 0; i < tCount; i++) tTanks[i] = null;
+        return tMoved;
+    }
+
+    /**
+     * @return The network of this pipe, or null if pipes distribute their fluids on their own.
+     */
+    private FluidPipeNetwork getNetwork() {
+        if (!Other.fluidPipeNetworks) return null;
+        if (mNetwork == null || !mNetwork.isValid()) mNetwork = FluidPipeNetwork.build(this);
+        return mNetwork;
+    }
+
+    /**
+     * Drops the network of this pipe, after it connected or disconnected.
+     */
+    private void invalidateNetwork() {
+        if (mNetwork != null) mNetwork.invalidate();
+    }
+
+    /**
+     * Also drops the networks of the adjacent pipes, which this pipe might join or leave. Called when it is placed,
+     * loaded or replaced, or its inputs get disabled.
+     */
+    private void invalidateAdjacentNetworks() {
+        invalidateNetwork();
+        final IGregTechTileEntity tBaseMetaTileEntity = getBaseMetaTileEntity();
+        for (final ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
+            final IGregTechTileEntity tTileEntity = tBaseMetaTileEntity.getIGregTechTileEntityAtSide(side);
+            if (tTileEntity != null && tTileEntity.getMetaTileEntity() instanceof MTEFluidPipe tPipe) {
+                tPipe.invalidateNetwork();
+            }
+        }
+    }
+
+    @Override
+    public void onFirstTick(IGregTechTileEntity aBaseMetaTileEntity) {
+        super.onFirstTick(aBaseMetaTileEntity);
+        if (aBaseMetaTileEntity.isServerSide()) invalidateAdjacentNetworks();
+    }
+
+    @Override
+    protected void onConnectionsChanged() {
+        invalidateNetwork();
+    }
+
     public void connectPipeOnSide(ForgeDirection side, EntityPlayer entityPlayer) {
         if (!isConnectedAtSide(side)) {
             if (connect(side) > 0) GTUtility.sendChatToPlayer(entityPlayer, GTUtility.trans("214", "Connected"));
@@ -454,10 +560,12 @@ public class MTEFluidPipe extends MetaPipeEntity {
     public void blockPipeOnSide(ForgeDirection side, EntityPlayer entityPlayer, byte mask) {
         if (isInputDisabledAtSide(side)) {
             mDisableInput &= ~mask;
+            invalidateAdjacentNetworks();
             GTUtility.sendChatToPlayer(entityPlayer, GTUtility.trans("212", "Input enabled"));
             if (!isConnectedAtSide(side)) connect(side);
         } else {
             mDisableInput |= mask;
+            invalidateAdjacentNetworks();
             GTUtility.sendChatToPlayer(entityPlayer, GTUtility.trans("213", "Input disabled"));
         }
     }
@@ -506,6 +614,7 @@ public class MTEFluidPipe extends MetaPipeEntity {
         // Update to the new pipe
         aBaseMetaTileEntity.setMetaTileID((short) handItem.getItemDamage());
         aBaseMetaTileEntity.setMetaTileEntity(newPipe);
+        invalidateAdjacentNetworks();
 
         // Construct a change message if needed
         StringBuilder message = new StringBuilder();
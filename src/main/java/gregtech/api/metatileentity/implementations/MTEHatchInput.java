@@ -19,6 +19,7 @@ import net.minecraftforge.fluids.FluidStack;
 import gregtech.GTMod;
 import gregtech.api.enums.Dyes;
 import gregtech.api.interfaces.ITexture;
+import gregtech.api.interfaces.metatileentity.IInputChangeTracking;
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.recipe.RecipeMap;
@@ -27,9 +28,10 @@ import gregtech.api.util.GTUtility;
 import mcp.mobius.waila.api.IWailaConfigHandler;
 import mcp.mobius.waila.api.IWailaDataAccessor;
 
-public class MTEHatchInput extends MTEHatch {
+public class MTEHatchInput extends MTEHatch implements IInputChangeTracking {
 
     public RecipeMap<?> mRecipeMap = null;
+    private int inputVersion;
 
     public MTEHatchInput(int aID, String aName, String aNameRegional, int aTier) {
         this(
@@ -166,6 +168,25 @@ public class MTEHatchInput extends MTEHatch {
             mInventory[getInputSlot()] = null;
     }
 
+    @Override
+    public void onPostTick(IGregTechTileEntity aBaseMetaTileEntity, long aTick) {
+        super.onPostTick(aBaseMetaTileEntity, aTick);
+        // fill and drain mark the inventory as modified as well
+        if (aBaseMetaTileEntity.isServerSide() && aBaseMetaTileEntity.hasInventoryBeenModified()) {
+            markInputChanged();
+        }
+    }
+
+    @Override
+    public int getInputVersion() {
+        return inputVersion;
+    }
+
+    @Override
+    public void markInputChanged() {
+        inputVersion++;
+    }
+
     @Override
     public boolean isFluidInputAllowed(FluidStack aFluid) {
         return mRecipeMap == null || mRecipeMap.containsInput(aFluid);
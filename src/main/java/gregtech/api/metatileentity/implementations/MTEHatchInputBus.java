@@ -32,6 +32,7 @@ import gregtech.api.enums.Dyes;
 import gregtech.api.gui.modularui.GTUITextures;
 import gregtech.api.interfaces.IConfigurationCircuitSupport;
 import gregtech.api.interfaces.ITexture;
+import gregtech.api.interfaces.metatileentity.IInputChangeTracking;
 import gregtech.api.interfaces.modularui.IAddUIWidgets;
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
 import gregtech.api.metatileentity.MetaTileEntity;
@@ -45,7 +46,8 @@ import gregtech.api.util.extensions.ArrayExt;
 import mcp.mobius.waila.api.IWailaConfigHandler;
 import mcp.mobius.waila.api.IWailaDataAccessor;
 
-public class MTEHatchInputBus extends MTEHatch implements IConfigurationCircuitSupport, IAddUIWidgets {
+public class MTEHatchInputBus extends MTEHatch
+    implements IConfigurationCircuitSupport, IAddUIWidgets, IInputChangeTracking {
 
     private static final String SORTING_MODE_TOOLTIP = "GT5U.machines.sorting_mode.tooltip";
     private static final String ONE_STACK_LIMIT_TOOLTIP = "GT5U.machines.one_stack_limit.tooltip";
@@ -56,6 +58,7 @@ public class MTEHatchInputBus extends MTEHatch implements IConfigurationCircuitS
     public boolean disableFilter = true;
     public boolean disableLimited = true;
     private int uiButtonCount = 0;
+    private int inputVersion;
 
     public MTEHatchInputBus(int id, String name, String nameRegional, int tier) {
         this(id, name, nameRegional, tier, getSlots(tier) + 1);
@@ -167,16 +170,29 @@ public class MTEHatchInputBus extends MTEHatch implements IConfigurationCircuitS
     @Override
     public void onPostTick(IGregTechTileEntity aBaseMetaTileEntity, long aTimer) {
         if (aBaseMetaTileEntity.isServerSide() && aBaseMetaTileEntity.hasInventoryBeenModified()) {
+            markInputChanged();
             updateSlots();
         }
     }
 
     public void updateSlots() {
-        for (int i = 0; i < mInventory.length - 1; i++)
-            if (mInventory[i] != null && mInventory[i].stackSize <= 0) mInventory[i] = null;
+        for (int i = 0; i < mInventory.length - 1; i++) if (mInventory[i] != null && mInventory[i].stackSize <= 0) {
+            mInventory[i] = null;
+            markInputChanged();
+        }
         if (!disableSort) fillStacksIntoFirstSlots();
     }
 
+    @Override
+    public int getInputVersion() {
+        return inputVersion;
+    }
+
+    @Override
+    public void markInputChanged() {
+        inputVersion++;
+    }
+
     protected void fillStacksIntoFirstSlots() {
         final int L = mInventory.length - 1;
         HashMap<GTUtility.ItemId, Integer> slots = new HashMap<>(L);
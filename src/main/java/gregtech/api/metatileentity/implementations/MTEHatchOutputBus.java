@@ -3,6 +3,7 @@ package gregtech.api.metatileentity.implementations;
 import static gregtech.api.enums.Textures.BlockIcons.ITEM_OUT_SIGN;
 import static gregtech.api.enums.Textures.BlockIcons.OVERLAY_PIPE_OUT;
 import static gregtech.api.util.GTUtility.areStacksEqual;
+import static gregtech.api.util.GTUtility.copyAmountUnsafe;
 import static gregtech.api.util.GTUtility.isStackInvalid;
 import static gregtech.api.util.GTUtility.moveMultipleItemStacks;
 
@@ -214,6 +215,43 @@ public class MTEHatchOutputBus extends MTEHatch implements IAddUIWidgets, IItemL
         return stack.stackSize == 0;
     }
 
+    /**
+     * Same as {@link #storePartial(ItemStack, boolean)}, but takes an amount which doesn't have to fit in a stack.
+     *
+     * @param type   Type of the items to store. Its stack size is ignored and it isn't modified.
+     * @param amount Amount of the items to store.
+     * @return The amount which couldn't be stored.
+     */
+    public long storeLong(ItemStack type, long amount, boolean simulate) {
+        while (amount > 0) {
+            ItemStack stack = copyAmountUnsafe((int) Math.min(amount, Integer.MAX_VALUE), type);
+            int toStore = stack.stackSize;
+            boolean storedAll = storePartial(stack, simulate);
+            amount -= toStore - stack.stackSize;
+            if (!storedAll) break;
+        }
+        return amount;
+    }
+
+    /**
+     * Stores several outputs at once, like {@link gregtech.api.util.ParallelHelper#getItemOutputTypes} and
+     * {@link gregtech.api.util.ParallelHelper#getItemOutputAmounts}.
+     *
+     * @param types   Types of the items to store, null entries are skipped. Not modified.
+     * @param amounts Amounts of the types to store. Set to the amounts which couldn't be stored, even when simulating,
+     *                so pass a copy of arrays you don't own.
+     * @return if everything was stored.
+     */
+    public boolean storeAll(ItemStack[] types, long[] amounts, boolean simulate) {
+        boolean storedAll = true;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == null || amounts[i] <= 0) continue;
+            amounts[i] = storeLong(types[i], amounts[i], simulate);
+            if (amounts[i] > 0) storedAll = false;
+        }
+        return storedAll;
+    }
+
     /**
      * Does this Output Bus push its content to the adjacent inventory.
      *
@@ -4,7 +4,11 @@ import static gregtech.api.enums.GTValues.ALL_VALID_SIDES;
 import static gregtech.api.enums.Textures.BlockIcons.PIPE_RESTRICTOR;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
@@ -43,6 +47,20 @@ public class MTEItemPipe extends MetaPipeEntity implements IMetaTileEntityItemPi
     public boolean mIsRestrictive = false;
     private int[] cacheSides;
 
+    /**
+     * Bumped whenever the connections of this pipe might have changed, invalidating the cached routes through it.
+     */
+    private int mShapeGeneration;
+
+    private static final int MAX_DETOURS = 16;
+
+    private IMetaTileEntityItemPipe[] mRoute;
+    // mShapeGeneration of every pipe of mRoute when it was scanned
+    private int[] mRouteGenerations;
+    private IMetaTileEntityItemPipe.CoverChecks mRouteCoverChecks;
+    // Routes around the full pipes of mRoute, by the indices of the full pipes
+    private final Map<BitSet, IMetaTileEntityItemPipe[]> mDetours = new HashMap<>();
+
     public MTEItemPipe(int aID, String aName, String aNameRegional, float aThickNess, Materials aMaterial,
         int aInvSlotCount, int aStepSize, boolean aIsRestrictive, int aTickTime) {
         super(aID, aName, aNameRegional, aInvSlotCount, false);
@@ -201,10 +219,7 @@ public class MTEItemPipe extends MetaPipeEntity implements IMetaTileEntityItemPi
                 for (boolean temp = true; temp && !isInventoryEmpty() && pipeCapacityCheck();) {
                     temp = false;
                     tPipeList.clear();
-                    for (IMetaTileEntityItemPipe tTileEntity : GTUtility
-                        .sortMapByValuesAcending(
-                            IMetaTileEntityItemPipe.Util.scanPipes(this, new HashMap<>(), 0, false, false))
-                        .keySet()) {
+                    for (IMetaTileEntityItemPipe tTileEntity : getRoute()) {
                         if (temp) break;
                         tPipeList.add(tTileEntity);
                         while (!temp && !isInventoryEmpty() && tTileEntity.sendItemStack(aBaseMetaTileEntity))
@@ -219,6 +234,103 @@ public class MTEItemPipe extends MetaPipeEntity implements IMetaTileEntityItemPi
         }
     }
 
+    /**
+     * @return The pipes reachable from this one, nearest first, as {@link IMetaTileEntityItemPipe.Util#scanPipes}
+     *         would find them.
+     */
+    private Collection<IMetaTileEntityItemPipe> getRoute() {
+        if (!isRouteValid()) {
+            final IMetaTileEntityItemPipe.CoverChecks tCoverChecks = new IMetaTileEntityItemPipe.CoverChecks();
+            mRoute = GTUtility
+                .sortMapByValuesAcending(
+                    IMetaTileEntityItemPipe.Util.scanPipes(this, new HashMap<>(), 0, false, true, tCoverChecks))
+                .keySet()
+                .toArray(new IMetaTileEntityItemPipe[0]);
+            mRouteGenerations = new int[mRoute.length];
+            for (int i = 0; i < mRoute.length; i++) mRouteGenerations[i] = getShapeGeneration(mRoute[i]);
+            mRouteCoverChecks = tCoverChecks;
+            mDetours.clear();
+        }
+        BitSet tFullPipes = null;
+        for (int i = 0; i < mRoute.length; i++) {
+            if (!mRoute[i].pipeCapacityCheck()) {
+                if (tFullPipes == null) tFullPipes = new BitSet(mRoute.length);
+                tFullPipes.set(i);
+            }
+        }
+        if (tFullPipes == null) return Arrays.asList(mRoute);
+        // Full pipes can't be passed through, so routes might take detours. Only the full pipes decide which ones, and
+        // saturated lines keep running into the same few combinations of them.
+        IMetaTileEntityItemPipe[] tDetour = mDetours.get(tFullPipes);
+        if (tDetour == null) {
+            tDetour = GTUtility
+                .sortMapByValuesAcending(
+                    IMetaTileEntityItemPipe.Util.scanPipes(this, new HashMap<>(), 0, false, false))
+                .keySet()
+                .toArray(new IMetaTileEntityItemPipe[0]);
+            if (mDetours.size() >= MAX_DETOURS) mDetours.clear();
+            mDetours.put(tFullPipes, tDetour);
+        }
+        return Arrays.asList(tDetour);
+    }
+
+    private boolean isRouteValid() {
+        if (mRoute == null) return false;
+        for (int i = 0; i < mRoute.length; i++) {
+            final IMetaTileEntityItemPipe tPipe = mRoute[i];
+            final IGregTechTileEntity tTileEntity = tPipe.getBaseMetaTileEntity();
+            // Pipes in unloaded chunks don't notify their neighbours
+            if (tTileEntity == null || tTileEntity.isDead()) return false;
+            if (getShapeGeneration(tPipe) != mRouteGenerations[i]) return false;
+        }
+        return mRouteCoverChecks.isValid();
+    }
+
+    private static int getShapeGeneration(IMetaTileEntityItemPipe aPipe) {
+        return aPipe instanceof MTEItemPipe tPipe ? tPipe.mShapeGeneration : 0;
+    }
+
+    /**
+     * Drops the cached routes passing through this pipe, including its own. Called when it connects or disconnects.
+     * Cover changes are caught by the {@link IMetaTileEntityItemPipe.CoverChecks} of the routes, and blocks placed or
+     * removed next to the pipe only matter once it connects to or disconnects from them.
+     */
+    public void invalidateRoutes() {
+        mShapeGeneration++;
+    }
+
+    /**
+     * Also drops the routes of the adjacent pipes, which might have stopped here before this pipe was loaded or
+     * recoloured.
+     */
+    private void invalidateAdjacentRoutes() {
+        invalidateRoutes();
+        final IGregTechTileEntity tBaseMetaTileEntity = getBaseMetaTileEntity();
+        for (final ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
+            final IGregTechTileEntity tTileEntity = tBaseMetaTileEntity.getIGregTechTileEntityAtSide(side);
+            if (tTileEntity != null && tTileEntity.getMetaTileEntity() instanceof MTEItemPipe tPipe) {
+                tPipe.invalidateRoutes();
+            }
+        }
+    }
+
+    @Override
+    public void onFirstTick(IGregTechTileEntity aBaseMetaTileEntity) {
+        super.onFirstTick(aBaseMetaTileEntity);
+        if (aBaseMetaTileEntity.isServerSide()) invalidateAdjacentRoutes();
+    }
+
+    @Override
+    protected void onConnectionsChanged() {
+        invalidateRoutes();
+    }
+
+    @Override
+    public void onColorChangeServer(byte aColor) {
+        super.onColorChangeServer(aColor);
+        invalidateAdjacentRoutes();
+    }
+
     @Override
     public boolean onWrenchRightClick(ForgeDirection side, ForgeDirection wrenchingSide, EntityPlayer entityPlayer,
         float aX, float aY, float aZ, ItemStack aTool) {
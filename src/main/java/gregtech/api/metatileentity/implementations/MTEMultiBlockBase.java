@@ -98,6 +98,7 @@ import gregtech.api.enums.VoidingMode;
 import gregtech.api.gui.modularui.GTUITextures;
 import gregtech.api.gui.widgets.StructureErrorSyncer;
 import gregtech.api.interfaces.fluid.IFluidStore;
+import gregtech.api.interfaces.metatileentity.IInputChangeTracking;
 import gregtech.api.interfaces.metatileentity.IItemLockable;
 import gregtech.api.interfaces.metatileentity.IMetaTileEntity;
 import gregtech.api.interfaces.modularui.IAddGregtechLogo;
@@ -119,6 +120,7 @@ import gregtech.api.util.GTRecipe;
 import gregtech.api.util.GTUtil;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.GTWaila;
+import gregtech.api.util.MachineProfiler;
 import gregtech.api.util.OutputHatchWrapper;
 import gregtech.api.util.ParallelHelper;
 import gregtech.api.util.VoidProtectionHelper;
@@ -215,6 +217,33 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
     private static final int CHECK_INTERVAL = 100; // How often should we check for a new recipe on an idle machine?
     private final int randomTickOffset = (int) (Math.random() * CHECK_INTERVAL + 1);
 
+    private static final long INPUT_STATE_UNKNOWN = Long.MIN_VALUE;
+    /**
+     * Recipe checks are skipped at most this long because of unchanged inputs, in case some change went unreported.
+     */
+    private static final int MAX_UNCHANGED_INPUT_SKIP = CHECK_INTERVAL * 12;
+    /**
+     * {@link #getInputState} at the last recipe check that found no recipe.
+     */
+    private long noRecipeInputState = INPUT_STATE_UNKNOWN;
+    private long noRecipeCheckTime;
+    /**
+     * Consecutive recipe checks which failed in a way that usually persists until the inputs or outputs change.
+     */
+    private int persistentRecipeFailures;
+    /**
+     * Scheduled recipe checks of the idle machine are skipped until this {@link #mTotalRunTime}, unless something
+     * they depend on visibly changes.
+     */
+    private long recipeCheckBackoffUntil;
+    private long backoffInputState = INPUT_STATE_UNKNOWN;
+    private long backoffOutputState;
+    /**
+     * Stats of this controller while {@link MachineProfiler} is enabled.
+     */
+    @Nullable
+    private MachineProfiler.Stats profilerStats;
+
     /** A list of unparameterized structure errors. */
     private EnumSet<StructureError> structureErrors = EnumSet.noneOf(StructureError.class);
 
@@ -474,6 +503,7 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
      * method, call super, and clear your own hatches
      */
     public void clearHatches() {
+        invalidateInputState();
         mInputHatches.clear();
         mInputBusses.clear();
         mOutputHatches.clear();
@@ -498,11 +528,17 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
         if (!aBaseMetaTileEntity.isServerSide()) return mMachine;
         // Only trigger an update if forced (from onPostTick, generally), or if the structure has changed
         if ((mStructureChanged || aForceReset)) {
+            long startTime = MachineProfiler.isEnabled() ? System.nanoTime() : 0;
             clearHatches();
 
             mMachine = checkMachine(aBaseMetaTileEntity, mInventory[1]);
 
             doStructureValidation();
+            if (MachineProfiler.isEnabled()) {
+                MachineProfiler.Stats stats = getProfilerStats();
+                stats.add(MachineProfiler.STRUCTURE_CHECK_NANOS, System.nanoTime() - startTime);
+                stats.add(MachineProfiler.STRUCTURE_CHECKS, 1);
+            }
         }
         mStructureChanged = false;
         return mMachine;
@@ -669,6 +705,8 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
      * @return If successfully found recipe and/or started processing
      */
     protected final boolean checkRecipe() {
+        long startTime = MachineProfiler.isEnabled() ? System.nanoTime() : 0;
+        long inputState = getInputState();
         startRecipeProcessing();
         CheckRecipeResult result = checkProcessing();
         if (!CheckRecipeResultRegistry.isRegistered(result.getID())) {
@@ -679,8 +717,23 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
         }
         this.checkRecipeResult = result;
         endRecipeProcessing();
+        // Only NO_RECIPE guarantees nothing was consumed and the result doesn't depend on the outputs or power
+        if (this.checkRecipeResult == CheckRecipeResultRegistry.NO_RECIPE) {
+            noRecipeInputState = inputState;
+            noRecipeCheckTime = mTotalRunTime;
+        } else {
+            noRecipeInputState = INPUT_STATE_UNKNOWN;
+        }
+        updateRecipeCheckBackoff(inputState);
         // Don't use `result` here because `endRecipeProcessing()` might mutate `this.checkRecipeResult`
-        return this.checkRecipeResult.wasSuccessful();
+        boolean successful = this.checkRecipeResult.wasSuccessful();
+        if (MachineProfiler.isEnabled()) {
+            MachineProfiler.Stats stats = getProfilerStats();
+            stats.add(MachineProfiler.RECIPE_CHECK_NANOS, System.nanoTime() - startTime);
+            stats.add(MachineProfiler.RECIPE_CHECKS, 1);
+            if (successful) stats.add(MachineProfiler.RECIPE_HITS, 1);
+        }
+        return successful;
     }
 
     private boolean shouldCheckRecipeThisTick(long aTick) {
@@ -700,7 +753,9 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
         // Perform more frequent recipe change after the machine just shuts down.
         long timeElapsed = mTotalRunTime - mLastWorkingTick;
 
-        if (timeElapsed >= CHECK_INTERVAL) return (mTotalRunTime + randomTickOffset) % CHECK_INTERVAL == 0;
+        if (timeElapsed >= CHECK_INTERVAL) {
+            return (mTotalRunTime + randomTickOffset) % CHECK_INTERVAL == 0 && !isRecipeCheckBackingOff();
+        }
         // Batch mode should be a lot less aggressive at recipe checking
         if (!isBatchModeEnabled()) {
             return timeElapsed == 5 || timeElapsed == 12
@@ -723,11 +778,7 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
                 }
                 if (mMaxProgresstime > 0 && ++mProgresstime >= mMaxProgresstime) {
                     if (mOutputItems != null) {
-                        for (ItemStack tStack : mOutputItems) {
-                            if (tStack != null) {
-                                addOutput(tStack);
-                            }
-                        }
+                        addItemOutputs(mOutputItems);
                         mOutputItems = null;
                     }
                     if (mOutputFluids != null) {
@@ -754,8 +805,8 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
             // Check if the machine is enabled in the first place!
             if (aBaseMetaTileEntity.isAllowedToWork()) {
 
-                if (shouldCheckRecipeThisTick(aTick) || aBaseMetaTileEntity.hasWorkJustBeenEnabled()
-                    || aBaseMetaTileEntity.hasInventoryBeenModified()) {
+                if (aBaseMetaTileEntity.hasWorkJustBeenEnabled() || aBaseMetaTileEntity.hasInventoryBeenModified()
+                    || (shouldCheckRecipeThisTick(aTick) && !areInputsUnchangedSinceNoRecipe())) {
                     if (checkRecipe()) {
                         markDirty();
                     }
@@ -765,6 +816,147 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
         }
     }
 
+    /**
+     * @return Whether the last recipe check found no recipe, and none of the inputs have changed since then.
+     */
+    protected boolean areInputsUnchangedSinceNoRecipe() {
+        return noRecipeInputState != INPUT_STATE_UNKNOWN && mTotalRunTime - noRecipeCheckTime < MAX_UNCHANGED_INPUT_SKIP
+            && getInputState() == noRecipeInputState;
+    }
+
+    /**
+     * Forces the next scheduled recipe check to run, even if the inputs didn't change. Call this when something
+     * else than the input hatches affects which recipes can be found, e.g. a mode switch.
+     */
+    public void invalidateInputState() {
+        noRecipeInputState = INPUT_STATE_UNKNOWN;
+        resetRecipeCheckBackoff();
+    }
+
+    /**
+     * Lets the next scheduled recipe check run, no matter how many of the previous ones have failed. Called whenever a
+     * player interacts with the controller.
+     */
+    public void resetRecipeCheckBackoff() {
+        persistentRecipeFailures = 0;
+        recipeCheckBackoffUntil = 0;
+    }
+
+    /**
+     * Doubles the interval between the scheduled recipe checks with every consecutive failure which is unlikely to go
+     * away on its own, up to {@link MachineStats.Machines#maxIdleRecipeCheckInterval}. Machines whose inputs can
+     * change without being noticed never back off, as they couldn't tell when to check again.
+     */
+    private void updateRecipeCheckBackoff(long inputState) {
+        CheckRecipeResult result = this.checkRecipeResult;
+        if (inputState == INPUT_STATE_UNKNOWN) {
+            resetRecipeCheckBackoff();
+            return;
+        }
+        if (result != CheckRecipeResultRegistry.NO_RECIPE && result != CheckRecipeResultRegistry.ITEM_OUTPUT_FULL
+            && result != CheckRecipeResultRegistry.FLUID_OUTPUT_FULL) {
+            resetRecipeCheckBackoff();
+            return;
+        }
+        persistentRecipeFailures = Math.min(persistentRecipeFailures + 1, 16);
+        long interval = Math.min(
+            (long) CHECK_INTERVAL << (persistentRecipeFailures - 1),
+            MachineStats.machines.maxIdleRecipeCheckInterval);
+        recipeCheckBackoffUntil = mTotalRunTime + interval;
+        backoffInputState = inputState;
+        backoffOutputState = getOutputState();
+    }
+
+    /**
+     * @return Whether the scheduled recipe check should be skipped, as the previous ones kept failing and neither the
+     *         inputs nor the outputs have changed since.
+     */
+    private boolean isRecipeCheckBackingOff() {
+        if (mTotalRunTime >= recipeCheckBackoffUntil) return false;
+        if (getInputState() != backoffInputState) return false;
+        return getOutputState() == backoffOutputState;
+    }
+
+    /**
+     * Cheap summary of the contents of the output busses and hatches, changing when something is extracted.
+     */
+    private long getOutputState() {
+        long state = 0;
+        for (MTEHatchOutputBus bus : mOutputBusses) {
+            if (!bus.isValid()) continue;
+            if (bus instanceof MTEHatchOutputBusME meBus) {
+                state = state * 31 + (meBus.canAcceptItem() ? 1 : 0);
+                continue;
+            }
+            for (ItemStack stack : bus.mInventory) {
+                state = state * 31 + (stack == null ? 0 : stack.stackSize);
+            }
+        }
+        for (MTEHatchOutput hatch : mOutputHatches) {
+            if (!hatch.isValid()) continue;
+            if (hatch instanceof MTEHatchOutputME meHatch) {
+                state = state * 31 + (meHatch.canAcceptFluid() ? 1 : 0);
+            } else {
+                state = state * 31 + hatch.getFluidAmount();
+            }
+        }
+        return state;
+    }
+
+    /**
+     * @return Stats of this controller for {@link MachineProfiler}, registering it if it isn't profiled yet. Only call
+     *         while the profiler is enabled.
+     */
+    public MachineProfiler.Stats getProfilerStats() {
+        if (profilerStats == null) {
+            profilerStats = MachineProfiler.register(this);
+        }
+        return profilerStats;
+    }
+
+    /**
+     * @return Stats of this controller for {@link MachineProfiler}, or null if it hasn't been profiled.
+     */
+    @Nullable
+    public MachineProfiler.Stats peekProfilerStats() {
+        return profilerStats;
+    }
+
+    public void clearProfilerStats() {
+        profilerStats = null;
+    }
+
+    /**
+     * Combines {@link IInputChangeTracking#getInputVersion} of all the input hatches with the settings affecting the
+     * recipe search.
+     *
+     * @return {@link #INPUT_STATE_UNKNOWN} if any of the inputs can change without being noticed.
+     */
+    private long getInputState() {
+        if (processingLogic == null || !mDualInputHatches.isEmpty()
+            || !mSmartInputHatches.isEmpty()
+            || !supportsInputStateSkipping()) {
+            return INPUT_STATE_UNKNOWN;
+        }
+        long state = System.identityHashCode(getRecipeMap());
+        state = state * 31 + machineMode;
+        state = state * 31 + (inputSeparation ? 1 : 0);
+        state = state * 31 + (mLockedToSingleRecipe ? 1 : 0);
+        for (MTEHatchInputBus bus : mInputBusses) {
+            if (!bus.isValid()) continue;
+            if (!bus.isInputChangeTracked()) return INPUT_STATE_UNKNOWN;
+            state = state * 31 + bus.getInputVersion();
+            state = state * 31 + bus.getColor();
+        }
+        for (MTEHatchInput hatch : mInputHatches) {
+            if (!hatch.isValid()) continue;
+            if (!hatch.isInputChangeTracked()) return INPUT_STATE_UNKNOWN;
+            state = state * 31 + hatch.getInputVersion();
+            state = state * 31 + hatch.getColor();
+        }
+        return state == INPUT_STATE_UNKNOWN ? state + 1 : state;
+    }
+
     protected void outputAfterRecipe() {
 
     }
@@ -1017,6 +1209,28 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
         return true;
     }
 
+    /**
+     * Override to return true if recipe checks of this controller only depend on the contents of its input busses and
+     * hatches, its recipemap, machine mode, input separation and recipe locking. Scheduled recipe checks of the idle
+     * machine are then skipped while none of these change.
+     * <p>
+     * Keep it false if the controller overrides {@link #checkProcessing} or how the inputs are gathered, or its
+     * processing logic depends on anything else, e.g. a setting without {@link #invalidateInputState}.
+     */
+    protected boolean supportsInputStateSkipping() {
+        return false;
+    }
+
+    /**
+     * If true, {@link #addItemOutputs(ItemStack[])} and {@link #addFluidOutputs(FluidStack[])} hand the whole batch of
+     * outputs to the busses and hatches at once instead of one stack at a time.
+     * <p>
+     * Keep it false if the controller overrides {@link #addOutput(ItemStack)} or {@link #addOutput(FluidStack)}.
+     */
+    protected boolean supportsBulkOutput() {
+        return false;
+    }
+
     /**
      * Iterates over hatches and tries to find recipe. Assume {@link #processingLogic} is already set up for use.
      * If return value is successful, inputs are consumed.
@@ -1548,11 +1762,65 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
     }
 
     protected void addFluidOutputs(FluidStack[] outputFluids) {
+        if (supportsBulkOutput()) {
+            final long[] amounts = new long[outputFluids.length];
+            for (int i = 0; i < outputFluids.length; i++) {
+                if (outputFluids[i] != null) amounts[i] = outputFluids[i].amount;
+            }
+            addFluidOutputs(outputFluids, amounts);
+            return;
+        }
         for (FluidStack outputFluidStack : outputFluids) {
             addOutput(outputFluidStack);
         }
     }
 
+    /**
+     * Outputs fluids without splitting them into stacks, like
+     * {@link gregtech.api.util.ParallelHelper#getFluidOutputTypes} and
+     * {@link gregtech.api.util.ParallelHelper#getFluidOutputAmounts}. The hatches are filled in the same order as
+     * {@link #addOutput(FluidStack)} does, ME output hatches take the whole remaining amount through
+     * {@link MTEHatchOutputME#tryFillAE(FluidStack, long)}.
+     *
+     * @param fluids  Types of the fluids, null entries are skipped. Their amounts are ignored and they aren't modified.
+     * @param amounts Amounts of the fluids. Modified, so pass a copy of arrays you don't own.
+     */
+    public void addFluidOutputs(FluidStack[] fluids, long[] amounts) {
+        final List<MTEHatchOutput> validHatches = filterValidMTEs(mOutputHatches);
+        for (int i = 0; i < fluids.length; i++) {
+            if (fluids[i] == null || amounts[i] <= 0) continue;
+            if (!dumpFluid(validHatches, fluids[i], amounts, i, true)) {
+                dumpFluid(validHatches, fluids[i], amounts, i, false);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #dumpFluid(List, FluidStack, boolean)}, but takes an amount which doesn't have to fit in a stack.
+     */
+    private static boolean dumpFluid(List<MTEHatchOutput> outputHatches, FluidStack fluid, long[] amounts, int index,
+        boolean restrictiveHatchesOnly) {
+        for (MTEHatchOutput tHatch : outputHatches) {
+            if (restrictiveHatchesOnly && tHatch.mMode == 0) continue;
+            if (!tHatch.canStoreFluid(fluid)) continue;
+
+            if (tHatch instanceof MTEHatchOutputME tMEHatch) {
+                if (!tMEHatch.canFillFluid()) continue;
+                amounts[index] -= tMEHatch.tryFillAE(fluid, amounts[index]);
+            } else {
+                while (amounts[index] > 0) {
+                    final int tAmount = tHatch
+                        .fill(new FluidStack(fluid, (int) Math.min(amounts[index], Integer.MAX_VALUE)), true);
+                    if (tAmount <= 0) break;
+                    amounts[index] -= tAmount;
+                }
+                tHatch.onEmptyingContainerWhenEmpty();
+            }
+            if (amounts[index] <= 0) return true;
+        }
+        return false;
+    }
+
     public boolean depleteInput(FluidStack aLiquid) {
         return depleteInput(aLiquid, false);
     }
@@ -1597,11 +1865,52 @@ public abstract class MTEMultiBlockBase extends MetaTileEntity implements IContr
     }
 
     public void addItemOutputs(ItemStack[] outputItems) {
+        if (supportsBulkOutput()) {
+            final long[] amounts = new long[outputItems.length];
+            for (int i = 0; i < outputItems.length; i++) {
+                if (!GTUtility.isStackInvalid(outputItems[i])) amounts[i] = outputItems[i].stackSize;
+            }
+            addItemOutputs(outputItems, amounts);
+            return;
+        }
         for (ItemStack outputItemStack : outputItems) {
             addOutput(outputItemStack);
         }
     }
 
+    /**
+     * Outputs items without splitting them into stacks, like
+     * {@link gregtech.api.util.ParallelHelper#getItemOutputTypes} and
+     * {@link gregtech.api.util.ParallelHelper#getItemOutputAmounts}. The busses take the whole batch through
+     * {@link MTEHatchOutputBus#storeAll}, locked ones first, whatever is left goes through
+     * {@link #addOutput(ItemStack)}.
+     *
+     * @param types   Types of the items, null entries are skipped. Their stack sizes are ignored and they aren't
+     *                modified.
+     * @param amounts Amounts of the items. Modified, so pass a copy of arrays you don't own.
+     */
+    public void addItemOutputs(ItemStack[] types, long[] amounts) {
+        final List<MTEHatchOutputBus> validBusses = filterValidMTEs(mOutputBusses);
+        if (!storeAll(validBusses, types, amounts, true)) storeAll(validBusses, types, amounts, false);
+        for (int i = 0; i < types.length; i++) {
+            while (types[i] != null && amounts[i] > 0) {
+                final ItemStack stack = GTUtility
+                    .copyAmountUnsafe((int) Math.min(amounts[i], Integer.MAX_VALUE), types[i]);
+                amounts[i] -= stack.stackSize;
+                addOutput(stack);
+            }
+        }
+    }
+
+    private static boolean storeAll(List<MTEHatchOutputBus> outputBuses, ItemStack[] types, long[] amounts,
+        boolean restrictiveBusesOnly) {
+        for (MTEHatchOutputBus outputBus : outputBuses) {
+            if (restrictiveBusesOnly && !outputBus.isLocked()) continue;
+            if (outputBus.storeAll(types, amounts, false)) return true;
+        }
+        return false;
+    }
+
     /**
      * Outputs a stack to the multi's output busses. Does not add items to output hatches.
      *
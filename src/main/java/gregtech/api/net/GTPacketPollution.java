@@ -1,5 +1,7 @@
 package gregtech.api.net;
 
+import java.util.Arrays;
+
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.IBlockAccess;
 
@@ -8,10 +10,13 @@ import com.google.common.io.ByteArrayDataInput;
 import gregtech.common.GTClient;
 import io.netty.buffer.ByteBuf;
 
+/**
+ * Pollution of one or more chunks, chunks are packed with {@link ChunkCoordIntPair#chunkXZ2Int}.
+ */
 public class GTPacketPollution extends GTPacket {
 
-    private ChunkCoordIntPair chunk;
-    private int pollution;
+    private long[] chunks;
+    private int[] pollution;
 
     public GTPacketPollution() {
         super();
@@ -19,25 +24,51 @@ public class GTPacketPollution extends GTPacket {
 
     public GTPacketPollution(ChunkCoordIntPair chunk, int pollution) {
         super();
-        this.chunk = chunk;
-        this.pollution = pollution;
+        this.chunks = new long[] { ChunkCoordIntPair.chunkXZ2Int(chunk.chunkXPos, chunk.chunkZPos) };
+        this.pollution = new int[] { pollution };
+    }
+
+    /**
+     * @param count Number of entries to send, the arrays are copied.
+     */
+    public GTPacketPollution(long[] chunks, int[] pollution, int count) {
+        super();
+        this.chunks = Arrays.copyOf(chunks, count);
+        this.pollution = Arrays.copyOf(pollution, count);
     }
 
     @Override
     public void encode(ByteBuf aOut) {
-        aOut.writeInt(chunk.chunkXPos)
-            .writeInt(chunk.chunkZPos)
-            .writeInt(pollution);
+        aOut.writeInt(chunks.length);
+        for (int i = 0; i < chunks.length; i++) {
+            aOut.writeInt((int) chunks[i])
+                .writeInt((int) (chunks[i] >>> 32))
+                .writeInt(pollution[i]);
+        }
     }
 
     @Override
     public GTPacket decode(ByteArrayDataInput aData) {
-        return new GTPacketPollution(new ChunkCoordIntPair(aData.readInt(), aData.readInt()), aData.readInt());
+        final int count = aData.readInt();
+        final long[] chunks = new long[count];
+        final int[] pollution = new int[count];
+        for (int i = 0; i < count; i++) {
+            chunks[i] = ChunkCoordIntPair.chunkXZ2Int(aData.readInt(), aData.readInt());
+            pollution[i] = aData.readInt();
+        }
+        final GTPacketPollution packet = new GTPacketPollution();
+        packet.chunks = chunks;
+        packet.pollution = pollution;
+        return packet;
     }
 
     @Override
     public void process(IBlockAccess aWorld) {
-        GTClient.recieveChunkPollutionPacket(chunk, pollution);
+        for (int i = 0; i < chunks.length; i++) {
+            GTClient.recieveChunkPollutionPacket(
+                new ChunkCoordIntPair((int) chunks[i], (int) (chunks[i] >>> 32)),
+                pollution[i]);
+        }
     }
 
     @Override
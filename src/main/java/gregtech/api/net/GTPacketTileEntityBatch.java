@@ -0,0 +1,220 @@
+package gregtech.api.net;
+
+import static gregtech.api.enums.GTValues.NW;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+
+import com.google.common.io.ByteArrayDataInput;
+
+import gregtech.GTMod;
+import gregtech.api.metatileentity.GregTechTileClientEvents;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Client data of all the machines of one chunk that changed within one server tick.
+ * <p>
+ * Instead of a {@link GTPacketBlockEvent} per machine and change, machines mark what changed on the {@link Entry} of
+ * their position, and every chunk with changes is sent once at the end of the tick to the players watching it. An
+ * entry only holds the fields in its mask, so a machine switching its active state costs a couple of bytes. Full
+ * syncs for players starting to watch a machine are still sent right away with {@link GTPacketTileEntity}, as cover
+ * data sent after them relies on the covers being known, see {@link #onFullSync}.
+ * <p>
+ * Batches are built on the server thread only and sent by {@link #sendAll}.
+ */
+public class GTPacketTileEntityBatch extends GTPacket {
+
+    public static final int COMMON = 1;
+    public static final int UPDATE = 2;
+    public static final int COLOR = 4;
+    public static final int REDSTONE = 8;
+    public static final int LIGHT = 16;
+
+    private static final Map<World, Long2ObjectOpenHashMap<GTPacketTileEntityBatch>> sPending = new IdentityHashMap<>();
+
+    private int mChunkX, mChunkZ;
+    private final Int2ObjectLinkedOpenHashMap<Entry> mEntries = new Int2ObjectLinkedOpenHashMap<>();
+
+    public GTPacketTileEntityBatch() {}
+
+    private GTPacketTileEntityBatch(int aChunkX, int aChunkZ) {
+        mChunkX = aChunkX;
+        mChunkZ = aChunkZ;
+    }
+
+    /**
+     * @return The entry of the position in the batch of its chunk for this tick, fields marked on it are sent at the
+     *         end of the tick.
+     */
+    public static Entry getEntry(World aWorld, int aX, int aY, int aZ) {
+        final int tChunkX = aX >> 4, tChunkZ = aZ >> 4;
+        final GTPacketTileEntityBatch tBatch = sPending.computeIfAbsent(aWorld, w -> new Long2ObjectOpenHashMap<>())
+            .computeIfAbsent(chunkKey(tChunkX, tChunkZ), k -> new GTPacketTileEntityBatch(tChunkX, tChunkZ));
+        final int tKey = entryKey(aX, aY, aZ);
+        Entry tEntry = tBatch.mEntries.get(tKey);
+        if (tEntry == null) {
+            tEntry = new Entry();
+            tBatch.mEntries.put(tKey, tEntry);
+        }
+        return tEntry;
+    }
+
+    /**
+     * Drops the fields marked this tick which are part of a full sync sent right now, so the older values sent at the
+     * end of the tick don't overwrite the newer ones again.
+     */
+    public static void onFullSync(World aWorld, int aX, int aY, int aZ) {
+        final Long2ObjectOpenHashMap<GTPacketTileEntityBatch> tBatches = sPending.get(aWorld);
+        if (tBatches == null) return;
+        final GTPacketTileEntityBatch tBatch = tBatches.get(chunkKey(aX >> 4, aZ >> 4));
+        if (tBatch == null) return;
+        final int tKey = entryKey(aX, aY, aZ);
+        final Entry tEntry = tBatch.mEntries.get(tKey);
+        if (tEntry == null) return;
+        tEntry.mMask &= LIGHT;
+        if (tEntry.mMask == 0) tBatch.mEntries.remove(tKey);
+    }
+
+    private static long chunkKey(int aChunkX, int aChunkZ) {
+        return (long) aChunkX << 32 | (aChunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int entryKey(int aX, int aY, int aZ) {
+        return (aY & 0xFFFF) << 8 | (aX & 15) << 4 | (aZ & 15);
+    }
+
+    /**
+     * Sends the batches of all the chunks changed this tick. Called at the end of every server tick.
+     */
+    public static void sendAll() {
+        if (sPending.isEmpty()) return;
+        for (Map.Entry<World, Long2ObjectOpenHashMap<GTPacketTileEntityBatch>> tWorld : sPending.entrySet()) {
+            final World tWorldObj = tWorld.getKey();
+            for (GTPacketTileEntityBatch tBatch : tWorld.getValue()
+                .values()) {
+                // Don't load the chunk back just to find its watchers
+                if (tBatch.mEntries.isEmpty() || !tWorldObj.getChunkProvider()
+                    .chunkExists(tBatch.mChunkX, tBatch.mChunkZ)) continue;
+                NW.sendPacketToAllPlayersInRange(tWorldObj, tBatch, tBatch.mChunkX << 4, tBatch.mChunkZ << 4);
+            }
+        }
+        sPending.clear();
+    }
+
+    @Override
+    public void encode(ByteBuf aOut) {
+        aOut.writeInt(mChunkX);
+        aOut.writeInt(mChunkZ);
+        aOut.writeShort(mEntries.size());
+        for (Int2ObjectLinkedOpenHashMap.Entry<Entry> tPair : mEntries.int2ObjectEntrySet()) {
+            final int tKey = tPair.getIntKey();
+            final Entry tEntry = tPair.getValue();
+            aOut.writeByte(tKey & 0xFF);
+            aOut.writeShort(tKey >> 8);
+            aOut.writeByte(tEntry.mMask);
+            if ((tEntry.mMask & COMMON) != 0) aOut.writeByte(tEntry.mCommon);
+            if ((tEntry.mMask & UPDATE) != 0) aOut.writeByte(tEntry.mUpdate);
+            if ((tEntry.mMask & COLOR) != 0) aOut.writeByte(tEntry.mColor);
+            if ((tEntry.mMask & REDSTONE) != 0) aOut.writeByte(tEntry.mRedstone);
+            if ((tEntry.mMask & LIGHT) != 0) aOut.writeByte(tEntry.mLight);
+        }
+    }
+
+    @Override
+    public GTPacket decode(ByteArrayDataInput aData) {
+        final GTPacketTileEntityBatch tBatch = new GTPacketTileEntityBatch(aData.readInt(), aData.readInt());
+        for (int i = aData.readUnsignedShort(); i > 0; i--) {
+            final int tKey = aData.readUnsignedByte() | (aData.readShort() & 0xFFFF) << 8;
+            final Entry tEntry = new Entry();
+            tEntry.mMask = aData.readByte();
+            if ((tEntry.mMask & COMMON) != 0) tEntry.mCommon = aData.readByte();
+            if ((tEntry.mMask & UPDATE) != 0) tEntry.mUpdate = aData.readByte();
+            if ((tEntry.mMask & COLOR) != 0) tEntry.mColor = aData.readByte();
+            if ((tEntry.mMask & REDSTONE) != 0) tEntry.mRedstone = aData.readByte();
+            if ((tEntry.mMask & LIGHT) != 0) tEntry.mLight = aData.readByte();
+            tBatch.mEntries.put(tKey, tEntry);
+        }
+        return tBatch;
+    }
+
+    @Override
+    public void process(IBlockAccess aWorld) {
+        if (aWorld == null) return;
+        for (Int2ObjectLinkedOpenHashMap.Entry<Entry> tPair : mEntries.int2ObjectEntrySet()) {
+            final int tKey = tPair.getIntKey();
+            final int tX = mChunkX << 4 | (tKey >> 4 & 15), tY = tKey >> 8, tZ = mChunkZ << 4 | (tKey & 15);
+            final TileEntity tTileEntity = aWorld.getTileEntity(tX, tY, tZ);
+            if (tTileEntity == null) continue;
+            try {
+                tPair.getValue()
+                    .apply(tTileEntity);
+            } catch (Exception e) {
+                GTMod.GT_FML_LOGGER.error(
+                    "Exception setting tile entity data for tile entity {} at ({}, {}, {})",
+                    tTileEntity,
+                    tX,
+                    tY,
+                    tZ);
+            }
+        }
+    }
+
+    @Override
+    public byte getPacketID() {
+        return GTPacketTypes.TILE_ENTITY_BATCH.id;
+    }
+
+    /**
+     * Changed client data of one machine. Fields marked later in the tick overwrite earlier values.
+     */
+    public static final class Entry {
+
+        private byte mMask;
+        private byte mCommon, mUpdate, mColor, mRedstone, mLight;
+
+        private Entry() {}
+
+        public void setCommon(byte aCommon) {
+            mMask |= COMMON;
+            mCommon = aCommon;
+        }
+
+        public void setUpdate(byte aUpdate) {
+            mMask |= UPDATE;
+            mUpdate = aUpdate;
+        }
+
+        public void setColor(byte aColor) {
+            mMask |= COLOR;
+            mColor = aColor;
+        }
+
+        public void setRedstone(byte aRedstone) {
+            mMask |= REDSTONE;
+            mRedstone = aRedstone;
+        }
+
+        public void setLight(byte aLight) {
+            mMask |= LIGHT;
+            mLight = aLight;
+        }
+
+        private void apply(TileEntity aTileEntity) {
+            // Same order as the block events these replace
+            if ((mMask & COMMON) != 0)
+                aTileEntity.receiveClientEvent(GregTechTileClientEvents.CHANGE_COMMON_DATA, mCommon);
+            if ((mMask & UPDATE) != 0)
+                aTileEntity.receiveClientEvent(GregTechTileClientEvents.CHANGE_CUSTOM_DATA, mUpdate);
+            if ((mMask & COLOR) != 0) aTileEntity.receiveClientEvent(GregTechTileClientEvents.CHANGE_COLOR, mColor);
+            if ((mMask & REDSTONE) != 0)
+                aTileEntity.receiveClientEvent(GregTechTileClientEvents.CHANGE_REDSTONE_OUTPUT, mRedstone);
+            if ((mMask & LIGHT) != 0) aTileEntity.receiveClientEvent(GregTechTileClientEvents.CHANGE_LIGHT, mLight);
+        }
+    }
+}
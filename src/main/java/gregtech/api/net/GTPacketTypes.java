@@ -42,6 +42,7 @@ public enum GTPacketTypes {
     LMA_CRAFTING_FX(32, new GTPacketLMACraftingFX()),
     SEND_WIRELESS_EU(33, new GTPacketUpdatePowerGoggles()),
     LINK_GOGGLES(34, new GTPacketLinkPowerGoggles()),
+    TILE_ENTITY_BATCH(35, new GTPacketTileEntityBatch()),
     // merge conflict prevention comment, keep a trailing comma above
     ;
 
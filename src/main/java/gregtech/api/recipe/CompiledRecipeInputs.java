@@ -0,0 +1,188 @@
+package gregtech.api.recipe;
+
+import static gregtech.api.util.GTRecipeBuilder.WILDCARD;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.objects.ItemData;
+import gregtech.api.util.GTOreDictUnificator;
+import gregtech.api.util.GTRecipe;
+import gregtech.api.util.GTRecipe.RecipeItemInput;
+import gregtech.api.util.MethodsReturnNonnullByDefault;
+import it.unimi.dsi.fastutil.objects.Reference2LongLinkedOpenHashMap;
+
+/**
+ * Inputs of a {@link GTRecipe} flattened into primitive arrays, so that
+ * {@link GTRecipe#maxParallelCalculatedByInputs(int, RecipeInputSnapshot)} only needs a few hash lookups into the
+ * {@link RecipeInputSnapshot} per input type.
+ * <p>
+ * Item keys use registry ids, so instances are dropped together with {@link RecipeMapBackend#invalidateLookupIndex}.
+ * Immutable once built.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class CompiledRecipeInputs {
+
+    private final ItemStack[] sourceItems;
+    private final FluidStack[] sourceFluids;
+
+    private final boolean hasItemInputs;
+    private final boolean hasFluidInputs;
+    private final Fluid[] fluids;
+    private final long[] fluidCosts;
+    /**
+     * Packed item key, or item id in the low bits when {@link #ignoreDamage} is set.
+     */
+    private final long[] itemKeys;
+    private final boolean[] ignoreDamage;
+    private final long[] itemCosts;
+    /**
+     * NBT sensitive inputs and inputs that can't be keyed, compared stack by stack. Null entries are counted through
+     * {@link #itemKeys}.
+     */
+    private final RecipeItemInput[] slowInputs;
+
+    private CompiledRecipeInputs(ItemStack[] sourceItems, FluidStack[] sourceFluids, Fluid[] fluids,
+        long[] fluidCosts, long[] itemKeys, boolean[] ignoreDamage, long[] itemCosts, RecipeItemInput[] slowInputs) {
+        this.sourceItems = sourceItems;
+        this.sourceFluids = sourceFluids;
+        this.hasItemInputs = sourceItems.length > 0;
+        this.hasFluidInputs = sourceFluids.length > 0;
+        this.fluids = fluids;
+        this.fluidCosts = fluidCosts;
+        this.itemKeys = itemKeys;
+        this.ignoreDamage = ignoreDamage;
+        this.itemCosts = itemCosts;
+        this.slowInputs = slowInputs;
+    }
+
+    /**
+     * @param items              Item inputs of the recipe.
+     * @param fluids             Fluid inputs of the recipe.
+     * @param combinedItemInputs Item inputs of the recipe, unified and merged by type.
+     */
+    public static CompiledRecipeInputs compile(ItemStack[] items, FluidStack[] fluids,
+        RecipeItemInput[] combinedItemInputs) {
+        Reference2LongLinkedOpenHashMap<Fluid> fluidCost = new Reference2LongLinkedOpenHashMap<>();
+        for (FluidStack fluid : fluids) {
+            if (fluid == null) continue;
+            fluidCost.addTo(fluid.getFluid(), fluid.amount);
+        }
+        Fluid[] fluidKeys = fluidCost.keySet()
+            .toArray(new Fluid[0]);
+        long[] fluidCosts = new long[fluidKeys.length];
+        for (int i = 0; i < fluidKeys.length; i++) {
+            fluidCosts[i] = fluidCost.getLong(fluidKeys[i]);
+        }
+
+        int count = combinedItemInputs.length;
+        long[] itemKeys = new long[count];
+        boolean[] ignoreDamage = new boolean[count];
+        long[] itemCosts = new long[count];
+        RecipeItemInput[] slowInputs = new RecipeItemInput[count];
+        for (int i = 0; i < count; i++) {
+            RecipeItemInput input = combinedItemInputs[i];
+            itemCosts[i] = input.inputAmount;
+            Item item = input.unifiedStack.getItem();
+            int damage = Items.feather.getDamage(input.unifiedStack);
+            if (input.usesNbtMatching || item == null) {
+                slowInputs[i] = input;
+            } else if (damage == WILDCARD) {
+                ignoreDamage[i] = true;
+                itemKeys[i] = Item.getIdFromItem(item);
+            } else if (RecipeInputSnapshot.isPackable(damage)) {
+                itemKeys[i] = RecipeLookupIndex.packItem(item, damage);
+            } else {
+                slowInputs[i] = input;
+            }
+        }
+        return new CompiledRecipeInputs(
+            items,
+            fluids,
+            fluidKeys,
+            fluidCosts,
+            itemKeys,
+            ignoreDamage,
+            itemCosts,
+            slowInputs);
+    }
+
+    /**
+     * @return Number of distinct item types the recipe requires, which is also the minimum number of provided item
+     *         slots.
+     */
+    public int getItemTypeCount() {
+        return hasItemInputs ? itemKeys.length : 0;
+    }
+
+    /**
+     * @return Whether this was compiled from the supplied input arrays.
+     */
+    public boolean isCompiledFrom(ItemStack[] items, FluidStack[] fluids) {
+        return sourceItems == items && sourceFluids == fluids;
+    }
+
+    /**
+     * Same as {@link GTRecipe#maxParallelCalculatedByInputs(int, FluidStack[], ItemStack...)}, the snapshot must be
+     * {@link RecipeInputSnapshot#isUsable usable}.
+     */
+    public double maxParallel(int maxParallel, RecipeInputSnapshot inputs) {
+        ItemStack[] providedItems = inputs.getItems();
+        if (hasItemInputs && providedItems == null) return 0;
+        if (hasFluidInputs && inputs.getFluids() == null) return 0;
+
+        double currentParallel = maxParallel;
+
+        if (hasFluidInputs) {
+            for (int i = 0; i < fluids.length; i++) {
+                if (fluidCosts[i] > 0) {
+                    currentParallel = Math
+                        .min(currentParallel, (double) inputs.getFluidAmount(fluids[i]) / fluidCosts[i]);
+                }
+                if (currentParallel <= 0) {
+                    return 0;
+                }
+            }
+        }
+
+        if (hasItemInputs) {
+            if (providedItems.length < itemKeys.length) {
+                // Fewer item types provided than required by the recipe, making it impossible to satisfy.
+                return 0;
+            }
+            for (int i = 0; i < itemKeys.length; i++) {
+                long providedAmount;
+                if (slowInputs[i] != null) {
+                    providedAmount = 0;
+                    for (ItemStack providedItem : providedItems) {
+                        if (providedItem == null) continue;
+                        ItemData providedUnifiedItem = slowInputs[i].usesNbtMatching ? null
+                            : GTOreDictUnificator.getAssociation(providedItem);
+                        if (slowInputs[i].matchesRecipe(providedUnifiedItem, providedItem)) {
+                            providedAmount += providedItem.stackSize;
+                        }
+                    }
+                } else if (ignoreDamage[i]) {
+                    providedAmount = inputs.getItemAmountIgnoringDamage((int) itemKeys[i]);
+                } else {
+                    providedAmount = inputs.getItemAmount(itemKeys[i]);
+                }
+
+                if (providedAmount >= itemCosts[i] * currentParallel) {
+                    continue;
+                }
+                if (providedAmount == 0) {
+                    return 0;
+                }
+                currentParallel = Math.min(currentParallel, (double) providedAmount / itemCosts[i]);
+            }
+        }
+        return currentParallel;
+    }
+}
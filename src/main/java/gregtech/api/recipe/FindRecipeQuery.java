@@ -1,5 +1,6 @@
 package gregtech.api.recipe;
 
+import java.util.Iterator;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -89,6 +90,33 @@ public final class FindRecipeQuery {
             .filter(recipe -> voltage * recipeMap.getAmperage() >= recipe.mEUt && filter.test(recipe));
     }
 
+    /**
+     * Allocation-free variant of {@link #findAll}. Matched recipes and their order are the same.
+     *
+     * @param cursor Cursor to reuse for this search. See {@link RecipeMatchCursor} for the restrictions.
+     * @return Supplied cursor, iterating all the matched recipes.
+     */
+    public Iterator<GTRecipe> iterate(RecipeMatchCursor cursor) {
+        if (items == null) {
+            items = new ItemStack[0];
+        }
+        if (fluids == null) {
+            fluids = new FluidStack[0];
+        }
+
+        return recipeMap.getBackend()
+            .matchRecipes(
+                cursor,
+                items,
+                fluids,
+                specialSlot,
+                cachedRecipe,
+                notUnificated,
+                dontCheckStackSizes,
+                forCollisionCheck)
+            .withFilter(voltage * recipeMap.getAmperage(), filter == ALWAYS ? null : filter);
+    }
+
     /**
      * Checks if given inputs conflict with already registered recipes.
      *
@@ -0,0 +1,177 @@
+package gregtech.api.recipe;
+
+import static gregtech.api.util.GTRecipeBuilder.WILDCARD;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.GregTechAPI;
+import gregtech.api.objects.ItemData;
+import gregtech.api.util.GTOreDictUnificator;
+import gregtech.api.util.GTUtility;
+import gregtech.api.util.MethodsReturnNonnullByDefault;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+
+/**
+ * Inputs of a machine aggregated by type, shared by all the candidate recipes tested in one recipe lookup. Items are
+ * resolved against the ore dictionary only once per lookup, instead of once per tested recipe.
+ * <p>
+ * Each provided stack is counted under the item and damage {@link GTOreDictUnificator#isInputStackEqual} would
+ * compare it by, i.e. its unification target, itself, or both if it's blacklisted from unification. Aggregation is
+ * done lazily when the first compiled recipe is tested against the snapshot.
+ * <p>
+ * The snapshot doesn't notice changes of the supplied stacks, so it must not outlive the lookup it was set up for.
+ * Not thread safe.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class RecipeInputSnapshot {
+
+    @Nullable
+    private FluidStack[] fluids;
+    @Nullable
+    private ItemStack[] items;
+    private boolean aggregated;
+    private boolean usable;
+
+    private final Reference2LongOpenHashMap<Fluid> fluidAmounts = new Reference2LongOpenHashMap<>();
+    private final Long2LongOpenHashMap itemAmounts = new Long2LongOpenHashMap();
+    private final Int2LongOpenHashMap itemAmountsIgnoringDamage = new Int2LongOpenHashMap();
+
+    /**
+     * Sets up the snapshot for a new lookup.
+     *
+     * @return This snapshot.
+     */
+    public RecipeInputSnapshot set(@Nullable FluidStack[] fluids, @Nullable ItemStack[] items) {
+        this.fluids = fluids;
+        this.items = items;
+        this.aggregated = false;
+        return this;
+    }
+
+    /**
+     * Releases the references to the inputs.
+     */
+    public void clear() {
+        set(null, null);
+    }
+
+    @Nullable
+    public FluidStack[] getFluids() {
+        return fluids;
+    }
+
+    @Nullable
+    public ItemStack[] getItems() {
+        return items;
+    }
+
+    /**
+     * @return False if the inputs can't be aggregated by type, e.g. because a stack has wildcard damage. Compiled
+     *         recipes must fall back to checking the stacks one by one then.
+     */
+    public boolean isUsable() {
+        if (!aggregated) {
+            aggregate();
+        }
+        return usable;
+    }
+
+    long getFluidAmount(Fluid fluid) {
+        return fluidAmounts.getLong(fluid);
+    }
+
+    long getItemAmount(long packedItem) {
+        return itemAmounts.get(packedItem);
+    }
+
+    long getItemAmountIgnoringDamage(int itemId) {
+        return itemAmountsIgnoringDamage.get(itemId);
+    }
+
+    private void aggregate() {
+        aggregated = true;
+        fluidAmounts.clear();
+        itemAmounts.clear();
+        itemAmountsIgnoringDamage.clear();
+        // The blacklist would still be written to while matching
+        usable = GregTechAPI.sUnificationEntriesRegistered;
+        if (!usable) return;
+
+        if (fluids != null) {
+            for (FluidStack fluid : fluids) {
+                if (fluid == null) continue;
+                fluidAmounts.addTo(fluid.getFluid(), fluid.amount);
+            }
+        }
+        if (items != null) {
+            for (ItemStack item : items) {
+                if (GTUtility.isStackInvalid(item)) continue;
+                if (!addItem(item)) {
+                    usable = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mirrors {@link GTOreDictUnificator#isInputStackEqual(ItemStack, ItemData, ItemStack)}.
+     *
+     * @return False if the stack can't be counted by type.
+     */
+    private boolean addItem(ItemStack item) {
+        ItemStack target = null;
+        boolean countSelf = true;
+        ItemData data = GTOreDictUnificator.getAssociation(item);
+        if (data != null) {
+            ItemStack unificationTarget = GTOreDictUnificator.getUnificationTarget(data);
+            if (!GTUtility.isStackInvalid(unificationTarget)) {
+                target = unificationTarget;
+                countSelf = data.mBlackListed;
+            }
+        }
+
+        int selfDamage = Items.feather.getDamage(item);
+        if (!isPackable(selfDamage)) return false;
+        long amount = item.stackSize;
+        long self = RecipeLookupIndex.packItem(item.getItem(), selfDamage);
+        if (target == null) {
+            itemAmounts.addTo(self, amount);
+            itemAmountsIgnoringDamage.addTo(Item.getIdFromItem(item.getItem()), amount);
+            return true;
+        }
+
+        int targetDamage = Items.feather.getDamage(target);
+        if (!isPackable(targetDamage)) return false;
+        long unified = RecipeLookupIndex.packItem(target.getItem(), targetDamage);
+        itemAmounts.addTo(unified, amount);
+        itemAmountsIgnoringDamage.addTo(Item.getIdFromItem(target.getItem()), amount);
+        if (countSelf) {
+            // a stack matching by both its own and its unified type still counts only once for each type
+            if (self != unified) {
+                itemAmounts.addTo(self, amount);
+            }
+            if (item.getItem() != target.getItem()) {
+                itemAmountsIgnoringDamage.addTo(Item.getIdFromItem(item.getItem()), amount);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wildcard damage matches any damage, and damage outside short range would be truncated by the packed key.
+     */
+    static boolean isPackable(int damage) {
+        return damage != WILDCARD && damage >= 0 && damage <= 0xFFFF;
+    }
+}
@@ -0,0 +1,197 @@
+package gregtech.api.recipe;
+
+import static gregtech.api.util.GTRecipeBuilder.WILDCARD;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+
+import com.google.common.collect.SetMultimap;
+
+import gregtech.api.objects.GTItemStack;
+import gregtech.api.util.GTRecipe;
+import gregtech.api.util.MethodsReturnNonnullByDefault;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+/**
+ * Primitive-keyed mirror of the item / fluid index of {@link RecipeMapBackend}, used by {@link RecipeMatchCursor}.
+ * <p>
+ * Items are keyed by their registry id and damage packed into a long, so looking up a bucket does not need to
+ * allocate a {@link GTItemStack} key. Buckets keep the insertion order of the multimaps they mirror, therefore
+ * iterating them yields recipes in exactly the same order as the stream based lookup.
+ * <p>
+ * Next to the recipes, buckets store what's needed to prune candidates without touching the recipe: its EU/t and how
+ * many distinct item and fluid types it requires. See {@link Bucket#hasEnoughInputs}.
+ * <p>
+ * Item ids can change on {@link cpw.mods.fml.common.event.FMLModIdMappingEvent}, so the owning backend drops this
+ * index whenever its keys could have become stale and rebuilds it on the next lookup.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+final class RecipeLookupIndex {
+
+    private final Long2ObjectOpenHashMap<Bucket> itemIndex = new Long2ObjectOpenHashMap<>();
+    private final Reference2ObjectOpenHashMap<Fluid, Bucket> fluidIndex = new Reference2ObjectOpenHashMap<>();
+
+    RecipeLookupIndex(SetMultimap<GTItemStack, GTRecipe> items, SetMultimap<String, GTRecipe> fluids) {
+        for (Map.Entry<GTItemStack, Collection<GTRecipe>> entry : items.asMap()
+            .entrySet()) {
+            GTItemStack key = entry.getKey();
+            if (key.mItem == null) continue;
+            for (GTRecipe recipe : entry.getValue()) {
+                addItem(key, recipe);
+            }
+        }
+        for (Map.Entry<String, Collection<GTRecipe>> entry : fluids.asMap()
+            .entrySet()) {
+            for (GTRecipe recipe : entry.getValue()) {
+                addFluid(entry.getKey(), recipe);
+            }
+        }
+    }
+
+    /**
+     * Packs item and damage into the key used by this index. Damage is truncated to short in the same way as
+     * {@link GTItemStack} does.
+     */
+    static long packItem(Item item, int damage) {
+        return ((long) Item.getIdFromItem(item) << 16) | (damage & 0xFFFF);
+    }
+
+    /**
+     * Mirrors a successful {@code put} on the item multimap of the backend.
+     */
+    void addItem(GTItemStack key, GTRecipe recipe) {
+        if (key.mItem == null) return;
+        long packed = packItem(key.mItem, key.mMetaData);
+        Bucket bucket = itemIndex.get(packed);
+        if (bucket == null) {
+            bucket = new Bucket();
+            itemIndex.put(packed, bucket);
+        }
+        bucket.add(recipe);
+    }
+
+    /**
+     * Mirrors a successful {@code put} on the fluid multimap of the backend.
+     */
+    void addFluid(String fluidName, GTRecipe recipe) {
+        Fluid fluid = FluidRegistry.getFluid(fluidName);
+        if (fluid == null) return;
+        Bucket bucket = fluidIndex.get(fluid);
+        if (bucket == null) {
+            bucket = new Bucket();
+            fluidIndex.put(fluid, bucket);
+        }
+        bucket.add(recipe);
+    }
+
+    boolean hasItems() {
+        return !itemIndex.isEmpty();
+    }
+
+    /**
+     * @param wildcard Whether to look up the bucket for wildcard damage instead of the actual damage of the stack.
+     * @return Recipes having the supplied item as an input, or null if there is none.
+     */
+    @Nullable
+    Bucket getItemBucket(ItemStack item, boolean wildcard) {
+        Item type = item.getItem();
+        if (type == null) return null;
+        return itemIndex.get(packItem(type, wildcard ? WILDCARD : (short) Items.feather.getDamage(item)));
+    }
+
+    /**
+     * @return Recipes having the supplied fluid as an input, or null if there is none.
+     */
+    @Nullable
+    Bucket getFluidBucket(FluidStack fluid) {
+        return fluidIndex.get(fluid.getFluid());
+    }
+
+    /**
+     * Recipes sharing an input, in insertion order, with their pruning data in parallel primitive arrays.
+     */
+    static final class Bucket {
+
+        private GTRecipe[] recipes = new GTRecipe[4];
+        private long[] eut = new long[4];
+        private int[] itemTypes = new int[4];
+        private int[] fluidTypes = new int[4];
+        private int size;
+
+        void add(GTRecipe recipe) {
+            if (size == recipes.length) {
+                int newLength = size * 2;
+                recipes = Arrays.copyOf(recipes, newLength);
+                eut = Arrays.copyOf(eut, newLength);
+                itemTypes = Arrays.copyOf(itemTypes, newLength);
+                fluidTypes = Arrays.copyOf(fluidTypes, newLength);
+            }
+            recipes[size] = recipe;
+            eut[size] = recipe.mEUt;
+            CompiledRecipeInputs compiled = recipe.getCompiledInputs();
+            // Before everything is loaded, item types aren't merged yet, so don't prune by them
+            itemTypes[size] = compiled == null ? 0 : compiled.getItemTypeCount();
+            fluidTypes[size] = countFluidTypes(recipe.mFluidInputs);
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        GTRecipe get(int i) {
+            return recipes[i];
+        }
+
+        /**
+         * Cheap check done before matching the inputs of the recipe. Recipes failing it can't match, as
+         * {@link GTRecipe#maxParallelCalculatedByInputs} would reject them anyway.
+         *
+         * @param itemSlots  Length of the provided item array.
+         * @param fluidCount Number of provided non-null fluid stacks.
+         */
+        boolean hasEnoughInputs(int i, int itemSlots, int fluidCount) {
+            return itemTypes[i] <= itemSlots && fluidTypes[i] <= fluidCount;
+        }
+
+        /**
+         * @return EU/t of the recipe as it was when added to the index.
+         */
+        long getEUt(int i) {
+            return eut[i];
+        }
+
+        /**
+         * @return Number of distinct fluids the recipe consumes a positive amount of. Each of them needs its own
+         *         provided stack.
+         */
+        private static int countFluidTypes(FluidStack[] fluids) {
+            int count = 0;
+            outer: for (int i = 0; i < fluids.length; i++) {
+                if (fluids[i] == null) continue;
+                long amount = 0;
+                for (int j = 0; j < fluids.length; j++) {
+                    if (fluids[j] == null || fluids[j].getFluid() != fluids[i].getFluid()) continue;
+                    // only count the first occurrence of each fluid
+                    if (j < i) continue outer;
+                    amount += fluids[j].amount;
+                }
+                if (amount > 0) count++;
+            }
+            return count;
+        }
+    }
+}
@@ -13,9 +13,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -57,6 +60,24 @@ public class RecipeMapBackend {
      * Recipe index based on fluids.
      */
     private final SetMultimap<String, GTRecipe> fluidIndex = LinkedHashMultimap.create();
+    /**
+     * Primitive-keyed mirror of {@link #itemIndex} and {@link #fluidIndex}, lazily built on the first lookup through
+     * {@link #matchRecipes}. Null means it needs to be rebuilt.
+     */
+    @Nullable
+    private RecipeLookupIndex lookupIndex;
+    /**
+     * Input sets known to match no recipe. Dropped whenever the recipes change.
+     */
+    private final RecipeMissCache missCache = new RecipeMissCache();
+    /**
+     * Searches shared between machines within the current tick. Dropped whenever the recipes change.
+     */
+    private final RecipeSearchBatch searchBatch = new RecipeSearchBatch();
+    /**
+     * Bumped whenever recipes are added or removed through this backend.
+     */
+    private int recipeGeneration;
 
     /**
      * All the recipes belonging to this backend, indexed by recipe category.
@@ -68,6 +89,30 @@ public class RecipeMapBackend {
      */
     protected final RecipeMapBackendProperties properties;
 
+    /**
+     * Whether a subclass overrides {@link #filterFindRecipe}, so it has to be called instead of matching against the
+     * aggregated inputs.
+     */
+    private final boolean overridesFilterFindRecipe = overrides(
+        getClass(),
+        "filterFindRecipe",
+        GTRecipe.class,
+        ItemStack[].class,
+        FluidStack[].class,
+        ItemStack.class,
+        boolean.class);
+    /**
+     * Whether a subclass overrides {@link #modifyFoundRecipe}, so found recipes might need other inputs or EU/t than
+     * indexed.
+     */
+    private final boolean overridesModifyFoundRecipe = overrides(
+        getClass(),
+        "modifyFoundRecipe",
+        GTRecipe.class,
+        ItemStack[].class,
+        FluidStack[].class,
+        ItemStack.class);
+
     public RecipeMapBackend(RecipeMapBackendPropertiesBuilder propertiesBuilder) {
         this.properties = propertiesBuilder.build();
         GregTechAPI.itemStackMultiMaps.add(itemIndex);
@@ -84,6 +129,33 @@ public class RecipeMapBackend {
         return properties;
     }
 
+    /**
+     * @return Cache of input sets known to match no recipe of this backend, as of the current recipes.
+     */
+    public RecipeMissCache getMissCache() {
+        missCache.checkRecipes(getRecipeStamp());
+        return missCache;
+    }
+
+    /**
+     * @return Value changing whenever recipes are added or removed, including changes of the recipe lists of
+     *         {@link #getRecipeCategoryMap} made without this backend.
+     */
+    public long getRecipeStamp() {
+        int count = 0;
+        for (Collection<GTRecipe> recipes : recipesByCategory.values()) {
+            count += recipes.size();
+        }
+        return (long) recipeGeneration << 32 | (count & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return Searches of this backend shared between machines within the current tick.
+     */
+    public RecipeSearchBatch getSearchBatch() {
+        return searchBatch;
+    }
+
     /**
      * @return All the recipes belonging to this backend. Returned collection is immutable,
      *         use {@link #compileRecipe} to add / {@link #removeRecipes} to remove.
@@ -128,14 +200,19 @@ public class RecipeMapBackend {
         if (recipe.getRecipeCategory() == null) {
             recipe.setRecipeCategory(recipeMap.getDefaultRecipeCategory());
         }
+        recipeGeneration++;
+        missCache.clear();
+        searchBatch.clear();
+        recipe.getCompiledInputs();
         recipesByCategory.computeIfAbsent(recipe.getRecipeCategory(), v -> new ArrayList<>())
             .add(recipe);
         for (FluidStack fluid : recipe.mFluidInputs) {
             if (fluid == null) continue;
-            fluidIndex.put(
-                fluid.getFluid()
-                    .getName(),
-                recipe);
+            String fluidName = fluid.getFluid()
+                .getName();
+            if (fluidIndex.put(fluidName, recipe) && lookupIndex != null) {
+                lookupIndex.addFluid(fluidName, recipe);
+            }
         }
         return addToItemMap(recipe);
     }
@@ -146,20 +223,26 @@ public class RecipeMapBackend {
     protected GTRecipe addToItemMap(GTRecipe recipe) {
         for (ItemStack item : recipe.mInputs) {
             if (item == null) continue;
-            itemIndex.put(new GTItemStack(item), recipe);
+            putItemIndex(new GTItemStack(item), recipe);
         }
         if (recipe instanceof GTRecipe.GTRecipe_WithAlt recipeWithAlt) {
             for (ItemStack[] itemStacks : recipeWithAlt.mOreDictAlt) {
                 if (itemStacks == null) continue;
                 for (ItemStack item : itemStacks) {
                     if (item == null) continue;
-                    itemIndex.put(new GTItemStack(item), recipe);
+                    putItemIndex(new GTItemStack(item), recipe);
                 }
             }
         }
         return recipe;
     }
 
+    private void putItemIndex(GTItemStack key, GTRecipe recipe) {
+        if (itemIndex.put(key, recipe) && lookupIndex != null) {
+            lookupIndex.addItem(key, recipe);
+        }
+    }
+
     /**
      * Builds recipe from supplied recipe builder and adds it.
      */
@@ -240,6 +323,10 @@ public class RecipeMapBackend {
             fluidIndex.get(key)
                 .removeAll(recipesToRemove);
         }
+        invalidateLookupIndex();
+        recipeGeneration++;
+        missCache.clear();
+        searchBatch.clear();
     }
 
     /**
@@ -254,6 +341,9 @@ public class RecipeMapBackend {
      */
     public void clearRecipes() {
         recipesByCategory.clear();
+        recipeGeneration++;
+        missCache.clear();
+        searchBatch.clear();
     }
 
     // endregion
@@ -263,6 +353,10 @@ public class RecipeMapBackend {
      */
     public void reInit() {
         itemIndex.clear();
+        invalidateLookupIndex();
+        recipeGeneration++;
+        missCache.clear();
+        searchBatch.clear();
         for (GTRecipe recipe : allRecipes()) {
             GTOreDictUnificator.setStackArray(true, true, recipe.mInputs);
             GTOreDictUnificator.setStackArray(true, true, recipe.mOutputs);
@@ -270,6 +364,26 @@ public class RecipeMapBackend {
         }
     }
 
+    /**
+     * Drops the primitive lookup index and the compiled recipe inputs, so they will be rebuilt on the next lookup.
+     * Needs to be called when item ids are remapped.
+     */
+    public void invalidateLookupIndex() {
+        lookupIndex = null;
+        for (Collection<GTRecipe> recipes : recipesByCategory.values()) {
+            for (GTRecipe recipe : recipes) {
+                recipe.invalidateCompiledInputs();
+            }
+        }
+    }
+
+    private RecipeLookupIndex getLookupIndex() {
+        if (lookupIndex == null) {
+            lookupIndex = new RecipeLookupIndex(itemIndex, fluidIndex);
+        }
+        return lookupIndex;
+    }
+
     /**
      * @return If supplied item is a valid input for any of the recipes
      */
@@ -355,26 +469,25 @@ public class RecipeMapBackend {
             return Stream.empty();
         }
 
-        // Some recipe classes require a certain amount of inputs of certain kinds. Like "at least 1 fluid + 1 item"
-        // or "at least 2 items" before they start searching for recipes.
-        // This improves performance massively, especially when people leave things like programmed circuits,
-        // molds or shapes in their machines.
-        // For checking collision, we assume min inputs check already has been passed as of building the recipe.
-        if (!forCollisionCheck) {
-            if (properties.minFluidInputs > 0) {
-                int count = 0;
-                for (FluidStack fluid : fluids) if (fluid != null) count++;
-                if (count < properties.minFluidInputs) {
-                    return Stream.empty();
-                }
-            }
-            if (properties.minItemInputs > 0) {
-                int count = 0;
-                for (ItemStack item : rawItems) if (item != null) count++;
-                if (count < properties.minItemInputs) {
-                    return Stream.empty();
-                }
-            }
+        if (!forCollisionCheck && !hasEnoughInputs(rawItems, fluids)) {
+            return Stream.empty();
+        }
+
+        // Collision check runs while recipes are still being added, so it keeps using the multimaps instead of
+        // building the lookup index early.
+        if (properties.indexedLookup && !forCollisionCheck) {
+            RecipeMatchCursor cursor = matchRecipes(
+                new RecipeMatchCursor(),
+                rawItems,
+                fluids,
+                specialSlot,
+                cachedRecipe,
+                notUnificated,
+                dontCheckStackSizes,
+                false);
+            return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
         }
 
         ItemStack[] items;
@@ -385,11 +498,12 @@ public class RecipeMapBackend {
             items = rawItems;
         }
 
+        RecipeInputSnapshot inputs = new RecipeInputSnapshot().set(fluids, items);
         return Stream.<Stream<GTRecipe>>of(
             // Check the recipe which has been used last time in order to not have to search for it again, if possible.
             GTStreamUtil.ofNullable(cachedRecipe)
                 .filter(recipe -> recipe.mCanBeBuffered)
-                .filter(recipe -> filterFindRecipe(recipe, items, fluids, specialSlot, dontCheckStackSizes))
+                .filter(recipe -> filterFindRecipe(recipe, inputs, items, fluids, specialSlot, dontCheckStackSizes))
                 .map(recipe -> modifyFoundRecipe(recipe, items, fluids, specialSlot))
                 .filter(Objects::nonNull),
             // Now look for the recipes inside the item index, but only when the recipes actually can have items inputs.
@@ -398,7 +512,7 @@ public class RecipeMapBackend {
                 .flatMap(item -> Stream.of(new GTItemStack(item), new GTItemStack(item, true)))
                 .map(itemIndex::get)
                 .flatMap(Collection::stream)
-                .filter(recipe -> filterFindRecipe(recipe, items, fluids, specialSlot, dontCheckStackSizes))
+                .filter(recipe -> filterFindRecipe(recipe, inputs, items, fluids, specialSlot, dontCheckStackSizes))
                 .map(recipe -> modifyFoundRecipe(recipe, items, fluids, specialSlot))
                 .filter(Objects::nonNull),
             // If the minimum amount of items required for the recipes is 0, then it could match to fluid-only recipes,
@@ -410,7 +524,7 @@ public class RecipeMapBackend {
                         fluidStack.getFluid()
                             .getName()))
                 .flatMap(Collection::stream)
-                .filter(recipe -> filterFindRecipe(recipe, items, fluids, specialSlot, dontCheckStackSizes))
+                .filter(recipe -> filterFindRecipe(recipe, inputs, items, fluids, specialSlot, dontCheckStackSizes))
                 .map(recipe -> modifyFoundRecipe(recipe, items, fluids, specialSlot))
                 .filter(Objects::nonNull),
             // Lastly, find fallback.
@@ -420,6 +534,64 @@ public class RecipeMapBackend {
             .flatMap(Function.identity());
     }
 
+    /**
+     * Same as {@link #matchRecipeStream}, but iterates {@link RecipeLookupIndex} with the supplied cursor instead of
+     * building a stream, so the lookup itself doesn't allocate unless {@code notUnificated} is set.
+     *
+     * @param cursor Cursor to reuse. It's reset and returned.
+     * @return Supplied cursor, iterating the matched recipes.
+     */
+    RecipeMatchCursor matchRecipes(RecipeMatchCursor cursor, ItemStack[] rawItems, FluidStack[] fluids,
+        @Nullable ItemStack specialSlot, @Nullable GTRecipe cachedRecipe, boolean notUnificated,
+        boolean dontCheckStackSizes, boolean forCollisionCheck) {
+        if (doesOverwriteFindRecipe()) {
+            cursor.resetSingle(overwriteFindRecipe(rawItems, fluids, specialSlot, cachedRecipe));
+            return cursor;
+        }
+
+        if (recipesByCategory.isEmpty() || (!forCollisionCheck && !hasEnoughInputs(rawItems, fluids))) {
+            cursor.clear();
+            return cursor;
+        }
+
+        ItemStack[] items = notUnificated ? GTOreDictUnificator.getStackArray(true, (Object[]) rawItems) : rawItems;
+        cursor.reset(
+            this,
+            getLookupIndex(),
+            items,
+            fluids,
+            specialSlot,
+            cachedRecipe,
+            dontCheckStackSizes,
+            forCollisionCheck);
+        return cursor;
+    }
+
+    /**
+     * Some recipe classes require a certain amount of inputs of certain kinds. Like "at least 1 fluid + 1 item"
+     * or "at least 2 items" before they start searching for recipes.
+     * This improves performance massively, especially when people leave things like programmed circuits,
+     * molds or shapes in their machines.
+     * For checking collision, we assume min inputs check already has been passed as of building the recipe.
+     */
+    private boolean hasEnoughInputs(ItemStack[] items, FluidStack[] fluids) {
+        if (properties.minFluidInputs > 0) {
+            int count = 0;
+            for (FluidStack fluid : fluids) if (fluid != null) count++;
+            if (count < properties.minFluidInputs) {
+                return false;
+            }
+        }
+        if (properties.minItemInputs > 0) {
+            int count = 0;
+            for (ItemStack item : items) if (item != null) count++;
+            if (count < properties.minItemInputs) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * The minimum filter required for recipe match logic. You can override this to have custom validation.
      * <p>
@@ -437,6 +609,50 @@ public class RecipeMapBackend {
         return false;
     }
 
+    /**
+     * Same as {@link #filterFindRecipe(GTRecipe, ItemStack[], FluidStack[], ItemStack, boolean)}, but matches the
+     * inputs aggregated by type once per search instead of scanning them for every recipe. Calls the former if a
+     * subclass overrides it.
+     */
+    final boolean filterFindRecipe(GTRecipe recipe, RecipeInputSnapshot inputs, ItemStack[] items,
+        FluidStack[] fluids, @Nullable ItemStack specialSlot, boolean dontCheckStackSizes) {
+        if (overridesFilterFindRecipe) return filterFindRecipe(recipe, items, fluids, specialSlot, dontCheckStackSizes);
+        // Special slot first, it's much cheaper than matching the inputs
+        return recipe.mEnabled && !recipe.mFakeRecipe
+            && (!properties.specialSlotSensitive
+                || areStacksEqualOrNull((ItemStack) recipe.mSpecialItems, specialSlot))
+            && isRecipeInputEqual(recipe, inputs, dontCheckStackSizes);
+    }
+
+    /**
+     * @return Whether indexed recipes may be skipped by their EU/t and number of input types before they are matched.
+     *         Not the case if a subclass filters or modifies found recipes on its own, as it might accept or return
+     *         recipes which don't fit the index.
+     */
+    boolean canPruneCandidates() {
+        return !overridesFilterFindRecipe && !overridesModifyFoundRecipe;
+    }
+
+    private static boolean overrides(Class<?> type, String name, Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != RecipeMapBackend.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException ignored) {}
+        }
+        return false;
+    }
+
+    /**
+     * Same as {@link GTRecipe#isRecipeInputEqual(boolean, boolean, FluidStack[], ItemStack...)} without consuming the
+     * inputs.
+     */
+    private static boolean isRecipeInputEqual(GTRecipe recipe, RecipeInputSnapshot inputs,
+        boolean dontCheckStackSizes) {
+        double maxParallel = recipe.maxParallelCalculatedByInputs(1, inputs);
+        return dontCheckStackSizes ? maxParallel > 0 : maxParallel >= 1;
+    }
+
     // endregion
 
     @FunctionalInterface
@@ -37,6 +37,12 @@ public final class RecipeMapBackendProperties {
      */
     public final boolean specialSlotSensitive;
 
+    /**
+     * Whether recipe search should walk the primitive-keyed lookup index instead of the stream based lookup.
+     * Yields the same recipes in the same order, but without allocating lookup keys.
+     */
+    public final boolean indexedLookup;
+
     /**
      * Changes how recipes are emitted by a particular recipe builder.
      */
@@ -48,7 +54,7 @@ public final class RecipeMapBackendProperties {
     private Consumer<? super GTRecipe> recipeTransformer;
 
     RecipeMapBackendProperties(int minItemInputs, int minFluidInputs, boolean specialSlotSensitive,
-        Function<? super GTRecipeBuilder, ? extends Iterable<? extends GTRecipe>> recipeEmitter,
+        boolean indexedLookup, Function<? super GTRecipeBuilder, ? extends Iterable<? extends GTRecipe>> recipeEmitter,
         @Nullable Consumer<? super GTRecipeBuilder> builderTransformer,
         @Nullable Consumer<? super GTRecipe> recipeTransformer) {
         if (minItemInputs < 0 || minFluidInputs < 0) {
@@ -57,6 +63,7 @@ public final class RecipeMapBackendProperties {
         this.minItemInputs = minItemInputs;
         this.minFluidInputs = minFluidInputs;
         this.specialSlotSensitive = specialSlotSensitive;
+        this.indexedLookup = indexedLookup;
         this.recipeEmitter = recipeEmitter;
         this.builderTransformer = builderTransformer;
         this.recipeTransformer = recipeTransformer;
@@ -110,6 +110,15 @@ public final class RecipeMapBuilder<B extends RecipeMapBackend> {
         return this;
     }
 
+    /**
+     * Whether this recipemap should search recipes through the primitive-keyed lookup index, which doesn't allocate
+     * while searching. Matched recipes and their order are the same as the default lookup.
+     */
+    public RecipeMapBuilder<B> indexedLookup() {
+        backendPropertiesBuilder.indexedLookup();
+        return this;
+    }
+
     /**
      * Transformer which allows you to modify the recipe builder before it emits recipes.
      * <br>
@@ -846,6 +846,7 @@ public final class RecipeMaps {
     public static final RecipeMap<RecipeMapBackend> multiblockChemicalReactorRecipes = RecipeMapBuilder
         .of("gt.recipe.largechemicalreactor")
         .maxIO(6, 6, 6, 6)
+        .indexedLookup()
         .progressBar(GTUITextures.PROGRESSBAR_ARROW_MULTIPLE)
         .frontend(LargeNEIFrontend::new)
         .build();
@@ -921,6 +922,7 @@ public final class RecipeMaps {
         .of("gt.recipe.assembler", AssemblerBackend::new)
         .maxIO(9, 1, 1, 0)
         .minInputs(1, 0)
+        .indexedLookup()
         .slotOverlays(
             (index, isFluid, isOutput, isSpecial) -> !isFluid && !isOutput ? GTUITextures.OVERLAY_SLOT_CIRCUIT : null)
         .progressBar(GTUITextures.PROGRESSBAR_ASSEMBLE)
@@ -0,0 +1,292 @@
+package gregtech.api.recipe;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.util.GTRecipe;
+import gregtech.api.util.MethodsReturnNonnullByDefault;
+
+/**
+ * Reusable, lazily evaluated iterator over the recipes matching a set of inputs. Yields exactly the same recipes in
+ * the same order as {@link RecipeMapBackend#matchRecipeStream}, but walks the primitive {@link RecipeLookupIndex}
+ * instead of building a stream pipeline, so a lookup doesn't allocate anything.
+ * <p>
+ * Hold one instance per caller (e.g. per {@link gregtech.api.logic.ProcessingLogic}) and pass it to
+ * {@link FindRecipeQuery#iterate} for every search. An instance must not be shared between threads, nor used for
+ * another search while iterating the results of the previous one.
+ * <p>
+ * Indexed recipes are pruned before their inputs are matched if they need more item or fluid types than provided, or
+ * more EU/t than allowed. Backends overriding {@link RecipeMapBackend#filterFindRecipe} or
+ * {@link RecipeMapBackend#modifyFoundRecipe} see every candidate, as they might accept or return other recipes.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class RecipeMatchCursor implements Iterator<GTRecipe> {
+
+    private static final ItemStack[] NO_ITEMS = new ItemStack[0];
+    private static final FluidStack[] NO_FLUIDS = new FluidStack[0];
+
+    private static final int PHASE_CACHED = 0;
+    private static final int PHASE_ITEMS = 1;
+    private static final int PHASE_FLUIDS = 2;
+    private static final int PHASE_FALLBACK = 3;
+    private static final int PHASE_DONE = 4;
+
+    @Nullable
+    private RecipeMapBackend backend;
+    @Nullable
+    private RecipeLookupIndex index;
+    private ItemStack[] items = NO_ITEMS;
+    private FluidStack[] fluids = NO_FLUIDS;
+    @Nullable
+    private ItemStack specialSlot;
+    @Nullable
+    private GTRecipe cachedRecipe;
+    private boolean dontCheckStackSizes;
+    private boolean forCollisionCheck;
+    private final RecipeInputSnapshot inputs = new RecipeInputSnapshot();
+
+    private int fluidCount;
+    private boolean prune;
+
+    private long maxEUt = Long.MAX_VALUE;
+    private long pruneEUt = Long.MAX_VALUE;
+    private boolean prunedByEUt;
+    private long prunedEUt;
+    @Nullable
+    private Predicate<GTRecipe> filter;
+
+    private int phase = PHASE_DONE;
+    private int inputIndex;
+    private boolean wildcardPass;
+    @Nullable
+    private RecipeLookupIndex.Bucket bucket;
+    private int bucketPos;
+    @Nullable
+    private GTRecipe next;
+
+    /**
+     * Starts a new search. Called by {@link RecipeMapBackend}.
+     */
+    void reset(RecipeMapBackend backend, RecipeLookupIndex index, ItemStack[] items, FluidStack[] fluids,
+        @Nullable ItemStack specialSlot, @Nullable GTRecipe cachedRecipe, boolean dontCheckStackSizes,
+        boolean forCollisionCheck) {
+        this.backend = backend;
+        this.index = index;
+        this.items = items;
+        this.fluids = fluids;
+        this.specialSlot = specialSlot;
+        this.cachedRecipe = cachedRecipe;
+        this.dontCheckStackSizes = dontCheckStackSizes;
+        this.forCollisionCheck = forCollisionCheck;
+        this.inputs.set(fluids, items);
+        this.fluidCount = countNonNull(fluids);
+        this.prune = backend.canPruneCandidates();
+        this.maxEUt = Long.MAX_VALUE;
+        this.pruneEUt = Long.MAX_VALUE;
+        this.prunedByEUt = false;
+        this.prunedEUt = 0;
+        this.filter = null;
+        this.phase = PHASE_CACHED;
+        this.inputIndex = 0;
+        this.wildcardPass = false;
+        this.bucket = null;
+        this.bucketPos = 0;
+        this.next = null;
+    }
+
+    /**
+     * Starts a new search that yields at most the supplied recipe. Used for backends overwriting find recipe logic.
+     */
+    void resetSingle(@Nullable GTRecipe recipe) {
+        clear();
+        this.prunedByEUt = false;
+        this.next = recipe;
+    }
+
+    /**
+     * Ends the search and releases all the references to the inputs.
+     */
+    void clear() {
+        this.backend = null;
+        this.index = null;
+        this.items = NO_ITEMS;
+        this.fluids = NO_FLUIDS;
+        this.specialSlot = null;
+        this.cachedRecipe = null;
+        this.inputs.clear();
+        this.maxEUt = Long.MAX_VALUE;
+        this.pruneEUt = Long.MAX_VALUE;
+        this.filter = null;
+        this.phase = PHASE_DONE;
+        this.bucket = null;
+        this.next = null;
+    }
+
+    /**
+     * Applies the checks {@link FindRecipeQuery} does on top of the backend matching.
+     *
+     * @param maxEUt Recipes requiring more than this EU/t are skipped.
+     * @param filter Additional filter for the matched recipes, or null for none.
+     */
+    RecipeMatchCursor withFilter(long maxEUt, @Nullable Predicate<GTRecipe> filter) {
+        this.maxEUt = maxEUt;
+        this.filter = filter;
+        if (next != null && !accept(next)) {
+            next = null;
+        }
+        return this;
+    }
+
+    /**
+     * Skips indexed recipes requiring more than the supplied EU/t without matching their inputs. Unlike the limit of
+     * {@link #withFilter}, this is meant for callers rejecting such recipes on their own later, and can be checked
+     * with {@link #hasPrunedByEUt} to find out whether their rejection has been skipped.
+     */
+    public RecipeMatchCursor pruneAboveEUt(long pruneEUt) {
+        this.pruneEUt = pruneEUt;
+        return this;
+    }
+
+    /**
+     * @return Whether the current search has skipped a recipe with matching inputs only because of the limit set by
+     *         {@link #pruneAboveEUt}. Remains valid after the search has been exhausted.
+     */
+    public boolean hasPrunedByEUt() {
+        return prunedByEUt;
+    }
+
+    /**
+     * @return EU/t of the first recipe counted by {@link #hasPrunedByEUt}.
+     */
+    public long getPrunedEUt() {
+        return prunedEUt;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && phase != PHASE_DONE) {
+            next = advance();
+            if (next == null) {
+                clear();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public GTRecipe next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        GTRecipe recipe = next;
+        next = null;
+        return recipe;
+    }
+
+    @Nullable
+    private GTRecipe advance() {
+        while (true) {
+            if (bucket != null) {
+                int size = bucket.size();
+                int itemSlots = items.length;
+                while (bucketPos < size) {
+                    int i = bucketPos++;
+                    if (prune) {
+                        if (!bucket.hasEnoughInputs(i, itemSlots, fluidCount)) continue;
+                        long eut = bucket.getEUt(i);
+                        if (eut > maxEUt) continue;
+                        if (eut > pruneEUt) {
+                            // Only the first one is matched, that's enough to tell whether power is missing
+                            if (!prunedByEUt && match(bucket.get(i)) != null) {
+                                prunedByEUt = true;
+                                prunedEUt = eut;
+                            }
+                            continue;
+                        }
+                    }
+                    GTRecipe found = match(bucket.get(i));
+                    if (found != null) return found;
+                }
+                bucket = null;
+            }
+            switch (phase) {
+                case PHASE_CACHED -> {
+                    // Check the recipe which has been used last time in order to not have to search for it again
+                    phase = PHASE_ITEMS;
+                    if (cachedRecipe != null && cachedRecipe.mCanBeBuffered) {
+                        GTRecipe found = match(cachedRecipe);
+                        if (found != null) return found;
+                    }
+                }
+                case PHASE_ITEMS -> {
+                    if (!index.hasItems() || inputIndex >= items.length) {
+                        phase = PHASE_FLUIDS;
+                        inputIndex = 0;
+                        continue;
+                    }
+                    ItemStack item = items[inputIndex];
+                    if (item == null) {
+                        inputIndex++;
+                        continue;
+                    }
+                    // exact damage first, then wildcard, same as the stream lookup
+                    bucket = index.getItemBucket(item, wildcardPass);
+                    bucketPos = 0;
+                    if (wildcardPass) {
+                        inputIndex++;
+                    }
+                    wildcardPass = !wildcardPass;
+                }
+                case PHASE_FLUIDS -> {
+                    // Fluid-only recipes can only match if the recipes don't require any item
+                    if (backend.properties.minItemInputs != 0 || inputIndex >= fluids.length) {
+                        phase = PHASE_FALLBACK;
+                        continue;
+                    }
+                    FluidStack fluid = fluids[inputIndex++];
+                    if (fluid != null) {
+                        bucket = index.getFluidBucket(fluid);
+                        bucketPos = 0;
+                    }
+                }
+                case PHASE_FALLBACK -> {
+                    phase = PHASE_DONE;
+                    if (!forCollisionCheck) {
+                        GTRecipe fallback = backend.findFallback(items, fluids, specialSlot);
+                        if (fallback != null && accept(fallback)) return fallback;
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private GTRecipe match(GTRecipe recipe) {
+        if (!backend.filterFindRecipe(recipe, inputs, items, fluids, specialSlot, dontCheckStackSizes)) return null;
+        GTRecipe modified = backend.modifyFoundRecipe(recipe, items, fluids, specialSlot);
+        return modified != null && accept(modified) ? modified : null;
+    }
+
+    private static int countNonNull(FluidStack[] fluids) {
+        int count = 0;
+        for (FluidStack fluid : fluids) {
+            if (fluid != null) count++;
+        }
+        return count;
+    }
+
+    private boolean accept(GTRecipe recipe) {
+        return maxEUt >= recipe.mEUt && (filter == null || filter.test(recipe));
+    }
+}
@@ -0,0 +1,120 @@
+package gregtech.api.recipe;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.util.MethodsReturnNonnullByDefault;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * Remembers input sets that are known not to match any recipe of a recipemap, so machines polling with unchanged
+ * inputs don't repeat the whole search.
+ * <p>
+ * Inputs are identified by an order-insensitive 64-bit fingerprint of items (item, damage, amount, NBT), fluids
+ * (fluid, amount, NBT), special slot and voltage tier. Any change of the inputs changes the fingerprint, so an entry
+ * simply stops being hit once the machine receives something new. The whole cache is dropped whenever recipes of the
+ * backend are added, removed or reinitialized, or {@link RecipeMapBackend#getRecipeStamp} changes otherwise.
+ * <p>
+ * Only accessed from the server thread.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class RecipeMissCache {
+
+    /**
+     * Upper bound of remembered misses. Once reached, the cache starts over.
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    private final LongOpenHashSet misses = new LongOpenHashSet();
+    private long recipeStamp;
+
+    /**
+     * @return Whether search with inputs of the supplied fingerprint is known to find nothing.
+     */
+    public boolean isKnownMiss(long fingerprint) {
+        return misses.contains(fingerprint);
+    }
+
+    /**
+     * Records that search with inputs of the supplied fingerprint found nothing.
+     */
+    public void recordMiss(long fingerprint) {
+        if (misses.size() >= MAX_ENTRIES) {
+            misses.clear();
+        }
+        misses.add(fingerprint);
+    }
+
+    public void clear() {
+        misses.clear();
+    }
+
+    /**
+     * Drops all the misses if the recipes have changed since they were recorded.
+     *
+     * @param recipeStamp {@link RecipeMapBackend#getRecipeStamp} of the current recipes.
+     */
+    public void checkRecipes(long recipeStamp) {
+        if (this.recipeStamp != recipeStamp) {
+            misses.clear();
+            this.recipeStamp = recipeStamp;
+        }
+    }
+
+    public int size() {
+        return misses.size();
+    }
+
+    /**
+     * Computes order-insensitive fingerprint of the inputs. Null entries are ignored.
+     */
+    public static long fingerprint(ItemStack[] items, FluidStack[] fluids, @Nullable ItemStack specialSlot,
+        int voltageTier) {
+        long hash = mix(0x5DEECE66DL + voltageTier);
+        for (ItemStack item : items) {
+            if (item == null) continue;
+            hash += hashItem(item);
+        }
+        for (FluidStack fluid : fluids) {
+            if (fluid == null) continue;
+            long fluidHash = mix(mix(fluid.getFluidID()) ^ fluid.amount);
+            if (fluid.tag != null) {
+                fluidHash = mix(fluidHash ^ fluid.tag.hashCode());
+            }
+            hash += fluidHash;
+        }
+        if (specialSlot != null) {
+            // rotated so that the special slot doesn't collide with the same stack in the input slots
+            hash += Long.rotateLeft(hashItem(specialSlot), 17);
+        }
+        return mix(hash);
+    }
+
+    private static long hashItem(ItemStack item) {
+        Item type = item.getItem();
+        long itemHash = mix(((long) (type == null ? -1 : Item.getIdFromItem(type)) << 16)
+            | (Items.feather.getDamage(item) & 0xFFFF));
+        itemHash = mix(itemHash ^ item.stackSize);
+        if (item.getTagCompound() != null) {
+            itemHash = mix(
+                itemHash ^ item.getTagCompound()
+                    .hashCode());
+        }
+        return itemHash;
+    }
+
+    /**
+     * Finalizer of SplitMix64, spreads bits of the input over the whole long.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,108 @@
+package gregtech.api.recipe;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import gregtech.api.util.GTRecipe;
+import gregtech.api.util.MethodsReturnNonnullByDefault;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Shares recipe searches between machines looking up the same inputs on the same recipemap within one server tick.
+ * <p>
+ * The first machine searching some inputs records the recipes its search yields. Every other machine searching the
+ * same inputs (by {@link RecipeMissCache#fingerprint}) with the same cached recipe in the same tick gets these
+ * candidates instead of searching again, and only runs its own checks of parallels, power and outputs on them. If all
+ * the recorded candidates are rejected before the first search was exhausted, the machine has to search on its own.
+ * <p>
+ * Everything is dropped on the next tick, so recipe changes and changed inputs never see stale candidates. Only
+ * accessed from the server thread.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class RecipeSearchBatch {
+
+    private static long currentTick;
+
+    private final Long2ObjectOpenHashMap<Search> searches = new Long2ObjectOpenHashMap<>();
+    private long tick = -1;
+
+    /**
+     * Starts a new batch for all the recipemaps. Called at the start of every server tick.
+     */
+    public static void onServerTick() {
+        currentTick++;
+    }
+
+    /**
+     * @return The search of the supplied inputs started by another machine this tick, or null if there's none.
+     */
+    @Nullable
+    public Search get(long inputFingerprint, @Nullable GTRecipe cachedRecipe) {
+        if (tick != currentTick) {
+            return null;
+        }
+        Search search = searches.get(inputFingerprint);
+        return search != null && search.cachedRecipe == cachedRecipe ? search : null;
+    }
+
+    /**
+     * Starts recording a search, so other machines can reuse it this tick.
+     */
+    public Search start(long inputFingerprint, @Nullable GTRecipe cachedRecipe) {
+        if (tick != currentTick) {
+            searches.clear();
+            tick = currentTick;
+        }
+        Search search = new Search(cachedRecipe);
+        searches.put(inputFingerprint, search);
+        return search;
+    }
+
+    public void clear() {
+        searches.clear();
+    }
+
+    public static final class Search {
+
+        @Nullable
+        private final GTRecipe cachedRecipe;
+        private final ObjectArrayList<GTRecipe> candidates = new ObjectArrayList<>();
+        private boolean complete;
+
+        private Search(@Nullable GTRecipe cachedRecipe) {
+            this.cachedRecipe = cachedRecipe;
+        }
+
+        /**
+         * Records the next recipe yielded by the search.
+         */
+        public void add(GTRecipe recipe) {
+            candidates.add(recipe);
+        }
+
+        /**
+         * Records that the search has yielded all the matching recipes.
+         */
+        public void complete() {
+            complete = true;
+        }
+
+        /**
+         * @return Recipes the search has yielded so far, in order.
+         */
+        public List<GTRecipe> getCandidates() {
+            return candidates;
+        }
+
+        /**
+         * @return Whether {@link #getCandidates} are all the recipes matching the inputs.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+}
@@ -6,82 +6,55 @@ import net.minecraftforge.common.util.ForgeDirection;
 
 import com.gtnewhorizon.gtnhlib.util.CoordinatePacker;
 
-import gregtech.GTMod;
-import gregtech.api.interfaces.tileentity.IMachineBlockUpdateable;
 import gregtech.api.metatileentity.BaseMetaPipeEntity;
 import gregtech.api.metatileentity.implementations.MTECable;
-import gregtech.common.GTProxy;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 public class RunnableCableUpdate extends RunnableMachineUpdate {
 
-    protected RunnableCableUpdate(World aWorld, int posX, int posY, int posZ) {
-        super(aWorld, posX, posY, posZ);
+    protected RunnableCableUpdate(World aWorld, LongSet aOrigins) {
+        super(aWorld, aOrigins);
     }
 
     public static void setCableUpdateValues(World aWorld, int posX, int posY, int posZ) {
         if (isEnabled) {
-            EXECUTOR_SERVICE.submit(new RunnableCableUpdate(aWorld, posX, posY, posZ));
+            addPendingUpdate(true, aWorld, posX, posY, posZ);
         }
     }
 
     @Override
-    public void run() {
-        int posX, posY, posZ;
-        try {
-            while (!tQueue.isEmpty()) {
-                final long packedCoords = tQueue.dequeueLong();
-                posX = CoordinatePacker.unpackX(packedCoords);
-                posY = CoordinatePacker.unpackY(packedCoords);
-                posZ = CoordinatePacker.unpackZ(packedCoords);
-
-                final TileEntity tTileEntity;
-
-                GTProxy.TICK_LOCK.lock();
-                try {
-                    // we dont want to go over cables that are in unloaded chunks
-                    // keeping the lock just to make sure no CME happens
-                    if (world.blockExists(posX, posY, posZ)) {
-                        tTileEntity = world.getTileEntity(posX, posY, posZ);
-                    } else {
-                        tTileEntity = null;
-                    }
-                } finally {
-                    GTProxy.TICK_LOCK.unlock();
-                }
+    protected TileEntity getTileEntity(int posX, int posY, int posZ) {
+        // we dont want to go over cables that are in unloaded chunks
+        // keeping the lock just to make sure no CME happens
+        return world.blockExists(posX, posY, posZ) ? world.getTileEntity(posX, posY, posZ) : null;
+    }
 
-                // See if the block itself needs an update
-                if (tTileEntity instanceof IMachineBlockUpdateable)
-                    ((IMachineBlockUpdateable) tTileEntity).onMachineBlockUpdate();
+    @Override
+    protected boolean isMachineBlock(int posX, int posY, int posZ) {
+        return false;
+    }
 
-                // Now see if we should add the nearby blocks to the queue:
-                // only add blocks the cable is connected to
-                if (tTileEntity instanceof BaseMetaPipeEntity metaPipe
-                    && metaPipe.getMetaTileEntity() instanceof MTECable cable) {
-                    for (int i = 0; i < ForgeDirection.VALID_DIRECTIONS.length; i++) {
-                        final ForgeDirection side = ForgeDirection.VALID_DIRECTIONS[i];
-                        if (cable.isConnectedAtSide(side)) {
-                            final long tCoords = CoordinatePacker
-                                .pack(posX + side.offsetX, posY + side.offsetY, posZ + side.offsetZ);
-                            if (visited.add(tCoords)) {
-                                tQueue.enqueue(tCoords);
-                            }
-                        }
+    @Override
+    protected void enqueueNeighbours(long packedCoords, TileEntity tTileEntity, boolean isMachineBlock,
+        LongArrayFIFOQueue queue, LongSet visited) {
+        // Now see if we should add the nearby blocks to the queue:
+        // only add blocks the cable is connected to
+        if (tTileEntity instanceof BaseMetaPipeEntity metaPipe
+            && metaPipe.getMetaTileEntity() instanceof MTECable cable) {
+            final int posX = CoordinatePacker.unpackX(packedCoords);
+            final int posY = CoordinatePacker.unpackY(packedCoords);
+            final int posZ = CoordinatePacker.unpackZ(packedCoords);
+            for (int i = 0; i < ForgeDirection.VALID_DIRECTIONS.length; i++) {
+                final ForgeDirection side = ForgeDirection.VALID_DIRECTIONS[i];
+                if (cable.isConnectedAtSide(side)) {
+                    final long tCoords = CoordinatePacker
+                        .pack(posX + side.offsetX, posY + side.offsetY, posZ + side.offsetZ);
+                    if (visited.add(tCoords)) {
+                        queue.enqueue(tCoords);
                     }
                 }
             }
-        } catch (Exception e) {
-            GTMod.GT_FML_LOGGER.error(
-                "Well this update was broken... " + initialX
-                    + ", "
-                    + initialY
-                    + ", "
-                    + initialZ
-                    + ", mWorld={"
-                    + world.getProviderName()
-                    + " @dimId "
-                    + world.provider.dimensionId
-                    + "}",
-                e);
         }
     }
 }
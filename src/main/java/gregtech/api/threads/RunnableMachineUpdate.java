@@ -1,5 +1,7 @@
 package gregtech.api.threads;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -16,16 +18,37 @@ import gregtech.api.GregTechAPI;
 import gregtech.api.interfaces.tileentity.IMachineBlockUpdateable;
 import gregtech.common.GTProxy;
 import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 
+/**
+ * Flood fill notifying {@link IMachineBlockUpdateable} blocks around changed machine blocks, run off the server thread.
+ * <p>
+ * Updates caused within a server tick are collected per world and submitted as one traversal when the tick ends, see
+ * {@link #submitPendingUpdates}. Building or breaking a structure therefore fills the region once rather than once per
+ * block, and every block is only notified once per tick. The block lookups take {@link GTProxy#TICK_LOCK} once per
+ * batch of blocks rather than once per block.
+ */
 public class RunnableMachineUpdate implements Runnable {
 
+    // Blocks looked up per acquisition of GTProxy.TICK_LOCK
+    private static final int LOCK_BATCH = 64;
+    // Visited sets grown larger than this are shrunk again after the traversal
+    private static final int RETAINED_VISITED_SIZE = 4096;
+
+    // Reused by the traversals running on each executor thread
+    private static final ThreadLocal<LongOpenHashSet> VISITED = ThreadLocal.withInitial(LongOpenHashSet::new);
+    private static final ThreadLocal<LongArrayFIFOQueue> QUEUE = ThreadLocal.withInitial(LongArrayFIFOQueue::new);
+
+    // Origins of the updates caused in the current tick, guarded by PENDING_LOCK
+    private static final Object PENDING_LOCK = new Object();
+    private static Map<World, LongOpenHashSet> pendingMachineUpdates = new IdentityHashMap<>();
+    private static Map<World, LongOpenHashSet> pendingCableUpdates = new IdentityHashMap<>();
+
     // used by runner thread
-    protected final int initialX, initialY, initialZ;
     protected final World world;
-    protected final LongSet visited = new LongOpenHashSet();
-    protected final LongArrayFIFOQueue tQueue = new LongArrayFIFOQueue();
+    protected final LongSet origins;
 
     // Threading
     private static final ThreadFactory THREAD_FACTORY = r -> {
@@ -36,14 +59,9 @@ public class RunnableMachineUpdate implements Runnable {
     protected static ExecutorService EXECUTOR_SERVICE;
 
     // This class should never be initiated outside of this class!
-    protected RunnableMachineUpdate(World aWorld, int posX, int posY, int posZ) {
+    protected RunnableMachineUpdate(World aWorld, LongSet aOrigins) {
         this.world = aWorld;
-        this.initialX = posX;
-        this.initialY = posY;
-        this.initialZ = posZ;
-        final long coords = CoordinatePacker.pack(posX, posY, posZ);
-        visited.add(coords);
-        tQueue.enqueue(coords);
+        this.origins = aOrigins;
     }
 
     public static boolean isEnabled() {
@@ -75,7 +93,40 @@ public class RunnableMachineUpdate implements Runnable {
 
     public static void setMachineUpdateValues(World aWorld, int posX, int posY, int posZ) {
         if (isEnabled() && isCurrentThreadEnabled()) {
-            EXECUTOR_SERVICE.submit(new RunnableMachineUpdate(aWorld, posX, posY, posZ));
+            addPendingUpdate(false, aWorld, posX, posY, posZ);
+        }
+    }
+
+    protected static void addPendingUpdate(boolean aCable, World aWorld, int posX, int posY, int posZ) {
+        synchronized (PENDING_LOCK) {
+            final Map<World, LongOpenHashSet> tPending = aCable ? pendingCableUpdates : pendingMachineUpdates;
+            LongOpenHashSet tOrigins = tPending.get(aWorld);
+            if (tOrigins == null) {
+                tOrigins = new LongOpenHashSet();
+                tPending.put(aWorld, tOrigins);
+            }
+            tOrigins.add(CoordinatePacker.pack(posX, posY, posZ));
+        }
+    }
+
+    /**
+     * Submits one traversal per world for the updates caused since the last call. Called at the end of every server
+     * tick, once {@link GTProxy#TICK_LOCK} has been released.
+     */
+    public static void submitPendingUpdates() {
+        final Map<World, LongOpenHashSet> tMachineUpdates, tCableUpdates;
+        synchronized (PENDING_LOCK) {
+            if (pendingMachineUpdates.isEmpty() && pendingCableUpdates.isEmpty()) return;
+            tMachineUpdates = pendingMachineUpdates;
+            tCableUpdates = pendingCableUpdates;
+            pendingMachineUpdates = new IdentityHashMap<>();
+            pendingCableUpdates = new IdentityHashMap<>();
+        }
+        for (Map.Entry<World, LongOpenHashSet> tEntry : tMachineUpdates.entrySet()) {
+            EXECUTOR_SERVICE.submit(new RunnableMachineUpdate(tEntry.getKey(), tEntry.getValue()));
+        }
+        for (Map.Entry<World, LongOpenHashSet> tEntry : tCableUpdates.entrySet()) {
+            EXECUTOR_SERVICE.submit(new RunnableCableUpdate(tEntry.getKey(), tEntry.getValue()));
         }
     }
 
@@ -90,6 +141,11 @@ public class RunnableMachineUpdate implements Runnable {
     }
 
     public static void shutdownExecutorService() {
+        // Updates of the stopping server would otherwise keep its worlds reachable
+        synchronized (PENDING_LOCK) {
+            pendingMachineUpdates.clear();
+            pendingCableUpdates.clear();
+        }
         try {
             GTMod.GT_FML_LOGGER.info("Shutting down Machine block update executor service");
             EXECUTOR_SERVICE.shutdown(); // Disable new tasks from being submitted
@@ -120,16 +176,21 @@ public class RunnableMachineUpdate implements Runnable {
 
     @Override
     public void run() {
-        int posX, posY, posZ;
+        final LongOpenHashSet visited = VISITED.get();
+        final LongArrayFIFOQueue queue = QUEUE.get();
+        final long[] tCoords = new long[LOCK_BATCH];
+        final TileEntity[] tTileEntities = new TileEntity[LOCK_BATCH];
+        final boolean[] tMachineBlocks = new boolean[LOCK_BATCH];
         try {
-            while (!tQueue.isEmpty()) {
-                final long packedCoords = tQueue.dequeueLong();
-                posX = CoordinatePacker.unpackX(packedCoords);
-                posY = CoordinatePacker.unpackY(packedCoords);
-                posZ = CoordinatePacker.unpackZ(packedCoords);
+            final LongIterator tOrigins = origins.iterator();
+            while (tOrigins.hasNext()) {
+                final long tOrigin = tOrigins.nextLong();
+                if (visited.add(tOrigin)) queue.enqueue(tOrigin);
+            }
 
-                final TileEntity tTileEntity;
-                final boolean isMachineBlock;
+            while (!queue.isEmpty()) {
+                int tCount = 0;
+                while (tCount < LOCK_BATCH && !queue.isEmpty()) tCoords[tCount++] = queue.dequeueLong();
 
                 // This might load a chunk... which might load a TileEntity... which might get added to
                 // `loadedTileEntityList`... which might be in the process
@@ -137,48 +198,77 @@ public class RunnableMachineUpdate implements Runnable {
                 // ConcurrentModificationException. So, lock that shit.
                 GTProxy.TICK_LOCK.lock();
                 try {
-                    tTileEntity = world.getTileEntity(posX, posY, posZ);
-                    isMachineBlock = GregTechAPI
-                        .isMachineBlock(world.getBlock(posX, posY, posZ), world.getBlockMetadata(posX, posY, posZ));
+                    for (int i = 0; i < tCount; i++) {
+                        final int posX = CoordinatePacker.unpackX(tCoords[i]);
+                        final int posY = CoordinatePacker.unpackY(tCoords[i]);
+                        final int posZ = CoordinatePacker.unpackZ(tCoords[i]);
+                        tTileEntities[i] = getTileEntity(posX, posY, posZ);
+                        tMachineBlocks[i] = isMachineBlock(posX, posY, posZ);
+                    }
                 } finally {
                     GTProxy.TICK_LOCK.unlock();
                 }
 
-                // See if the block itself needs an update
-                if (tTileEntity instanceof IMachineBlockUpdateable)
-                    ((IMachineBlockUpdateable) tTileEntity).onMachineBlockUpdate();
-
-                // Now see if we should add the nearby blocks to the queue:
-                // 1) If we've visited less than 5 blocks, then yes
-                // 2) If the tile says we should recursively updated (pipes don't, machine blocks do)
-                // 3) If the block at the coordinates is marked as a machine block
-                if (visited.size() < 5
-                    || (tTileEntity instanceof IMachineBlockUpdateable
-                        && ((IMachineBlockUpdateable) tTileEntity).isMachineBlockUpdateRecursive())
-                    || isMachineBlock) {
-                    for (int i = 0; i < ForgeDirection.VALID_DIRECTIONS.length; i++) {
-                        final ForgeDirection side = ForgeDirection.VALID_DIRECTIONS[i];
-                        final long tCoords = CoordinatePacker
-                            .pack(posX + side.offsetX, posY + side.offsetY, posZ + side.offsetZ);
-                        if (visited.add(tCoords)) {
-                            tQueue.enqueue(tCoords);
-                        }
-                    }
+                for (int i = 0; i < tCount; i++) {
+                    final TileEntity tTileEntity = tTileEntities[i];
+                    tTileEntities[i] = null;
+
+                    // See if the block itself needs an update
+                    if (tTileEntity instanceof IMachineBlockUpdateable)
+                        ((IMachineBlockUpdateable) tTileEntity).onMachineBlockUpdate();
+
+                    enqueueNeighbours(tCoords[i], tTileEntity, tMachineBlocks[i], queue, visited);
                 }
             }
         } catch (Exception e) {
             GTMod.GT_FML_LOGGER.error(
-                "Well this update was broken... " + initialX
-                    + ", "
-                    + initialY
-                    + ", "
-                    + initialZ
-                    + ", mWorld={"
+                "Well this update was broken... " + origins.size()
+                    + " origins, mWorld={"
                     + world.getProviderName()
                     + " @dimId "
                     + world.provider.dimensionId
                     + "}",
                 e);
+        } finally {
+            visited.clear();
+            visited.trim(RETAINED_VISITED_SIZE);
+            queue.clear();
+            queue.trim();
+        }
+    }
+
+    // Called while holding GTProxy.TICK_LOCK
+    protected TileEntity getTileEntity(int posX, int posY, int posZ) {
+        return world.getTileEntity(posX, posY, posZ);
+    }
+
+    // Called while holding GTProxy.TICK_LOCK
+    protected boolean isMachineBlock(int posX, int posY, int posZ) {
+        return GregTechAPI
+            .isMachineBlock(world.getBlock(posX, posY, posZ), world.getBlockMetadata(posX, posY, posZ));
+    }
+
+    protected void enqueueNeighbours(long packedCoords, TileEntity tTileEntity, boolean isMachineBlock,
+        LongArrayFIFOQueue queue, LongSet visited) {
+        // Now see if we should add the nearby blocks to the queue:
+        // 1) If the block is where an update was caused
+        // 2) If the tile says we should recursively updated (pipes don't, machine blocks do)
+        // 3) If the block at the coordinates is marked as a machine block
+        if (origins.contains(packedCoords)
+            || (tTileEntity instanceof IMachineBlockUpdateable
+                && ((IMachineBlockUpdateable) tTileEntity).isMachineBlockUpdateRecursive())
+            || isMachineBlock) {
+            final int posX = CoordinatePacker.unpackX(packedCoords);
+            final int posY = CoordinatePacker.unpackY(packedCoords);
+            final int posZ = CoordinatePacker.unpackZ(packedCoords);
+            for (int i = 0; i < ForgeDirection.VALID_DIRECTIONS.length; i++) {
+                final ForgeDirection side = ForgeDirection.VALID_DIRECTIONS[i];
+                final long tCoords = CoordinatePacker
+                    .pack(posX + side.offsetX, posY + side.offsetY, posZ + side.offsetZ);
+                if (visited.add(tCoords)) {
+                    queue.enqueue(tCoords);
+                }
+            }
         }
     }
 }
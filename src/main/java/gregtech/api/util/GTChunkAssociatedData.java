@@ -2,6 +2,7 @@ package gregtech.api.util;
 
 import static gregtech.api.enums.Mods.GregTech;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
@@ -10,16 +11,28 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -30,19 +43,27 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 
 import org.apache.commons.io.FileUtils;
 
+import com.google.common.io.ByteStreams;
+
+import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
 import gregtech.api.enums.GTValues;
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
+import gregtech.common.config.Other;
 
 /**
  * A utility to save all kinds of data that is a function of any chunk.
@@ -57,7 +78,9 @@ import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
  * <p>
  * Element cannot be null.
  * <p>
- * TODO: Implement automatic region unloading.
+ * Regions are unloaded again once none of their chunks is loaded and they haven't been accessed for
+ * {@value #REGION_IDLE_TICKS} ticks, so data accessed every now and then (like pollution) stays in memory. Unloaded
+ * regions are written back by the IO workers and picked up again if they are accessed before that finished.
  *
  * @param <T> data element type
  * @author glease
@@ -74,7 +97,16 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
                 .availableProcessors() * 2
                 / 3));
     private static final ExecutorService IO_WORKERS = Executors.newWorkStealingPool(IO_PARALLELISM);
-    private static final Pattern FILE_PATTERN = Pattern.compile("(.+)\\.(-?\\d+)\\.(-?\\d+)\\.dat");
+    private static final Pattern FILE_PATTERN = Pattern.compile("(.+)\\.(-?\\d+)\\.(-?\\d+)\\.(dat|rec)");
+    /**
+     * Magic number and layout version of the record files, see {@link SuperRegion#openRecords}.
+     */
+    private static final int RECORD_FILE_MAGIC = 0x47544344;
+    private static final byte RECORD_FILE_VERSION = 1;
+    private static final int RECORD_FILE_HEADER = 16;
+    private static final int REGION_IDLE_TICKS = 6000;
+    private static final int UNLOAD_CHECK_INTERVAL = 200;
+    private static long currentTick;
 
     static {
         // register event handler
@@ -91,6 +123,14 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
      * determined by regionSize. Here it is called super region, to not confuse with vanilla's regions.
      */
     private final Map<Integer, Map<ChunkCoordIntPair, SuperRegion>> masterMap = new ConcurrentHashMap<>();
+    /**
+     * Regions with chunks unloaded since the last unload check, per world id.
+     */
+    private final Map<Integer, Set<ChunkCoordIntPair>> unloadCandidates = new HashMap<>();
+    /**
+     * Unloaded regions still being written back, by their file.
+     */
+    private final Map<File, SuperRegion> unloading = new ConcurrentHashMap<>();
 
     /**
      * Initialize this instance.
@@ -137,17 +177,39 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
     }
 
     public final T get(World world, int chunkX, int chunkZ) {
-        SuperRegion region = masterMap.computeIfAbsent(world.provider.dimensionId, ignored -> new ConcurrentHashMap<>())
-            .computeIfAbsent(getRegionID(chunkX, chunkZ), c -> new SuperRegion(world, c));
+        SuperRegion region = getRegion(world, chunkX, chunkZ);
         return region.get(Math.floorMod(chunkX, regionLength), Math.floorMod(chunkZ, regionLength));
     }
 
     protected final void set(World world, int chunkX, int chunkZ, T data) {
-        SuperRegion region = masterMap.computeIfAbsent(world.provider.dimensionId, ignored -> new ConcurrentHashMap<>())
-            .computeIfAbsent(getRegionID(chunkX, chunkZ), c -> new SuperRegion(world, c));
+        SuperRegion region = getRegion(world, chunkX, chunkZ);
         region.set(Math.floorMod(chunkX, regionLength), Math.floorMod(chunkZ, regionLength), data);
     }
 
+    private SuperRegion getRegion(World world, int chunkX, int chunkZ) {
+        SuperRegion region = masterMap.computeIfAbsent(world.provider.dimensionId, ignored -> new ConcurrentHashMap<>())
+            .computeIfAbsent(getRegionID(chunkX, chunkZ), c -> reloadRegion(world, c));
+        region.lastAccess = currentTick;
+        return region;
+    }
+
+    private SuperRegion reloadRegion(World world, ChunkCoordIntPair regionCoord) {
+        File file = getRegionFile(world, regionCoord.chunkXPos, regionCoord.chunkZPos);
+        SuperRegion region = unloading.remove(file);
+        // still in memory, no need to wait for it to be written
+        if (region != null && region.world.get() == world) return region;
+        return new SuperRegion(world, regionCoord);
+    }
+
+    private File getRegionFile(World world, int regionX, int regionZ) {
+        return new File(getSaveDirectory(world), String.format("%s.%d.%d.dat", mId, regionX, regionZ));
+    }
+
+    private static File getRecordFile(File regionFile) {
+        String name = regionFile.getName();
+        return new File(regionFile.getParentFile(), name.substring(0, name.length() - 4) + ".rec");
+    }
+
     protected final boolean isCreated(int dimId, int chunkX, int chunkZ) {
         Map<ChunkCoordIntPair, SuperRegion> dimData = masterMap.getOrDefault(dimId, null);
         if (dimData == null) return false;
@@ -171,6 +233,117 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
                 "Clearing ChunkAssociatedData with " + dirtyRegionCount + " regions dirty. Data might have been lost!");
         }
         masterMap.clear();
+        unloadCandidates.clear();
+    }
+
+    /**
+     * @return Number of regions kept in memory.
+     */
+    public int getResidentRegionCount() {
+        int count = 0;
+        for (Map<ChunkCoordIntPair, SuperRegion> map : masterMap.values()) count += map.size();
+        return count;
+    }
+
+    /**
+     * @return Rough estimate of the memory taken by the regions kept in memory, in bytes.
+     */
+    public long getEstimatedMemoryUsage() {
+        long bytes = 0;
+        for (Map<ChunkCoordIntPair, SuperRegion> map : masterMap.values()) {
+            for (SuperRegion region : map.values()) {
+                bytes += 64 + 4L * region.data.length + (long) region.getCreatedCount() * getElementSizeEstimate();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return Rough size of one element in memory, in bytes. Only used for {@link #getEstimatedMemoryUsage}.
+     */
+    protected int getElementSizeEstimate() {
+        return 16;
+    }
+
+    private void onChunkUnload(Chunk chunk) {
+        int dimId = chunk.worldObj.provider.dimensionId;
+        Map<ChunkCoordIntPair, SuperRegion> map = masterMap.get(dimId);
+        if (map == null) return;
+        ChunkCoordIntPair regionCoord = getRegionID(chunk.xPosition, chunk.zPosition);
+        if (map.containsKey(regionCoord))
+            unloadCandidates.computeIfAbsent(dimId, ignored -> new HashSet<>())
+                .add(regionCoord);
+    }
+
+    /**
+     * Unloads the regions which had chunks unloaded, are idle and have no loaded chunks left. Regions which are still
+     * accessed are checked again later, idle regions which have chunks loaded again wait for their next chunk unload.
+     * Chunks are only looked up once a region is idle, as that takes up to a lookup per chunk of the region.
+     */
+    private void unloadIdleRegions() {
+        for (Iterator<Map.Entry<Integer, Set<ChunkCoordIntPair>>> it = unloadCandidates.entrySet()
+            .iterator(); it.hasNext();) {
+            Map.Entry<Integer, Set<ChunkCoordIntPair>> entry = it.next();
+            Map<ChunkCoordIntPair, SuperRegion> map = masterMap.get(entry.getKey());
+            World world = DimensionManager.getWorld(entry.getKey());
+            if (map == null || world == null) {
+                it.remove();
+                continue;
+            }
+            for (Iterator<ChunkCoordIntPair> candidates = entry.getValue()
+                .iterator(); candidates.hasNext();) {
+                SuperRegion region = map.get(candidates.next());
+                if (region == null) {
+                    candidates.remove();
+                } else if (currentTick - region.lastAccess >= REGION_IDLE_TICKS) {
+                    candidates.remove();
+                    if (hasLoadedChunk(world, region)) continue;
+                    map.remove(region.getCoord());
+                    unloadRegion(region);
+                }
+            }
+            if (entry.getValue()
+                .isEmpty()) it.remove();
+        }
+    }
+
+    private boolean hasLoadedChunk(World world, SuperRegion region) {
+        int baseX = region.getCoord().chunkXPos * regionLength, baseZ = region.getCoord().chunkZPos * regionLength;
+        for (int x = 0; x < regionLength; x++) {
+            for (int z = 0; z < regionLength; z++) {
+                if (world.getChunkProvider()
+                    .chunkExists(baseX + x, baseZ + z)) return true;
+            }
+        }
+        return false;
+    }
+
+    private void unloadRegion(SuperRegion region) {
+        // the file might hold data which has gone back to the default since, so it has to be written as well
+        if (!region.isDirty() && !region.hasStorageFile()) return;
+        unloading.put(region.backingStorage, region);
+        region.pendingSave = CompletableFuture.runAsync(() -> {
+            region.save();
+            // unless it was picked up again meanwhile, nothing can access the records anymore
+            if (unloading.remove(region.backingStorage, region)) region.unmapRecords();
+        }, IO_WORKERS);
+    }
+
+    /**
+     * Waits for the regions of a world which are being unloaded to be written.
+     */
+    private void finishUnloading(World world) {
+        for (SuperRegion region : unloading.values()) {
+            if (region.world.get() != world && region.world.get() != null) continue;
+            CompletableFuture<Void> pendingSave = region.pendingSave;
+            if (pendingSave == null) continue;
+            try {
+                pendingSave.get();
+            } catch (Exception e) {
+                GTLog.err.println("Data save error: " + mId);
+                e.printStackTrace(GTLog.err);
+            }
+        }
     }
 
     public void save() {
@@ -212,6 +385,57 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
 
     protected abstract T createElement(World world, int chunkX, int chunkZ);
 
+    /**
+     * Elements of a fixed size can be kept in a memory mapped record file per region instead, if enabled by
+     * {@link Other#mappedChunkData}. Saving then only writes the records of changed elements,
+     * and elements are only read once they are accessed (or by {@link #loadAll}). Files are migrated between the two
+     * formats on the first save after the setting changed.
+     *
+     * @return The maximum size of an element written by {@link #writeElement}, in bytes, or 0 if elements can't be
+     *         kept in records.
+     */
+    protected int getRecordSize() {
+        return 0;
+    }
+
+    private boolean useRecords() {
+        return Other.mappedChunkData && getRecordSize() > 0;
+    }
+
+    /**
+     * Releases a mapping right away instead of once the buffer is collected, so the file can be deleted or replaced
+     * (which fails while it's mapped on Windows). The buffer must not be accessed afterwards.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+            } catch (NoSuchMethodException ignored) {
+                // Java 8, use the cleaner of the buffer below
+            }
+            if (invokeCleaner != null) {
+                invokeCleaner.invoke(unsafe, buffer);
+                return;
+            }
+            Method cleanerMethod = buffer.getClass()
+                .getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) cleaner.getClass()
+                .getMethod("clean")
+                .invoke(cleaner);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the mapping is released once the buffer is collected
+            GTLog.err.println("Could not unmap record file: " + e);
+        }
+    }
+
     /**
      * Clear all mappings, regardless of whether they are dirty
      */
@@ -226,6 +450,23 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
         for (GTChunkAssociatedData<?> d : instances.values()) d.save();
     }
 
+    /**
+     * @return A line of resident region count and estimated memory usage per kind of data.
+     */
+    public static List<String> getStatistics() {
+        List<String> lines = new ArrayList<>();
+        for (GTChunkAssociatedData<?> d : instances.values()) {
+            lines.add(
+                String.format(
+                    "%s: %d regions resident, %d being unloaded, ~%d KiB",
+                    d.mId,
+                    d.getResidentRegionCount(),
+                    d.unloading.size(),
+                    d.getEstimatedMemoryUsage() / 1024));
+        }
+        return lines;
+    }
+
     /**
      * Load data for all chunks for a given world. Current data for that world will be discarded. If this is what you
      * intended, call {@link #save(World)} beforehand.
@@ -247,10 +488,14 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
             })
                 .filter(Objects::nonNull)
                 .filter(m -> mId.equals(m.group(1)))
-                .map(
-                    m -> CompletableFuture.supplyAsync(
-                        () -> new SuperRegion(w, Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3))),
-                        IO_WORKERS))
+                // a region might have both kinds of files while it's being migrated
+                .map(m -> new ChunkCoordIntPair(Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3))))
+                .distinct()
+                .map(c -> CompletableFuture.supplyAsync(() -> {
+                    SuperRegion region = new SuperRegion(w, c);
+                    region.readAllRecords();
+                    return region;
+                }, IO_WORKERS))
                 .map(f -> {
                     try {
                         return f.get();
@@ -263,6 +508,9 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
                 .filter(Objects::nonNull)
                 .collect(Collectors.toMap(SuperRegion::getCoord, Function.identity()));
             masterMap.put(w.provider.dimensionId, worldData);
+            // most of these chunks aren't loaded, so don't wait for them to unload first
+            unloadCandidates.computeIfAbsent(w.provider.dimensionId, ignored -> new HashSet<>())
+                .addAll(worldData.keySet());
         } catch (IOException | UncheckedIOException e) {
             GTLog.err.println("Error loading all region");
             e.printStackTrace(GTLog.err);
@@ -292,7 +540,16 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
 
         private final T[] data = createData();
         private final File backingStorage;
+        private final File recordStorage;
+        /**
+         * Records of the elements, null if this region isn't kept in a record file. Elements not in {@link #data}
+         * yet are read from here when accessed.
+         */
+        private volatile MappedByteBuffer records;
+        private int recordVersion;
         private final WeakReference<World> world;
+        private long lastAccess = currentTick;
+        private volatile CompletableFuture<Void> pendingSave;
         /**
          * Be aware, this means region coord, not bottom-left chunk coord
          */
@@ -301,17 +558,17 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
         private SuperRegion(World world, int regionX, int regionZ) {
             this.world = new WeakReference<>(world);
             this.coord = new ChunkCoordIntPair(regionX, regionZ);
-            backingStorage = new File(getSaveDirectory(world), String.format("%s.%d.%d.dat", mId, regionX, regionZ));
-            if (backingStorage.isFile()) load();
+            backingStorage = getRegionFile(world, regionX, regionZ);
+            recordStorage = getRecordFile(backingStorage);
+            loadAny();
         }
 
         private SuperRegion(World world, ChunkCoordIntPair regionCoord) {
             this.world = new WeakReference<>(world);
             this.coord = regionCoord;
-            backingStorage = new File(
-                getSaveDirectory(world),
-                String.format("%s.%d.%d.dat", mId, regionCoord.chunkXPos, regionCoord.chunkZPos));
-            if (backingStorage.isFile()) load();
+            backingStorage = getRegionFile(world, regionCoord.chunkXPos, regionCoord.chunkZPos);
+            recordStorage = getRecordFile(backingStorage);
+            loadAny();
         }
 
         @SuppressWarnings("unchecked")
@@ -322,6 +579,7 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
         public T get(int subRegionX, int subRegionZ) {
             int index = getIndex(subRegionX, subRegionZ);
             T datum = data[index];
+            if (datum == null && hasRecord(index)) datum = data[index] = readRecord(index);
             if (datum == null) {
                 World world = Objects.requireNonNull(this.world.get());
                 T newElem = createElement(
@@ -339,7 +597,8 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
         }
 
         public boolean isCreated(int subRegionX, int subRegionZ) {
-            return this.data[getIndex(subRegionX, subRegionZ)] != null;
+            int index = getIndex(subRegionX, subRegionZ);
+            return this.data[index] != null || hasRecord(index);
         }
 
         public ChunkCoordIntPair getCoord() {
@@ -358,14 +617,25 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
             return index % regionLength + coord.chunkZPos * regionLength;
         }
 
+        private int getCreatedCount() {
+            int count = 0;
+            for (T datum : data) {
+                if (datum != null) count++;
+            }
+            return count;
+        }
+
         public boolean isDirty() {
             for (T datum : data) {
+                // records are cheap to compare, and elements gone back to the default have to be cleared
+                if (records != null && datum != null) return true;
                 if (datum != null && !datum.isSameAsDefault()) return true;
             }
             return false;
         }
 
-        public void save() {
+        // synchronized, as a region written back after unloading might be loaded, unloaded or saved again meanwhile
+        public synchronized void save() {
             try {
                 save0();
             } catch (IOException e) {
@@ -374,10 +644,23 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
             }
         }
 
+        private boolean hasStorageFile() {
+            return backingStorage.isFile() || recordStorage.isFile();
+        }
+
         private void save0() throws IOException {
             // noinspection ResultOfMethodCallIgnored
             backingStorage.getParentFile()
                 .mkdirs();
+            if (useRecords()) {
+                saveRecords();
+                // migrated, loadAny picks the newer file if this fails
+                if (backingStorage.isFile() && !backingStorage.delete())
+                    GTLog.err.println("Could not delete migrated data " + backingStorage.getPath());
+                return;
+            }
+            // records turned off since this region was loaded
+            readAllRecords();
             File tmpFile = getTmpFile();
             World world = Objects.requireNonNull(this.world.get(), "Attempting to save region of another world!");
             try (DataOutputStream output = new DataOutputStream(new FileOutputStream(tmpFile))) {
@@ -403,21 +686,212 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
                     nullRange = !nullRange;
                 }
             }
+            replace(tmpFile, backingStorage);
+            // migrated, loadAny picks the newer file if this fails
+            unmapRecords();
+            if (recordStorage.isFile() && !recordStorage.delete())
+                GTLog.err.println("Could not delete migrated data " + recordStorage.getPath());
+        }
+
+        private void replace(File tmpFile, File file) throws IOException {
             // first try to replace the destination file
             // since atomic operation, no need to keep the backup in place
             try {
                 Files.move(
                     tmpFile.toPath(),
-                    backingStorage.toPath(),
+                    file.toPath(),
                     StandardCopyOption.REPLACE_EXISTING,
                     StandardCopyOption.ATOMIC_MOVE);
             } catch (AtomicMoveNotSupportedException ignored) {
                 // in case some dumb system/jre combination would cause this
                 // or if **somehow** two file inside the same directory belongs two separate filesystem
-                FileUtils.copyFile(tmpFile, backingStorage);
+                FileUtils.copyFile(tmpFile, file);
+            }
+        }
+
+        /**
+         * Reads the file of the storage format in use, or the other one if this region hasn't been migrated yet. If
+         * both are there, the older one couldn't be deleted after a migration, so the newer one is read.
+         */
+        private void loadAny() {
+            boolean hasRecords = recordStorage.isFile();
+            if (hasRecords && backingStorage.isFile()) {
+                long recordTime = recordStorage.lastModified(), regionTime = backingStorage.lastModified();
+                hasRecords = recordTime > regionTime || recordTime == regionTime && useRecords();
+            }
+            if (hasRecords && (records = openRecords(recordStorage, false)) != null) {
+                if (!useRecords()) {
+                    // records are turned off, keep everything in memory until it's written the old way
+                    readAllRecords();
+                    unmapRecords();
+                }
+                return;
+            }
+            if (backingStorage.isFile()) load();
+        }
+
+        /**
+         * Maps the record file. It starts with {@value #RECORD_FILE_HEADER} bytes of header: magic number, layout
+         * version, data version, region length and record size. Then there's one record per chunk in the order of
+         * {@link #data}, each a byte marking whether it holds an element followed by the element written by
+         * {@link #writeElement}, padded to the record size.
+         *
+         * @param create Create the file if it doesn't exist yet.
+         * @return The records, or null if they can't be used.
+         */
+        @Nullable
+        private MappedByteBuffer openRecords(File recordFile, boolean create) {
+            int recordSize = getRecordSize();
+            long length = RECORD_FILE_HEADER + (long) data.length * (1 + recordSize);
+            try (RandomAccessFile file = new RandomAccessFile(recordFile, "rw")) {
+                if (create && file.length() == 0) {
+                    file.setLength(length);
+                    file.writeInt(RECORD_FILE_MAGIC);
+                    file.writeByte(RECORD_FILE_VERSION);
+                    file.writeByte(version);
+                    file.writeShort(regionLength);
+                    file.writeInt(recordSize);
+                } else if (file.length() != length || file.readInt() != RECORD_FILE_MAGIC
+                    || file.readByte() != RECORD_FILE_VERSION) {
+                    GTLog.err.println("Record file broken or of another layout " + recordFile.getPath());
+                    return null;
+                }
+                file.seek(5);
+                recordVersion = file.readByte();
+                if (file.readShort() != regionLength || file.readInt() != recordSize) {
+                    GTLog.err.println("Record file of another layout " + recordFile.getPath());
+                    return null;
+                }
+                // the mapping stays valid after the file is closed
+                MappedByteBuffer mapping = file.getChannel()
+                    .map(FileChannel.MapMode.READ_WRITE, 0, length);
+                return mapping;
+            } catch (IOException e) {
+                GTLog.err.println("Error opening records " + recordFile.getPath());
+                e.printStackTrace(GTLog.err);
+                return null;
+            }
+        }
+
+        private int getRecordOffset(int index) {
+            return RECORD_FILE_HEADER + index * (1 + getRecordSize());
+        }
+
+        // synchronized with save, which might unmap the records
+        private synchronized boolean hasRecord(int index) {
+            MappedByteBuffer records = this.records;
+            return records != null && records.get(getRecordOffset(index)) != 0;
+        }
+
+        @Nullable
+        private synchronized T readRecord(int index) {
+            MappedByteBuffer records = this.records;
+            if (records == null) return null;
+            World world = Objects.requireNonNull(this.world.get(), "Attempting to load region of another world!");
+            byte[] bytes = new byte[getRecordSize()];
+            int offset = getRecordOffset(index) + 1;
+            for (int i = 0; i < bytes.length; i++) bytes[i] = records.get(offset + i);
+            try {
+                return readElement(
+                    ByteStreams.newDataInput(bytes),
+                    recordVersion,
+                    world,
+                    getChunkX(index),
+                    getChunkZ(index));
+            } catch (IOException | RuntimeException e) {
+                GTLog.err.println("Broken record " + index + " in " + recordStorage.getPath());
+                e.printStackTrace(GTLog.err);
+                return null;
+            }
+        }
+
+        /**
+         * Reads all the elements which are only in the record file yet.
+         */
+        private void readAllRecords() {
+            if (records == null) return;
+            for (int index = 0; index < data.length; index++) {
+                if (data[index] == null && hasRecord(index)) data[index] = readRecord(index);
+            }
+        }
+
+        /**
+         * Writes the records of the elements which are different from the file. Records of elements which were
+         * never accessed can't have changed.
+         */
+        private void saveRecords() throws IOException {
+            MappedByteBuffer records = this.records;
+            if (records == null || recordVersion != version) {
+                createRecords();
+                return;
+            }
+            writeRecords(records);
+            records.force();
+        }
+
+        private void writeRecords(MappedByteBuffer records) throws IOException {
+            World world = Objects.requireNonNull(this.world.get(), "Attempting to save region of another world!");
+            int recordSize = getRecordSize();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(recordSize);
+            DataOutputStream output = new DataOutputStream(bytes);
+            for (int index = 0; index < data.length; index++) {
+                T datum = data[index];
+                if (datum == null) continue;
+                int offset = getRecordOffset(index);
+                if (!saveDefaults && datum.isSameAsDefault()) {
+                    if (records.get(offset) != 0) records.put(offset, (byte) 0);
+                    continue;
+                }
+                bytes.reset();
+                writeElement(output, datum, world, getChunkX(index), getChunkZ(index));
+                if (bytes.size() > recordSize) throw new IOException(
+                    "Element of " + bytes.size() + " bytes doesn't fit records of " + recordSize + " bytes: " + mId);
+                byte[] record = bytes.toByteArray();
+                boolean changed = records.get(offset) == 0;
+                for (int i = 0; i < recordSize && !changed; i++) {
+                    changed = records.get(offset + 1 + i) != (i < record.length ? record[i] : 0);
+                }
+                if (!changed) continue;
+                records.put(offset, (byte) 1);
+                for (int i = 0; i < recordSize; i++) {
+                    records.put(offset + 1 + i, i < record.length ? record[i] : 0);
+                }
             }
         }
 
+        /**
+         * Writes a new record file, for regions loaded from the old format or with records of an older data version.
+         * Like the old format, it's written to a temporary file first, so a crash can't leave a half written one.
+         */
+        private void createRecords() throws IOException {
+            // everything has to be in memory before the old file goes away
+            readAllRecords();
+            unmapRecords();
+            File tmpFile = new File(recordStorage.getParentFile(), recordStorage.getName() + ".tmp");
+            Files.deleteIfExists(tmpFile.toPath());
+            MappedByteBuffer tmpRecords = openRecords(tmpFile, true);
+            if (tmpRecords == null) throw new IOException("Could not create records " + tmpFile.getPath());
+            try {
+                writeRecords(tmpRecords);
+                tmpRecords.force();
+            } finally {
+                unmap(tmpRecords);
+            }
+            replace(tmpFile, recordStorage);
+            records = openRecords(recordStorage, false);
+            if (records == null) throw new IOException("Could not open records " + recordStorage.getPath());
+        }
+
+        /**
+         * Drops the records, after everything needed has been read from them.
+         */
+        private synchronized void unmapRecords() {
+            MappedByteBuffer records = this.records;
+            if (records == null) return;
+            this.records = null;
+            unmap(records);
+        }
+
         public void load() {
             try {
                 loadFromFile(backingStorage);
@@ -473,6 +947,9 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
 
         private EventHandler() {
             MinecraftForge.EVENT_BUS.register(this);
+            FMLCommonHandler.instance()
+                .bus()
+                .register(this);
         }
 
         @SubscribeEvent
@@ -488,6 +965,25 @@ public abstract class GTChunkAssociatedData<T extends GTChunkAssociatedData.IDat
                 // there is no need to explicitly do a save here
                 // forge will send a WorldEvent.Save on server thread before this event is distributed
                 d.masterMap.remove(e.world.provider.dimensionId);
+                d.unloadCandidates.remove(e.world.provider.dimensionId);
+                d.finishUnloading(e.world);
+            }
+        }
+
+        @SubscribeEvent
+        public void onChunkUnload(ChunkEvent.Unload e) {
+            if (e.world.isRemote) return;
+            for (GTChunkAssociatedData<?> d : instances.values()) {
+                d.onChunkUnload(e.getChunk());
+            }
+        }
+
+        @SubscribeEvent
+        public void onServerTick(TickEvent.ServerTickEvent e) {
+            if (e.phase != TickEvent.Phase.END) return;
+            if (++currentTick % UNLOAD_CHECK_INTERVAL != 0) return;
+            for (GTChunkAssociatedData<?> d : instances.values()) {
+                d.unloadIdleRegions();
             }
         }
     }
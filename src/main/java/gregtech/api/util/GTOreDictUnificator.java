@@ -286,14 +286,22 @@ public class GTOreDictUnificator {
             if (GTUtility.areStacksEqual(aStack, unified_tStack, true)) return true;
             else alreadyCompared = true;
         }
-        if (aStackPrefixData.mUnificationTarget == null)
-            aStackPrefixData.mUnificationTarget = sName2StackMap.get(aStackPrefixData.toString());
-        rStack = aStackPrefixData.mUnificationTarget;
+        rStack = getUnificationTarget(aStackPrefixData);
         if (GTUtility.isStackInvalid(rStack))
             return !alreadyCompared && GTUtility.areStacksEqual(aStack, unified_tStack, true);
         return GTUtility.areStacksEqual(rStack, unified_tStack, true);
     }
 
+    /**
+     * @return Stack the items of the supplied prefix and material data are unified to when matching recipe inputs.
+     */
+    @Nullable
+    public static ItemStack getUnificationTarget(ItemData aStackPrefixData) {
+        if (aStackPrefixData.mUnificationTarget == null)
+            aStackPrefixData.mUnificationTarget = sName2StackMap.get(aStackPrefixData.toString());
+        return aStackPrefixData.mUnificationTarget;
+    }
+
     public static List<ItemStack> getNonUnifiedStacks(Object obj) {
         if (sUnificationTable.isEmpty() && !sItemStack2DataMap.isEmpty()) {
             // use something akin to double check lock. this synchronization overhead is causing lag whenever my
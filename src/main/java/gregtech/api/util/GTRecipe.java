@@ -29,7 +29,9 @@ import gregtech.api.metatileentity.implementations.MTEHatchInput;
 import gregtech.api.metatileentity.implementations.MTEHatchInputBus;
 import gregtech.api.metatileentity.implementations.MTEHatchMultiInput;
 import gregtech.api.objects.ItemData;
+import gregtech.api.recipe.CompiledRecipeInputs;
 import gregtech.api.recipe.RecipeCategory;
+import gregtech.api.recipe.RecipeInputSnapshot;
 import gregtech.api.recipe.RecipeMap;
 import gregtech.api.recipe.RecipeMaps;
 import gregtech.api.recipe.RecipeMetadataKey;
@@ -135,6 +137,8 @@ public class GTRecipe implements Comparable<GTRecipe> {
     /** Unified and type-merged stacks of mInputs, each item is guaranteed to be unique */
     private RecipeItemInput[] mergedInputCache = null;
     private static final RecipeItemInput[] EMPTY_INPUT_CACHE = new RecipeItemInput[0];
+    /** Inputs flattened for matching against {@link RecipeInputSnapshot}, see {@link #getCompiledInputs} */
+    private CompiledRecipeInputs compiledInputs = null;
 
     /** A single recipe input, used for an internal cache to speed up recipe matching */
     public static final class RecipeItemInput {
@@ -501,6 +505,33 @@ public class GTRecipe implements Comparable<GTRecipe> {
         }
     }
 
+    /**
+     * @return Inputs of this recipe compiled for {@link #maxParallelCalculatedByInputs(int, RecipeInputSnapshot)}, or
+     *         null if unification isn't final yet.
+     */
+    @Nullable
+    public CompiledRecipeInputs getCompiledInputs() {
+        CompiledRecipeInputs compiled = compiledInputs;
+        if (compiled != null && compiled.isCompiledFrom(mInputs, mFluidInputs)) {
+            return compiled;
+        }
+        // Same as the merged input cache, unified stacks can still change until everything is loaded
+        if (!GregTechAPI.sFullLoadFinished) {
+            return null;
+        }
+        compiled = CompiledRecipeInputs.compile(mInputs, mFluidInputs, getCachedCombinedItemInputs());
+        compiledInputs = compiled;
+        return compiled;
+    }
+
+    /**
+     * Drops the compiled inputs, so they are compiled again on the next match. Needs to be called when item ids are
+     * remapped.
+     */
+    public void invalidateCompiledInputs() {
+        compiledInputs = null;
+    }
+
     /**
      * WARNING: Do not call this method with both {@code aDecreaseStacksizeBySuccess} and {@code aDontCheckStackSizes}
      * set to {@code true}! You'll get weird behavior.
@@ -581,6 +612,18 @@ public class GTRecipe implements Comparable<GTRecipe> {
         }
     }
 
+    /**
+     * Same as {@link #maxParallelCalculatedByInputs(int, FluidStack[], ItemStack...)}, but reuses the inputs
+     * aggregated by the snapshot, which is a lot cheaper when testing many recipes against the same inputs.
+     */
+    public double maxParallelCalculatedByInputs(int maxParallel, RecipeInputSnapshot inputs) {
+        CompiledRecipeInputs compiled = getCompiledInputs();
+        if (compiled == null || !inputs.isUsable()) {
+            return maxParallelCalculatedByInputs(maxParallel, inputs.getFluids(), inputs.getItems());
+        }
+        return compiled.maxParallel(maxParallel, inputs);
+    }
+
     /**
      * Returns the number of parallel recipes, or 0 if recipe is not satisfied at all. 0 < number < 1 means that inputs
      * are found but not enough.
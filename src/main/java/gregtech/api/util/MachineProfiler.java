@@ -0,0 +1,194 @@
+package gregtech.api.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.server.MinecraftServer;
+
+import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
+import gregtech.api.metatileentity.implementations.MTEMultiBlockBase;
+
+/**
+ * Optional per-machine profiler of multiblock controllers, toggled with {@code /gt profile}.
+ * <p>
+ * While enabled, every controller gets its own {@link Stats}, keeping the time spent in {@code onPostTick}, recipe
+ * checks and structure checks plus the number of these checks. Stats are kept in a ring buffer of
+ * {@value #WINDOW_TICKS} tick windows, so reports only cover the last {@value #WINDOWS} windows and old spikes fade
+ * out. Recording is a couple of array writes; when disabled, machines only read a static flag.
+ * <p>
+ * Only accessed from the server thread.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class MachineProfiler {
+
+    public static final int WINDOW_TICKS = 20;
+    public static final int WINDOWS = 30;
+
+    public static final int POST_TICK_NANOS = 0;
+    public static final int RECIPE_CHECK_NANOS = 1;
+    public static final int RECIPE_CHECKS = 2;
+    public static final int RECIPE_HITS = 3;
+    public static final int STRUCTURE_CHECK_NANOS = 4;
+    public static final int STRUCTURE_CHECKS = 5;
+    private static final int METRICS = 6;
+
+    private static boolean enabled;
+    private static long enabledAt;
+    private static long stoppedAt;
+    private static final Set<MTEMultiBlockBase> machines = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private MachineProfiler() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts profiling all the controllers from scratch.
+     */
+    public static void start() {
+        reset();
+        enabled = true;
+        enabledAt = currentTick();
+    }
+
+    /**
+     * Stops profiling. Collected stats are kept until the next {@link #start} or {@link #reset}, reports keep covering
+     * the windows up to the tick profiling was stopped at.
+     */
+    public static void stop() {
+        if (!enabled) return;
+        enabled = false;
+        stoppedAt = currentTick();
+    }
+
+    public static void reset() {
+        for (MTEMultiBlockBase machine : machines) {
+            machine.clearProfilerStats();
+        }
+        machines.clear();
+    }
+
+    /**
+     * @return Ticks the current or last profiling session covers, capped to the length of the ring buffer.
+     */
+    public static long getProfiledTicks() {
+        return Math.min(endTick() - enabledAt, (long) WINDOW_TICKS * WINDOWS);
+    }
+
+    /**
+     * Creates stats for a machine starting to be profiled. Called by {@link MTEMultiBlockBase#getProfilerStats}.
+     */
+    public static Stats register(MTEMultiBlockBase machine) {
+        machines.add(machine);
+        return new Stats();
+    }
+
+    /**
+     * @param metric One of the metric constants of this class to sort by.
+     * @param limit  Maximum number of entries.
+     * @return Controllers still in the world with the highest value of the metric, in descending order.
+     */
+    public static List<Entry> getTop(int metric, int limit) {
+        long tick = endTick();
+        List<Entry> entries = new ArrayList<>();
+        for (MTEMultiBlockBase machine : machines) {
+            IGregTechTileEntity baseTile = machine.getBaseMetaTileEntity();
+            Stats stats = machine.peekProfilerStats();
+            if (stats == null || baseTile == null || baseTile.isDead() || baseTile.getWorld() == null) continue;
+            entries.add(new Entry(machine, baseTile, stats.sum(tick)));
+        }
+        entries.sort(Comparator.comparingLong((Entry e) -> e.get(metric)).reversed());
+        return entries.size() > limit ? entries.subList(0, Math.max(0, limit)) : entries;
+    }
+
+    /**
+     * @return Last tick of the current or last profiling session.
+     */
+    private static long endTick() {
+        return enabled ? currentTick() : stoppedAt;
+    }
+
+    private static long currentTick() {
+        MinecraftServer server = MinecraftServer.getServer();
+        return server == null ? 0 : server.getTickCounter();
+    }
+
+    /**
+     * Ring buffer of the metrics of one machine, one row of {@link #METRICS} values per window.
+     */
+    public static final class Stats {
+
+        private final long[] values = new long[WINDOWS * METRICS];
+        private final long[] windowIds = new long[WINDOWS];
+
+        private Stats() {
+            Arrays.fill(windowIds, -1);
+        }
+
+        public void add(int metric, long value) {
+            long window = currentTick() / WINDOW_TICKS;
+            int slot = (int) (window % WINDOWS);
+            if (windowIds[slot] != window) {
+                // The slot holds a window which has fallen out of the buffer, start over
+                windowIds[slot] = window;
+                Arrays.fill(values, slot * METRICS, (slot + 1) * METRICS, 0);
+            }
+            values[slot * METRICS + metric] += value;
+        }
+
+        private long[] sum(long tick) {
+            long window = tick / WINDOW_TICKS;
+            long[] sum = new long[METRICS];
+            for (int slot = 0; slot < WINDOWS; slot++) {
+                if (windowIds[slot] < 0 || window - windowIds[slot] >= WINDOWS) continue;
+                for (int metric = 0; metric < METRICS; metric++) {
+                    sum[metric] += values[slot * METRICS + metric];
+                }
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Summed stats of a machine for a report.
+     */
+    public static final class Entry {
+
+        public final MTEMultiBlockBase machine;
+        public final int dimensionId;
+        public final int x, y, z;
+        private final long[] values;
+
+        private Entry(MTEMultiBlockBase machine, IGregTechTileEntity baseTile, long[] values) {
+            this.machine = machine;
+            this.dimensionId = baseTile.getWorld().provider.dimensionId;
+            this.x = baseTile.getXCoord();
+            this.y = baseTile.getYCoord();
+            this.z = baseTile.getZCoord();
+            this.values = values;
+        }
+
+        public long get(int metric) {
+            return values[metric];
+        }
+
+        /**
+         * @return Share of the recipe checks that have found a recipe, or null if there was no check.
+         */
+        @Nullable
+        public Double getHitRatio() {
+            long checks = values[RECIPE_CHECKS];
+            return checks == 0 ? null : (double) values[RECIPE_HITS] / checks;
+        }
+    }
+}
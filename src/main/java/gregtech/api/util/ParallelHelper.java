@@ -63,6 +63,15 @@ public class ParallelHelper {
      * The outputs of the recipe with the applied parallel
      */
     protected ItemStack[] itemOutputs;
+    /**
+     * The item output types of the recipe, one per output slot, amounts of which are in {@link #itemOutputAmounts}.
+     * Shared with the recipe, do not mutate.
+     */
+    protected ItemStack[] itemOutputTypes;
+    /**
+     * The amounts of {@link #itemOutputTypes} with the applied parallel
+     */
+    protected long[] itemOutputAmounts;
     /**
      * The inputs of the multiblock for the current recipe check
      */
@@ -71,6 +80,15 @@ public class ParallelHelper {
      * The outputs of the recipe with the applied parallel
      */
     protected FluidStack[] fluidOutputs;
+    /**
+     * The fluid output types of the recipe, one per output slot, amounts of which are in {@link #fluidOutputAmounts}.
+     * Shared with the recipe, do not mutate.
+     */
+    protected FluidStack[] fluidOutputTypes;
+    /**
+     * The amounts of {@link #fluidOutputTypes} with the applied parallel
+     */
+    protected long[] fluidOutputAmounts;
     /**
      * Does the multi have void protection enabled for items
      */
@@ -334,7 +352,7 @@ public class ParallelHelper {
     }
 
     /**
-     * @return The ItemOutputs from the recipe
+     * @return The ItemOutputs from the recipe. Outputs above {@link Integer#MAX_VALUE} are split into several stacks.
      */
     @Nonnull
     public ItemStack[] getItemOutputs() {
@@ -342,11 +360,14 @@ public class ParallelHelper {
             throw new IllegalStateException(
                 "Tried to get item outputs before building or without enabling calculation of outputs");
         }
+        if (itemOutputs == null && itemOutputTypes != null) {
+            itemOutputs = materializeItemOutputs(itemOutputTypes, itemOutputAmounts);
+        }
         return itemOutputs;
     }
 
     /**
-     * @return The FluidOutputs from the recipe
+     * @return The FluidOutputs from the recipe. Outputs above {@link Integer#MAX_VALUE} are split into several stacks.
      */
     @Nonnull
     public FluidStack[] getFluidOutputs() {
@@ -354,9 +375,72 @@ public class ParallelHelper {
             throw new IllegalStateException(
                 "Tried to get fluid outputs before building or without enabling calculation of outputs");
         }
+        if (fluidOutputs == null && fluidOutputTypes != null) {
+            fluidOutputs = materializeFluidOutputs(fluidOutputTypes, fluidOutputAmounts);
+        }
         return fluidOutputs;
     }
 
+    /**
+     * Item outputs without splitting them into stacks, for outputs that can take long amounts directly like
+     * {@link gregtech.api.metatileentity.implementations.MTEHatchOutputBus#storeLong}. Amounts are in
+     * {@link #getItemOutputAmounts} at the same index, entries with amount 0 are possible. Do not mutate the returned
+     * stacks.
+     */
+    @Nonnull
+    public ItemStack[] getItemOutputTypes() {
+        if (!built || !calculateOutputs) {
+            throw new IllegalStateException(
+                "Tried to get item outputs before building or without enabling calculation of outputs");
+        }
+        if (itemOutputTypes == null) {
+            // Custom calculation or no outputs at all
+            itemOutputTypes = itemOutputs != null ? itemOutputs : new ItemStack[0];
+            itemOutputAmounts = new long[itemOutputTypes.length];
+            for (int i = 0; i < itemOutputTypes.length; i++) {
+                itemOutputAmounts[i] = itemOutputTypes[i] != null ? itemOutputTypes[i].stackSize : 0;
+            }
+        }
+        return itemOutputTypes;
+    }
+
+    /**
+     * @return Amounts of {@link #getItemOutputTypes}.
+     */
+    @Nonnull
+    public long[] getItemOutputAmounts() {
+        getItemOutputTypes();
+        return itemOutputAmounts;
+    }
+
+    /**
+     * Same as {@link #getItemOutputTypes} for fluids.
+     */
+    @Nonnull
+    public FluidStack[] getFluidOutputTypes() {
+        if (!built || !calculateOutputs) {
+            throw new IllegalStateException(
+                "Tried to get fluid outputs before building or without enabling calculation of outputs");
+        }
+        if (fluidOutputTypes == null) {
+            fluidOutputTypes = fluidOutputs != null ? fluidOutputs : new FluidStack[0];
+            fluidOutputAmounts = new long[fluidOutputTypes.length];
+            for (int i = 0; i < fluidOutputTypes.length; i++) {
+                fluidOutputAmounts[i] = fluidOutputTypes[i] != null ? fluidOutputTypes[i].amount : 0;
+            }
+        }
+        return fluidOutputTypes;
+    }
+
+    /**
+     * @return Amounts of {@link #getFluidOutputTypes}.
+     */
+    @Nonnull
+    public long[] getFluidOutputAmounts() {
+        getFluidOutputTypes();
+        return fluidOutputAmounts;
+    }
+
     /**
      * @return The result of why a recipe could've failed or succeeded
      */
@@ -542,43 +626,84 @@ public class ParallelHelper {
         fluidInputs = fluidInputsToUse;
     }
 
+    /**
+     * Calculates the amount of every output slot with the applied parallel. Stacks are created only once they're
+     * requested by {@link #getItemOutputs}.
+     */
     protected void calculateItemOutputs(ItemStack[] truncatedItemOutputs) {
         if (customItemOutputCalculation != null) {
             itemOutputs = customItemOutputCalculation.apply(currentParallel);
             return;
         }
         if (truncatedItemOutputs.length == 0) return;
-        ArrayList<ItemStack> itemOutputsList = new ArrayList<>();
+        itemOutputTypes = truncatedItemOutputs;
+        itemOutputAmounts = new long[truncatedItemOutputs.length];
         for (int i = 0; i < truncatedItemOutputs.length; i++) {
-            if (recipe.getOutput(i) == null) continue;
-            ItemStack origin = recipe.getOutput(i)
-                .copy();
-            final long itemStackSize = origin.stackSize;
+            ItemStack origin = truncatedItemOutputs[i];
+            if (origin == null) continue;
             long chancedOutputMultiplier = calculateIntegralChancedOutputMultiplier(
                 (int) (recipe.getOutputChance(i) * chanceMultiplier),
                 currentParallel);
-            long items = itemStackSize * chancedOutputMultiplier;
-            addItemsLong(itemOutputsList, origin, items);
+            itemOutputAmounts[i] = origin.stackSize * chancedOutputMultiplier;
         }
-        itemOutputs = itemOutputsList.toArray(new ItemStack[0]);
     }
 
+    /**
+     * Same as {@link #calculateItemOutputs} for fluids.
+     */
     protected void calculateFluidOutputs(FluidStack[] truncatedFluidOutputs) {
         if (customFluidOutputCalculation != null) {
             fluidOutputs = customFluidOutputCalculation.apply(currentParallel);
             return;
         }
         if (truncatedFluidOutputs.length == 0) return;
-        ArrayList<FluidStack> fluidOutputsList = new ArrayList<>();
+        fluidOutputTypes = truncatedFluidOutputs;
+        fluidOutputAmounts = new long[truncatedFluidOutputs.length];
         for (int i = 0; i < truncatedFluidOutputs.length; i++) {
-            if (recipe.getFluidOutput(i) == null) continue;
-            FluidStack origin = recipe.getFluidOutput(i)
-                .copy();
-            long fluids = (long) origin.amount * currentParallel;
+            FluidStack origin = truncatedFluidOutputs[i];
+            if (origin == null) continue;
+            fluidOutputAmounts[i] = (long) origin.amount * currentParallel;
+        }
+    }
+
+    private static ItemStack[] materializeItemOutputs(ItemStack[] types, long[] amounts) {
+        ItemStack[] outputs = new ItemStack[countStacks(amounts)];
+        int index = 0;
+        for (int i = 0; i < types.length; i++) {
+            long amount = amounts[i];
+            if (amount <= 0) continue;
+            while (amount > Integer.MAX_VALUE) {
+                outputs[index++] = GTUtility.copyAmountUnsafe(Integer.MAX_VALUE, types[i]);
+                amount -= Integer.MAX_VALUE;
+            }
+            outputs[index++] = GTUtility.copyAmountUnsafe((int) amount, types[i]);
+        }
+        return outputs;
+    }
 
-            addFluidsLong(fluidOutputsList, origin, fluids);
+    private static FluidStack[] materializeFluidOutputs(FluidStack[] types, long[] amounts) {
+        FluidStack[] outputs = new FluidStack[countStacks(amounts)];
+        int index = 0;
+        for (int i = 0; i < types.length; i++) {
+            long amount = amounts[i];
+            if (amount <= 0) continue;
+            while (amount > Integer.MAX_VALUE) {
+                outputs[index++] = GTUtility.copyAmount(Integer.MAX_VALUE, types[i]);
+                amount -= Integer.MAX_VALUE;
+            }
+            outputs[index++] = GTUtility.copyAmount((int) amount, types[i]);
         }
-        fluidOutputs = fluidOutputsList.toArray(new FluidStack[0]);
+        return outputs;
+    }
+
+    private static int countStacks(long[] amounts) {
+        int count = 0;
+        for (long amount : amounts) {
+            if (amount > 0) {
+                count += (int) ((amount - 1) / Integer.MAX_VALUE) + 1;
+            }
+        }
+        return count;
     }
 
     public static double calculateChancedOutputMultiplier(int chanceInt, int parallel) {
@@ -598,16 +723,40 @@ public class ParallelHelper {
             double tMultiplier = stdDev * XSTR.XSTR_INSTANCE.nextGaussian() + mean;
             multiplier += Math.max(Math.min(tMultiplier, parallel), 0);
         } else {
-            // Do Binomial Distribution by loop
-            for (int roll = 0; roll < parallel; roll++) {
-                if (transformedChanceInt > XSTR.XSTR_INSTANCE.nextInt(10000)) {
-                    multiplier += 1;
-                }
-            }
+            multiplier += sampleBinomial(chance, parallel);
         }
         return multiplier;
     }
 
+    /**
+     * Samples the number of successful rolls out of {@code rolls} with the supplied chance. Instead of rolling each
+     * one, the failed rolls between two successes are skipped at once, as their count is geometrically distributed.
+     * This takes as many random numbers as there are successes, or failures for chances above a half.
+     */
+    private static long sampleBinomial(double chance, int rolls) {
+        // Same as rolling each one, the loop below wouldn't end for these
+        if (chance <= 0) {
+            return 0;
+        }
+        if (chance >= 1) {
+            return rolls;
+        }
+        if (chance > 0.5) {
+            return rolls - sampleBinomial(1 - chance, rolls);
+        }
+        double logFailureChance = Math.log1p(-chance);
+        long successes = 0;
+        long roll = 0;
+        while (true) {
+            roll += (long) (Math.log(1 - XSTR.XSTR_INSTANCE.nextDouble()) / logFailureChance);
+            if (roll >= rolls) {
+                return successes;
+            }
+            successes++;
+            roll++;
+        }
+    }
+
     public static long calculateIntegralChancedOutputMultiplier(int chanceInt, int parallel) {
         double multiplier = calculateChancedOutputMultiplier(chanceInt, parallel);
         if (multiplier != Math.floor(multiplier)
@@ -0,0 +1,178 @@
+package gregtech.api.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.server.MinecraftServer;
+
+import gregtech.api.GregTechAPI;
+import gregtech.api.interfaces.metatileentity.IMetaTileEntity;
+
+/**
+ * Optional profiler of the time machines spend in each phase of {@code BaseMetaTileEntity.updateEntityProfiled},
+ * summed up per meta tile ID. Toggled with {@code /gt tick_profile}.
+ * <p>
+ * Unlike {@link MachineProfiler}, nothing is kept per machine, so it covers every kind of machine at a fixed cost:
+ * one {@link LongAdder} per ID and phase, created when the ID first ticks. The adders don't lock, so machines ticked
+ * from several threads don't need to synchronize. When disabled, machines only read a static flag.
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public final class TickPhaseProfiler {
+
+    public static final int COVERS = 0;
+    public static final int PRE_TICK = 1;
+    public static final int ENERGY = 2;
+    public static final int HAZARDS = 3;
+    public static final int CHARGING = 4;
+    public static final int POST_TICK = 5;
+    public static final int UPDATES = 6;
+    public static final int PHASES = 7;
+    private static final String[] PHASE_NAMES = { "covers", "pre tick", "energy", "hazards", "charging", "post tick",
+        "updates" };
+    // counters of a row are the phases followed by the number of ticks
+    private static final int TICKS = PHASES;
+
+    private static volatile boolean enabled;
+    private static long enabledAt;
+    private static long stoppedAt = -1;
+    private static final AtomicReferenceArray<LongAdder[]> counters = new AtomicReferenceArray<>(
+        GregTechAPI.MAXIMUM_METATILE_IDS + 1);
+
+    private TickPhaseProfiler() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts profiling all the machines from scratch.
+     */
+    public static void start() {
+        reset();
+        enabledAt = currentTick();
+        stoppedAt = -1;
+        enabled = true;
+    }
+
+    /**
+     * Stops profiling. Collected times are kept until the next {@link #start} or {@link #reset}.
+     */
+    public static void stop() {
+        if (enabled) stoppedAt = currentTick();
+        enabled = false;
+    }
+
+    public static void reset() {
+        for (int i = 0; i < counters.length(); i++) counters.set(i, null);
+        enabledAt = currentTick();
+        if (!enabled) stoppedAt = enabledAt;
+    }
+
+    /**
+     * @return Server ticks the current or last profiling session covers.
+     */
+    public static long getProfiledTicks() {
+        return (stoppedAt < 0 ? currentTick() : stoppedAt) - enabledAt;
+    }
+
+    public static String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Adds the time since {@code start} to a phase of a machine ID.
+     *
+     * @return The current {@link System#nanoTime}, to start timing the next phase.
+     */
+    public static long record(short id, int phase, long start) {
+        final long now = System.nanoTime();
+        getRow(id)[phase].add(now - start);
+        return now;
+    }
+
+    /**
+     * Counts a tick of a machine with this ID.
+     */
+    public static void countTick(short id) {
+        getRow(id)[TICKS].increment();
+    }
+
+    private static LongAdder[] getRow(short id) {
+        LongAdder[] row = counters.get(id);
+        if (row == null) {
+            row = new LongAdder[PHASES + 1];
+            for (int i = 0; i < row.length; i++) row[i] = new LongAdder();
+            if (!counters.compareAndSet(id, null, row)) row = counters.get(id);
+        }
+        return row;
+    }
+
+    /**
+     * @param byClass Sum up all the IDs of the same meta tile entity class.
+     * @param limit   Maximum number of entries.
+     * @return The machine IDs or classes taking the most time, in descending order.
+     */
+    public static List<Entry> getTop(boolean byClass, int limit) {
+        Map<String, Entry> entries = new HashMap<>();
+        for (int id = 0; id < counters.length(); id++) {
+            LongAdder[] row = counters.get(id);
+            if (row == null) continue;
+            IMetaTileEntity metaTileEntity = GregTechAPI.METATILEENTITIES[id];
+            String name;
+            if (metaTileEntity == null) name = "#" + id;
+            else if (byClass) name = metaTileEntity.getClass()
+                .getSimpleName();
+            else name = metaTileEntity.getMetaName() + " (#" + id + ")";
+            Entry entry = entries.computeIfAbsent(name, Entry::new);
+            for (int i = 0; i <= PHASES; i++) entry.values[i] += row[i].sum();
+        }
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong(Entry::getTotalNanos)
+            .reversed());
+        return sorted.size() > limit ? sorted.subList(0, Math.max(0, limit)) : sorted;
+    }
+
+    private static long currentTick() {
+        MinecraftServer server = MinecraftServer.getServer();
+        return server == null ? 0 : server.getTickCounter();
+    }
+
+    /**
+     * Summed times of a machine ID or class for a report.
+     */
+    public static final class Entry {
+
+        public final String name;
+        private final long[] values = new long[PHASES + 1];
+
+        private Entry(String name) {
+            this.name = name;
+        }
+
+        public long getPhaseNanos(int phase) {
+            return values[phase];
+        }
+
+        public long getTotalNanos() {
+            long total = 0;
+            for (int i = 0; i < PHASES; i++) total += values[i];
+            return total;
+        }
+
+        /**
+         * @return Ticks of all the machines summed up, so the number of machines on average is this divided by the
+         *         profiled ticks.
+         */
+        public long getMachineTicks() {
+            return values[TICKS];
+        }
+    }
+}
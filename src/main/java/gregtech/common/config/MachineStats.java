@@ -106,6 +106,12 @@ public class MachineStats {
         @Config.DefaultBoolean(false)
         @Config.RequiresMcRestart
         public boolean forceFreeFace;
+
+        @Config.Comment({ "Longest interval in ticks between the recipe checks of an idle multiblock,",
+            "which keeps finding no recipe or no room for the outputs. 100 disables the back-off." })
+        @Config.DefaultInt(1200)
+        @Config.RangeInt(min = 100)
+        public int maxIdleRecipeCheckInterval;
     }
 
     @Config.LangKey("GT5U.gui.config.machine_stats.mass_fabricator")
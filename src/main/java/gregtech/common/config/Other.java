@@ -21,4 +21,40 @@ public class Other {
     @Config.DefaultInt(512)
     @Config.RequiresMcRestart
     public static int sprayCanUses;
+
+    @Config.Comment({ "Move fluids through connected pipes of the same kind as one network, only touching the tanks at",
+        "its ends. Saves a lot of time on long pipelines, but fluids arrive instantly instead of block by block." })
+    @Config.DefaultBoolean(false)
+    public static boolean fluidPipeNetworks;
+
+    @Config.Comment({ "Keep chunk data of a fixed size (like pollution) in memory mapped files of one record per",
+        "chunk, so saving only writes what changed. Existing files are converted on the next save, in both",
+        "directions." })
+    @Config.DefaultBoolean(false)
+    public static boolean mappedChunkData;
+
+    @Config.Comment({ "Only recompute which sides of electric machines accept or emit energy when their covers,",
+        "facing or neighbours change, and once a second, and roll fire and rain hazards on a fixed schedule per",
+        "machine (same average rate) instead of every tick. Machines whose energy sides change on their own may",
+        "react up to a second late." })
+    @Config.DefaultBoolean(false)
+    public static boolean eventDrivenEnergyTicks;
+
+    @Config.Comment({ "Collect wireless EU added and taken by hatches and dynamos in lock-free counters per team and",
+        "only update the stored EU once per tick, instead of on every transfer. Balances and overdraft checks stay",
+        "exact." })
+    @Config.DefaultBoolean(false)
+    public static boolean wirelessEnergyLedger;
+
+    @Config.Comment({ "Let stocking input buses listen to changes of their ME network and remember how much of each",
+        "item is available until it changes, instead of asking the network on every recipe check.",
+        "Auto-pull buses also skip refreshing their item list while nothing in the network changed." })
+    @Config.DefaultBoolean(false)
+    public static boolean meStockingWatchers;
+
+    @Config.Comment({ "Share the amounts stocking input buses and hatches see in their ME network between all of them",
+        "on the same network within a tick, so each item is only looked up once per tick. Lookups are",
+        "repeated when the network reports a change of the item." })
+    @Config.DefaultBoolean(false)
+    public static boolean meStockingSnapshots;
 }
@@ -23,8 +23,11 @@ import cpw.mods.fml.relauncher.FMLLaunchHandler;
 import gregtech.GTMod;
 import gregtech.api.enums.GTValues;
 import gregtech.api.objects.GTChunkManager;
+import gregtech.api.util.GTChunkAssociatedData;
 import gregtech.api.util.GTMusicSystem;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.MachineProfiler;
+import gregtech.api.util.TickPhaseProfiler;
 import gregtech.common.misc.spaceprojects.SpaceProjectManager;
 import gregtech.common.pollution.Pollution;
 
@@ -37,13 +40,15 @@ public final class GTCommand extends CommandBase {
 
     @Override
     public String getCommandUsage(ICommandSender sender) {
-        return "Usage: gt <subcommand>. Valid subcommands are: toggle, chunks, pollution, global_energy_add, global_energy_set, global_energy_join, dump_music_durations.";
+        return "Usage: gt <subcommand>. Valid subcommands are: toggle, chunks, pollution, global_energy_add, "
+            + "global_energy_set, global_energy_join, dump_music_durations, profile, tick_profile, chunk_data.";
     }
 
     private void printHelp(ICommandSender sender) {
         sender.addChatMessage(
             new ChatComponentText(
-                "Usage: gt <toggle|chunks|pollution|global_energy_add|global_energy_set|global_energy_join|dump_music_durations>"));
+                "Usage: gt <toggle|chunks|pollution|global_energy_add|global_energy_set|global_energy_join"
+                    + "|dump_music_durations|profile|tick_profile|chunk_data>"));
         sender.addChatMessage(new ChatComponentText("\"toggle D1\" - toggles general.Debug (D1)"));
         sender.addChatMessage(new ChatComponentText("\"toggle D2\" - toggles general.Debug2 (D2)"));
         sender.addChatMessage(new ChatComponentText("\"toggle debugCleanroom\" - toggles cleanroom debug log"));
@@ -101,6 +106,20 @@ public final class GTCommand extends CommandBase {
         sender.addChatMessage(
             new ChatComponentText(
                 "\"dump_music_durations\" - dumps soundmeta/durations.json for all registered records in the game to the log. Client-only"));
+        sender.addChatMessage(
+            new ChatComponentText(
+                "\"profile <start|stop|reset>\" - starts, stops or clears profiling of multiblock controllers"));
+        sender.addChatMessage(
+            new ChatComponentText(
+                "\"profile top [count] [tick|recipe|structure|checks]\" - lists the controllers taking the most time"));
+        sender.addChatMessage(
+            new ChatComponentText(
+                "\"tick_profile <start|stop|reset>\" - starts, stops or clears profiling the tick phases of machines"));
+        sender.addChatMessage(
+            new ChatComponentText(
+                "\"tick_profile top|classes [count]\" - lists the machine types or classes taking the most time"));
+        sender.addChatMessage(
+            new ChatComponentText("\"chunk_data\" - shows how many regions of chunk data are kept in memory"));
     }
 
     @Override
@@ -116,7 +135,10 @@ public final class GTCommand extends CommandBase {
                 "global_energy_set",
                 "global_energy_join",
                 "global_energy_display",
-                "dump_music_durations")
+                "dump_music_durations",
+                "profile",
+                "tick_profile",
+                "chunk_data")
             .anyMatch(s -> s.startsWith(test)))) {
             Stream
                 .of(
@@ -127,9 +149,27 @@ public final class GTCommand extends CommandBase {
                     "global_energy_set",
                     "global_energy_join",
                     "global_energy_display",
-                    "dump_music_durations")
+                    "dump_music_durations",
+                    "profile",
+                    "tick_profile",
+                    "chunk_data")
                 .filter(s -> test.isEmpty() || s.startsWith(test))
                 .forEach(l::add);
+        } else if (test.equals("profile") && ss.length == 2) {
+            String test1 = ss[1].trim();
+            Stream.of("start", "stop", "reset", "top")
+                .filter(s -> test1.isEmpty() || s.startsWith(test1))
+                .forEach(l::add);
+        } else if (test.equals("tick_profile") && ss.length == 2) {
+            String test1 = ss[1].trim();
+            Stream.of("start", "stop", "reset", "top", "classes")
+                .filter(s -> test1.isEmpty() || s.startsWith(test1))
+                .forEach(l::add);
+        } else if (test.equals("profile") && ss.length == 4) {
+            String test3 = ss[3].trim();
+            Stream.of("tick", "recipe", "structure", "checks")
+                .filter(s -> test3.isEmpty() || s.startsWith(test3))
+                .forEach(l::add);
         } else if (test.equals("toggle")) {
             String test1 = ss[1].trim();
             Stream
@@ -345,6 +385,66 @@ public final class GTCommand extends CommandBase {
                 }
                 GTMusicSystem.ClientSystem.dumpAllRecordDurations();
             }
+            case "tick_profile" -> {
+                if (strings.length < 2) {
+                    printHelp(sender);
+                    return;
+                }
+                switch (strings[1]) {
+                    case "start" -> {
+                        TickPhaseProfiler.start();
+                        sender.addChatMessage(new ChatComponentText("Started profiling the tick phases of machines."));
+                    }
+                    case "stop" -> {
+                        TickPhaseProfiler.stop();
+                        sender.addChatMessage(
+                            new ChatComponentText("Stopped profiling, the results are kept until the next start."));
+                    }
+                    case "reset" -> {
+                        TickPhaseProfiler.reset();
+                        sender.addChatMessage(new ChatComponentText("Cleared all the profiling results."));
+                    }
+                    case "top", "classes" -> {
+                        int count = parseCount(sender, strings);
+                        if (count > 0) printTickProfile(sender, count, strings[1].equals("classes"));
+                    }
+                    default -> printHelp(sender);
+                }
+            }
+            case "chunk_data" -> {
+                for (String line : GTChunkAssociatedData.getStatistics()) {
+                    sender.addChatMessage(new ChatComponentText(line));
+                }
+            }
+            case "profile" -> {
+
+                // Usage is /gt profile <start|stop|reset|top> [count] [sort]
+
+                if (strings.length < 2) {
+                    printHelp(sender);
+                    return;
+                }
+                switch (strings[1]) {
+                    case "start" -> {
+                        MachineProfiler.start();
+                        sender.addChatMessage(new ChatComponentText("Started profiling multiblock controllers."));
+                    }
+                    case "stop" -> {
+                        MachineProfiler.stop();
+                        sender.addChatMessage(
+                            new ChatComponentText("Stopped profiling, the results are kept until the next start."));
+                    }
+                    case "reset" -> {
+                        MachineProfiler.reset();
+                        sender.addChatMessage(new ChatComponentText("Cleared all the profiling results."));
+                    }
+                    case "top" -> {
+                        int count = parseCount(sender, strings);
+                        if (count > 0) printProfile(sender, count, strings.length > 3 ? strings[3] : "tick");
+                    }
+                    default -> printHelp(sender);
+                }
+            }
             default -> {
                 sender
                     .addChatMessage(new ChatComponentText(EnumChatFormatting.RED + "Invalid command/syntax detected."));
@@ -352,4 +452,128 @@ public final class GTCommand extends CommandBase {
             }
         }
     }
+
+    private void printProfile(ICommandSender sender, int count, String sort) {
+        int metric = switch (sort) {
+            case "recipe" -> MachineProfiler.RECIPE_CHECK_NANOS;
+            case "structure" -> MachineProfiler.STRUCTURE_CHECK_NANOS;
+            case "checks" -> MachineProfiler.RECIPE_CHECKS;
+            default -> MachineProfiler.POST_TICK_NANOS;
+        };
+        long ticks = Math.max(1, MachineProfiler.getProfiledTicks());
+        List<MachineProfiler.Entry> entries = MachineProfiler.getTop(metric, count);
+        if (entries.isEmpty()) {
+            sender.addChatMessage(
+                new ChatComponentText(
+                    MachineProfiler.isEnabled() ? "No multiblock controller has been profiled yet."
+                        : "Profiler isn't running, start it with /gt profile start"));
+            return;
+        }
+        sender.addChatMessage(
+            new ChatComponentText(
+                EnumChatFormatting.GOLD + "Top "
+                    + entries.size()
+                    + " controllers by "
+                    + sort
+                    + " over the last "
+                    + ticks
+                    + " ticks:"));
+        for (int i = 0; i < entries.size(); i++) {
+            MachineProfiler.Entry entry = entries.get(i);
+            Double hitRatio = entry.getHitRatio();
+            sender.addChatMessage(
+                new ChatComponentText(
+                    (i + 1) + ". "
+                        + EnumChatFormatting.AQUA
+                        + entry.machine.getLocalName()
+                        + EnumChatFormatting.RESET
+                        + " at "
+                        + entry.x
+                        + ", "
+                        + entry.y
+                        + ", "
+                        + entry.z
+                        + " (dim "
+                        + entry.dimensionId
+                        + "): "
+                        + EnumChatFormatting.RED
+                        + formatMicros(entry.get(MachineProfiler.POST_TICK_NANOS), ticks)
+                        + EnumChatFormatting.RESET
+                        + " tick, "
+                        + formatMicros(entry.get(MachineProfiler.RECIPE_CHECK_NANOS), ticks)
+                        + " in "
+                        + entry.get(MachineProfiler.RECIPE_CHECKS)
+                        + " recipe checks"
+                        + (hitRatio == null ? "" : " (" + Math.round(hitRatio * 100) + "% found)")
+                        + ", "
+                        + formatMicros(entry.get(MachineProfiler.STRUCTURE_CHECK_NANOS), ticks)
+                        + " in "
+                        + entry.get(MachineProfiler.STRUCTURE_CHECKS)
+                        + " structure checks"));
+        }
+    }
+
+    private void printTickProfile(ICommandSender sender, int count, boolean byClass) {
+        long ticks = Math.max(1, TickPhaseProfiler.getProfiledTicks());
+        List<TickPhaseProfiler.Entry> entries = TickPhaseProfiler.getTop(byClass, count);
+        if (entries.isEmpty()) {
+            sender.addChatMessage(
+                new ChatComponentText(
+                    TickPhaseProfiler.isEnabled() ? "No machine has been profiled yet."
+                        : "Profiler isn't running, start it with /gt tick_profile start"));
+            return;
+        }
+        sender.addChatMessage(
+            new ChatComponentText(
+                EnumChatFormatting.GOLD + "Top "
+                    + entries.size()
+                    + (byClass ? " machine classes" : " machine types")
+                    + " over the last "
+                    + ticks
+                    + " ticks:"));
+        for (int i = 0; i < entries.size(); i++) {
+            TickPhaseProfiler.Entry entry = entries.get(i);
+            StringBuilder phases = new StringBuilder();
+            for (int phase = 0; phase < TickPhaseProfiler.PHASES; phase++) {
+                if (entry.getPhaseNanos(phase) == 0) continue;
+                if (phases.length() > 0) phases.append(", ");
+                phases.append(TickPhaseProfiler.getPhaseName(phase))
+                    .append(' ')
+                    .append(formatMicros(entry.getPhaseNanos(phase), ticks));
+            }
+            sender.addChatMessage(
+                new ChatComponentText(
+                    (i + 1) + ". "
+                        + EnumChatFormatting.AQUA
+                        + entry.name
+                        + EnumChatFormatting.RESET
+                        + String.format(" (%.1f machines): ", (double) entry.getMachineTicks() / ticks)
+                        + EnumChatFormatting.RED
+                        + formatMicros(entry.getTotalNanos(), ticks)
+                        + EnumChatFormatting.RESET
+                        + " ("
+                        + phases
+                        + ")"));
+        }
+    }
+
+    /**
+     * @return Count of entries to list, or -1 if it isn't a valid number.
+     */
+    private static int parseCount(ICommandSender sender, String[] strings) {
+        if (strings.length < 3) return 10;
+        try {
+            return Math.max(1, Integer.parseInt(strings[2]));
+        } catch (NumberFormatException e) {
+            sender.addChatMessage(new ChatComponentText(EnumChatFormatting.RED + "Invalid count: " + strings[2]));
+            return -1;
+        }
+    }
+
+    /**
+     * @return Average time per tick in microseconds.
+     */
+    private static String formatMicros(long nanos, long ticks) {
+        return String.format("%.1f\u00B5s/t", nanos / 1000.0 / ticks);
+    }
 }
@@ -4,10 +4,13 @@ import static gregtech.common.misc.GlobalVariableStorage.GlobalEnergy;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InvalidClassException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +23,7 @@ import net.minecraft.world.storage.MapStorage;
 import net.minecraftforge.event.world.WorldEvent;
 
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import gregtech.GTMod;
 import gregtech.common.misc.spaceprojects.SpaceProjectManager;
 
 public class GlobalEnergyWorldSavedData extends WorldSavedData {
@@ -28,12 +32,26 @@ public class GlobalEnergyWorldSavedData extends WorldSavedData {
 
     private static final String DATA_NAME = "GregTech_WirelessEUWorldSavedData";
 
+    // Old saves, a HashMap serialized with ObjectOutputStream. Only read to migrate them.
     private static final String GlobalEnergyNBTTag = "GregTech_GlobalEnergy_MapNBTTag";
     private static final String GlobalEnergyTeamNBTTag = "GregTech_GlobalEnergyTeam_MapNBTTag";
 
+    /*
+     * Format of GlobalEnergyBinaryNBTTag: a version byte, the number of entries as an int, then per entry the most and
+     * least significant bits of the UUID as longs, followed by the length of the EU as an int and the EU itself as
+     * given by BigInteger.toByteArray.
+     */
+    private static final String GlobalEnergyBinaryNBTTag = "GregTech_GlobalEnergy_Binary";
+    private static final byte FORMAT_VERSION = 1;
+
+    // EU as of the last save, to only convert balances which changed since then
+    private final Map<UUID, BigInteger> savedEU = new HashMap<>();
+    private final Map<UUID, byte[]> savedBytes = new HashMap<>();
+
     private static void loadInstance(World world) {
 
         GlobalEnergy.clear();
+        WirelessEnergyLedger.clear();
 
         MapStorage storage = world.mapStorage;
         INSTANCE = (GlobalEnergyWorldSavedData) storage.loadData(GlobalEnergyWorldSavedData.class, DATA_NAME);
@@ -65,61 +83,136 @@ public class GlobalEnergyWorldSavedData extends WorldSavedData {
     @SuppressWarnings("unchecked")
     public void readFromNBT(NBTTagCompound nbtTagCompound) {
 
+        boolean readBinary = false;
+        if (nbtTagCompound.hasKey(GlobalEnergyBinaryNBTTag)) {
+            try {
+                readEnergy(nbtTagCompound.getByteArray(GlobalEnergyBinaryNBTTag));
+                readBinary = true;
+            } catch (IOException exception) {
+                GTMod.GT_FML_LOGGER.error("Failed to read " + GlobalEnergyBinaryNBTTag, exception);
+                GlobalEnergy.clear();
+            }
+        }
+        if (!readBinary && nbtTagCompound.hasKey(GlobalEnergyNBTTag)) {
+            readLegacyEnergy(nbtTagCompound.getByteArray(GlobalEnergyNBTTag));
+        }
         try {
-            byte[] ba = nbtTagCompound.getByteArray(GlobalEnergyNBTTag);
+            if (!nbtTagCompound.hasKey(GlobalEnergyTeamNBTTag)) return;
+            byte[] ba = nbtTagCompound.getByteArray(GlobalEnergyTeamNBTTag);
             InputStream byteArrayInputStream = new ByteArrayInputStream(ba);
-            ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
+            ObjectInputStream objectInputStream = new LegacyObjectInputStream(byteArrayInputStream);
             Object data = objectInputStream.readObject();
-            HashMap<Object, BigInteger> hashData = (HashMap<Object, BigInteger>) data;
-            for (Map.Entry<Object, BigInteger> entry : hashData.entrySet()) {
+            HashMap<String, String> oldTeams = (HashMap<String, String>) data;
+            for (String member : oldTeams.keySet()) {
+                String leader = oldTeams.get(member);
                 try {
-                    GlobalEnergy.put(
-                        UUID.fromString(
-                            entry.getKey()
-                                .toString()),
-                        entry.getValue());
+                    SpaceProjectManager.putInTeam(UUID.fromString(member), UUID.fromString(leader));
                 } catch (RuntimeException ignored) {
                     // probably a malformed uuid. in any case, try carry on with the load
                 }
             }
         } catch (IOException | ClassNotFoundException exception) {
-            System.out.println(GlobalEnergyNBTTag + " FAILED");
-            exception.printStackTrace();
+            GTMod.GT_FML_LOGGER.error("Failed to read " + GlobalEnergyTeamNBTTag, exception);
         }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readLegacyEnergy(byte[] ba) {
         try {
-            if (!nbtTagCompound.hasKey(GlobalEnergyTeamNBTTag)) return;
-            byte[] ba = nbtTagCompound.getByteArray(GlobalEnergyTeamNBTTag);
             InputStream byteArrayInputStream = new ByteArrayInputStream(ba);
-            ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
+            ObjectInputStream objectInputStream = new LegacyObjectInputStream(byteArrayInputStream);
             Object data = objectInputStream.readObject();
-            HashMap<String, String> oldTeams = (HashMap<String, String>) data;
-            for (String member : oldTeams.keySet()) {
-                String leader = oldTeams.get(member);
+            HashMap<Object, BigInteger> hashData = (HashMap<Object, BigInteger>) data;
+            for (Map.Entry<Object, BigInteger> entry : hashData.entrySet()) {
                 try {
-                    SpaceProjectManager.putInTeam(UUID.fromString(member), UUID.fromString(leader));
+                    GlobalEnergy.put(
+                        UUID.fromString(
+                            entry.getKey()
+                                .toString()),
+                        entry.getValue());
                 } catch (RuntimeException ignored) {
                     // probably a malformed uuid. in any case, try carry on with the load
                 }
             }
         } catch (IOException | ClassNotFoundException exception) {
-            System.out.println(GlobalEnergyTeamNBTTag + " FAILED");
-            exception.printStackTrace();
+            GTMod.GT_FML_LOGGER.error("Failed to read " + GlobalEnergyNBTTag, exception);
+        }
+    }
+
+    private static void readEnergy(byte[] bytes) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte version = input.readByte();
+        if (version != FORMAT_VERSION) throw new IOException("Unknown global energy format version " + version);
+        for (int i = input.readInt(); i > 0; i--) {
+            UUID uuid = new UUID(input.readLong(), input.readLong());
+            byte[] EU = new byte[input.readInt()];
+            input.readFully(EU);
+            GlobalEnergy.put(uuid, new BigInteger(EU));
         }
     }
 
     @Override
     public void writeToNBT(NBTTagCompound nbtTagCompound) {
+        WirelessEnergyLedger.settleAll();
+
+        savedEU.keySet()
+            .retainAll(GlobalEnergy.keySet());
+        savedBytes.keySet()
+            .retainAll(GlobalEnergy.keySet());
+        int size = 5;
+        for (Map.Entry<UUID, BigInteger> entry : GlobalEnergy.entrySet()) {
+            byte[] EU = savedBytes.get(entry.getKey());
+            // Balances are replaced, never modified, so an unchanged reference means an unchanged balance
+            if (EU == null || savedEU.get(entry.getKey()) != entry.getValue()) {
+                EU = entry.getValue()
+                    .toByteArray();
+                savedEU.put(entry.getKey(), entry.getValue());
+                savedBytes.put(entry.getKey(), EU);
+            }
+            size += 20 + EU.length;
+        }
 
         try {
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
-            objectOutputStream.writeObject(GlobalEnergy);
-            objectOutputStream.flush();
-            byte[] data = byteArrayOutputStream.toByteArray();
-            nbtTagCompound.setByteArray(GlobalEnergyNBTTag, data);
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(size);
+            DataOutputStream output = new DataOutputStream(byteArrayOutputStream);
+            output.writeByte(FORMAT_VERSION);
+            output.writeInt(GlobalEnergy.size());
+            for (Map.Entry<UUID, BigInteger> entry : GlobalEnergy.entrySet()) {
+                byte[] EU = savedBytes.get(entry.getKey());
+                output.writeLong(
+                    entry.getKey()
+                        .getMostSignificantBits());
+                output.writeLong(
+                    entry.getKey()
+                        .getLeastSignificantBits());
+                output.writeInt(EU.length);
+                output.write(EU);
+            }
+            output.flush();
+            nbtTagCompound.setByteArray(GlobalEnergyBinaryNBTTag, byteArrayOutputStream.toByteArray());
         } catch (IOException exception) {
-            System.out.println(GlobalEnergyNBTTag + " SAVE FAILED");
-            exception.printStackTrace();
+            GTMod.GT_FML_LOGGER.error("Failed to save " + GlobalEnergyBinaryNBTTag, exception);
+        }
+    }
+
+    /**
+     * Only resolves the classes old saves are made of, so migrating them can't instantiate anything else.
+     */
+    private static class LegacyObjectInputStream extends ObjectInputStream {
+
+        private LegacyObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            switch (desc.getName()) {
+                case "java.util.HashMap", "java.util.UUID", "java.lang.String", "java.math.BigInteger",
+                    "java.lang.Number", "[B", "[I" -> {
+                    return super.resolveClass(desc);
+                }
+                default -> throw new InvalidClassException(desc.getName(), "Not allowed in global energy data");
+            }
         }
     }
 }
@@ -0,0 +1,177 @@
+package gregtech.common.misc;
+
+import static gregtech.common.misc.GlobalVariableStorage.GlobalEnergy;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pending changes of the wireless EU of every team, used by {@link WirelessNetworkManager} when
+ * {@link gregtech.common.config.Other#wirelessEnergyLedger} is enabled.
+ * <p>
+ * Deposits go into a {@link LongAdder} per team, withdrawals take from a {@code long} budget of EU the team had at the
+ * last settlement. Neither locks or allocates, and both are folded into the {@link BigInteger} in
+ * {@link GlobalVariableStorage#GlobalEnergy} once per server tick by {@link #settleAll}. A withdrawal larger than the
+ * budget settles the team first and is checked against the exact balance, so it only fails if the team really doesn't
+ * have enough EU, same as without the ledger.
+ */
+public final class WirelessEnergyLedger {
+
+    // Larger deposits are settled right away, so the adders can't overflow within one tick
+    private static final long DEPOSIT_BOUND = 1L << 40;
+
+    private static final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+
+    private WirelessEnergyLedger() {}
+
+    /**
+     * @param team Team leader, see {@link gregtech.common.misc.spaceprojects.SpaceProjectManager#getLeader}.
+     * @return if the EU was added, false if this would leave the team with less than 0 EU.
+     */
+    static boolean add(UUID team, long EU) {
+        final Account account = accounts.computeIfAbsent(team, Account::new);
+        if (EU >= 0 && EU < DEPOSIT_BOUND) {
+            account.deposits.add(EU);
+            return true;
+        }
+        if (EU < 0 && EU != Long.MIN_VALUE && account.tryWithdraw(-EU)) return true;
+        return add(account, BigInteger.valueOf(EU));
+    }
+
+    static boolean add(UUID team, BigInteger EU) {
+        if (EU.bitLength() < 64) return add(team, EU.longValue());
+        return add(accounts.computeIfAbsent(team, Account::new), EU);
+    }
+
+    private static boolean add(Account account, BigInteger EU) {
+        synchronized (account) {
+            final BigInteger total = account.settle();
+            final BigInteger newTotal = total.add(EU);
+            if (newTotal.signum() < 0) {
+                account.open(total);
+                return false;
+            }
+            account.store(newTotal);
+            return true;
+        }
+    }
+
+    /**
+     * @return The exact EU of the team, including changes not settled yet.
+     */
+    static BigInteger getTotal(UUID team) {
+        final Account account = accounts.get(team);
+        if (account == null) return GlobalEnergy.getOrDefault(team, BigInteger.ZERO);
+        synchronized (account) {
+            final BigInteger total = account.settle();
+            account.open(total);
+            return total;
+        }
+    }
+
+    /**
+     * Overwrites the EU of the team, dropping any changes not settled yet.
+     */
+    static void set(UUID team, BigInteger EU) {
+        final Account account = accounts.computeIfAbsent(team, Account::new);
+        synchronized (account) {
+            account.settle();
+            account.store(EU);
+        }
+    }
+
+    /**
+     * Folds the changes of all the teams into {@link GlobalVariableStorage#GlobalEnergy}. Called at the end of every
+     * server tick and before saving.
+     */
+    public static void settleAll() {
+        for (Account account : accounts.values()) {
+            synchronized (account) {
+                account.open(account.settle());
+            }
+        }
+    }
+
+    /**
+     * Forgets all the accounts without settling them, for when {@link GlobalVariableStorage#GlobalEnergy} is cleared.
+     */
+    public static void clear() {
+        accounts.clear();
+    }
+
+    private static final class Account {
+
+        private final UUID team;
+        private final LongAdder deposits = new LongAdder();
+        // EU that can still be withdrawn without settling
+        private final AtomicLong budget = new AtomicLong();
+        // guarded by this, the deposits and budget as of the last settlement
+        private long settledDeposits;
+        private long settledBudget;
+
+        private Account(UUID team) {
+            this.team = team;
+        }
+
+        private boolean tryWithdraw(long EU) {
+            long current;
+            do {
+                current = budget.get();
+                if (current < EU) return false;
+            } while (!budget.compareAndSet(current, current - EU));
+            return true;
+        }
+
+        /**
+         * Folds the deposits and withdrawals since the last settlement into the map. Must hold the lock, and
+         * {@link #open} or {@link #store} afterwards, until then withdrawals wait for the lock.
+         *
+         * @return The EU of the team.
+         */
+        private BigInteger settle() {
+            final long withdrawn = settledBudget - budget.getAndSet(0);
+            settledBudget = 0;
+            // Wraps around along with the adder, only the difference matters
+            final long deposited = deposits.sum();
+            final long newDeposits = deposited - settledDeposits;
+            settledDeposits = deposited;
+            BigInteger total = GlobalEnergy.getOrDefault(team, BigInteger.ZERO);
+            if (newDeposits != 0 || withdrawn != 0) {
+                total = total.add(BigInteger.valueOf(newDeposits))
+                    .subtract(BigInteger.valueOf(withdrawn));
+                put(total);
+            }
+            return total;
+        }
+
+        /**
+         * Sets the EU of the team right after settling it.
+         */
+        private void store(BigInteger total) {
+            put(total);
+            open(total);
+        }
+
+        private void put(BigInteger total) {
+            GlobalEnergy.put(team, total);
+            if (GlobalEnergyWorldSavedData.INSTANCE != null) GlobalEnergyWorldSavedData.INSTANCE.markDirty();
+        }
+
+        /**
+         * Lets withdrawals up to the settled EU of the team through without the lock again.
+         */
+        private void open(BigInteger total) {
+            settledBudget = toBudget(total);
+            budget.set(settledBudget);
+        }
+
+        private static long toBudget(BigInteger total) {
+            if (total.signum() <= 0) return 0;
+            return total.bitLength() < 64 ? total.longValue() : Long.MAX_VALUE;
+        }
+    }
+}
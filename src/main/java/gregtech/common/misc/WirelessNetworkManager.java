@@ -6,6 +6,7 @@ import java.math.BigInteger;
 import java.util.UUID;
 
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
+import gregtech.common.config.Other;
 import gregtech.common.misc.spaceprojects.SpaceProjectManager;
 
 public class WirelessNetworkManager {
@@ -26,6 +27,10 @@ public class WirelessNetworkManager {
     // BigIntegers have much slower operations than longs/ints. You should call these methods
     // as infrequently as possible and bulk store values to add to the global map.
     public static boolean addEUToGlobalEnergyMap(UUID user_uuid, BigInteger EU) {
+        if (Other.wirelessEnergyLedger) {
+            return WirelessEnergyLedger.add(SpaceProjectManager.getLeader(user_uuid), EU);
+        }
+
         // Mark the data as dirty and in need of saving.
         try {
             GlobalEnergyWorldSavedData.INSTANCE.markDirty();
@@ -52,11 +57,15 @@ public class WirelessNetworkManager {
     }
 
     public static boolean addEUToGlobalEnergyMap(UUID user_uuid, long EU) {
+        if (Other.wirelessEnergyLedger) {
+            // Doesn't allocate unless a large withdrawal has to be checked against the exact balance
+            return WirelessEnergyLedger.add(SpaceProjectManager.getLeader(user_uuid), EU);
+        }
         return addEUToGlobalEnergyMap(user_uuid, BigInteger.valueOf(EU));
     }
 
     public static boolean addEUToGlobalEnergyMap(UUID user_uuid, int EU) {
-        return addEUToGlobalEnergyMap(user_uuid, BigInteger.valueOf(EU));
+        return addEUToGlobalEnergyMap(user_uuid, (long) EU);
     }
 
     // Ticks between energy additions to the hatch. For a dynamo this is how many ticks between energy being consumed
@@ -73,11 +82,17 @@ public class WirelessNetworkManager {
     // ------------------------------------------------------------------------------------
 
     public static BigInteger getUserEU(UUID user_uuid) {
+        if (Other.wirelessEnergyLedger) return WirelessEnergyLedger.getTotal(SpaceProjectManager.getLeader(user_uuid));
         return GlobalEnergy.getOrDefault(SpaceProjectManager.getLeader(user_uuid), BigInteger.ZERO);
     }
 
     // This overwrites the EU in the network. Only use this if you are absolutely sure you know what you are doing.
     public static void setUserEU(UUID user_uuid, BigInteger EU) {
+        if (Other.wirelessEnergyLedger) {
+            WirelessEnergyLedger.set(SpaceProjectManager.getLeader(user_uuid), EU);
+            return;
+        }
+
         // Mark the data as dirty and in need of saving.
         try {
             GlobalEnergyWorldSavedData.INSTANCE.markDirty();
@@ -92,6 +107,7 @@ public class WirelessNetworkManager {
     public static void clearGlobalEnergyInformationMaps() {
         // Do not use this unless you are 100% certain you know what you are doing.
         GlobalEnergy.clear();
+        WirelessEnergyLedger.clear();
     }
 
     public static UUID processInitialSettings(final IGregTechTileEntity machine) {
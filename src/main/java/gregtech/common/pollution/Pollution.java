@@ -6,10 +6,7 @@ import static gregtech.common.GTProxy.dimensionWisePollution;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -36,7 +33,6 @@ import com.gtnewhorizon.gtnhlib.capability.Capabilities;
 
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.TickEvent;
-import cpw.mods.fml.common.network.NetworkRegistry;
 import gregtech.GTMod;
 import gregtech.api.enums.GTValues;
 import gregtech.api.hazards.HazardProtection;
@@ -46,6 +42,12 @@ import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
 import gregtech.api.net.GTPacketPollution;
 import gregtech.api.util.GTChunkAssociatedData;
 import gregtech.api.util.GTUtility;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 public class Pollution {
 
@@ -69,10 +71,17 @@ public class Pollution {
      * Muffler Hatch Pollution reduction: ** inaccurate ** LV (0%), MV (30%), HV (52%), EV (66%), IV (76%), LuV (84%),
      * ZPM (89%), UV (92%), MAX (95%)
      */
-    private List<ChunkCoordIntPair> pollutionList = new ArrayList<>(); // chunks left to process in this cycle
-
-    private final Set<ChunkCoordIntPair> pollutedChunks = new HashSet<>(); // a global list of all chunks with positive
-                                                                           // pollution
+    private long[] pollutionList = new long[0]; // chunks left to process in this cycle
+    private int pollutionListSize = 0;
+
+    // a global list of all chunks with positive pollution, packed with ChunkCoordIntPair.chunkXZ2Int. Guarded by
+    // itself, as regions are also read by the IO workers saving them
+    private final LongOpenHashSet pollutedChunks = new LongOpenHashSet();
+    // buffers of one diffusion step, kept between ticks to not allocate them again
+    private final LongArrayList stepChunks = new LongArrayList();
+    private final IntArrayList stepPollution = new IntArrayList();
+    private final Long2IntOpenHashMap currentPollution = new Long2IntOpenHashMap();
+    private final Long2IntOpenHashMap nextPollution = new Long2IntOpenHashMap();
     private int operationsPerTick = 0; // how much chunks should be processed in each cycle
     private static final short cycleLen = 1200;
     private final World world;
@@ -96,7 +105,10 @@ public class Pollution {
         // return if pollution disabled
         if (!GTMod.gregtechproxy.mPollution) return;
         if (aEvent.phase == TickEvent.Phase.START) return;
-        final Pollution pollutionInstance = dimensionWisePollution.get(aEvent.world.provider.dimensionId);
+        final Pollution pollutionInstance;
+        synchronized (dimensionWisePollution) {
+            pollutionInstance = dimensionWisePollution.get(aEvent.world.provider.dimensionId);
+        }
         if (pollutionInstance == null) return;
         pollutionInstance.tickPollutionInWorld((int) (aEvent.world.getTotalWorldTime() % cycleLen));
     }
@@ -132,141 +144,222 @@ public class Pollution {
         // gen data set
         if (aTickID == 0 || blank) {
             // make a snapshot of what to work on
-            pollutionList = new ArrayList<>(pollutedChunks);
+            synchronized (pollutedChunks) {
+                pollutionList = pollutedChunks.toLongArray();
+            }
+            pollutionListSize = pollutionList.length;
             // set operations per tick
-            if (!pollutionList.isEmpty()) operationsPerTick = Math.max(1, pollutionList.size() / cycleLen);
+            if (pollutionListSize > 0) operationsPerTick = Math.max(1, pollutionListSize / cycleLen);
             else operationsPerTick = 0; // SANity
             blank = false;
         }
+        if (pollutionListSize == 0) return;
 
-        for (int chunksProcessed = 0; chunksProcessed < operationsPerTick; chunksProcessed++) {
-            if (pollutionList.isEmpty()) break; // no more stuff to do
-            ChunkCoordIntPair actualPos = pollutionList.remove(pollutionList.size() - 1); // faster
-            // get pollution
-            ChunkData currentData = STORAGE.get(world, actualPos);
-            int tPollution = currentData.getAmount();
-            // remove some
-            tPollution = (int) (0.9945f * tPollution);
+        // take this tick's share of the cycle
+        stepChunks.clear();
+        for (int chunksProcessed = 0; chunksProcessed < operationsPerTick && pollutionListSize > 0; chunksProcessed++) {
+            stepChunks.add(pollutionList[--pollutionListSize]);
+        }
+        diffuse();
+
+        for (int i = 0; i < stepChunks.size(); i++) {
+            final long chunk = stepChunks.getLong(i);
+            final int chunkX = getChunkX(chunk), chunkZ = getChunkZ(chunk);
+            // effects use the pollution the chunk kept after spreading, like before. unloaded chunks have no entities,
+            // and damaging their plants would load them
+            final int tPollution = stepPollution.getInt(i);
+            if (tPollution > 0 && world.getChunkProvider()
+                .chunkExists(chunkX, chunkZ)) applyEffects(chunkX, chunkZ, tPollution);
+        }
 
-            if (tPollution > 400000) { // Spread Pollution
+        sendPollution();
+    }
+
+    /**
+     * Decays and spreads the pollution of {@link #stepChunks} as one double-buffered step: every chunk is compared to
+     * the pollution its neighbours had before the step, and all the changes are collected in {@link #nextPollution}
+     * and written once at the end, so the result doesn't depend on the order the chunks are processed in. The pollution
+     * each chunk kept after spreading is left in {@link #stepPollution}, or 0 if it isn't polluted enough to spread.
+     */
+    private void diffuse() {
+        currentPollution.clear();
+        nextPollution.clear();
+        stepPollution.clear();
+        // remove some
+        for (int i = 0; i < stepChunks.size(); i++) {
+            final long chunk = stepChunks.getLong(i);
+            nextPollution.put(chunk, (int) (0.9945f * getCurrentPollution(chunk)));
+        }
 
-                ChunkCoordIntPair[] tNeighbors = new ChunkCoordIntPair[4]; // array is faster
-                tNeighbors[0] = (new ChunkCoordIntPair(actualPos.chunkXPos + 1, actualPos.chunkZPos));
-                tNeighbors[1] = (new ChunkCoordIntPair(actualPos.chunkXPos - 1, actualPos.chunkZPos));
-                tNeighbors[2] = (new ChunkCoordIntPair(actualPos.chunkXPos, actualPos.chunkZPos + 1));
-                tNeighbors[3] = (new ChunkCoordIntPair(actualPos.chunkXPos, actualPos.chunkZPos - 1));
-                for (ChunkCoordIntPair neighborPosition : tNeighbors) {
-                    ChunkData neighbor = STORAGE.get(world, neighborPosition);
-                    int neighborPollution = neighbor.getAmount();
+        for (int i = 0; i < stepChunks.size(); i++) {
+            final long chunk = stepChunks.getLong(i);
+            final int chunkX = getChunkX(chunk), chunkZ = getChunkZ(chunk);
+            int tPollution = (int) (0.9945f * getCurrentPollution(chunk));
+            if (tPollution > 400000) { // Spread Pollution
+                for (int side = 0; side < 4; side++) {
+                    final long neighbor = switch (side) {
+                        case 0 -> ChunkCoordIntPair.chunkXZ2Int(chunkX + 1, chunkZ);
+                        case 1 -> ChunkCoordIntPair.chunkXZ2Int(chunkX - 1, chunkZ);
+                        case 2 -> ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ + 1);
+                        default -> ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ - 1);
+                    };
+                    final int neighborPollution = getCurrentPollution(neighbor);
                     if (neighborPollution * 6 < tPollution * 5) { // MATHEMATICS...
-                        int tDiff = tPollution - neighborPollution;
-                        tDiff = tDiff / 20;
-                        neighborPollution = GTUtility.safeInt((long) neighborPollution + tDiff); // tNPol += tDiff;
+                        final int tDiff = (tPollution - neighborPollution) / 20;
                         tPollution -= tDiff;
-                        setChunkPollution(neighborPosition, neighborPollution);
+                        final int next = nextPollution.containsKey(neighbor) ? nextPollution.get(neighbor)
+                            : neighborPollution;
+                        nextPollution.put(neighbor, GTUtility.safeInt((long) next + tDiff));
+                        nextPollution.put(chunk, nextPollution.get(chunk) - tDiff);
                     }
                 }
+                stepPollution.add(tPollution);
+            } else {
+                stepPollution.add(0);
+            }
+        }
 
-                // Create Pollution effects
-                // Smog filter TODO
-                if (tPollution > GTMod.gregtechproxy.mPollutionSmogLimit) {
-                    AxisAlignedBB chunk = AxisAlignedBB.getBoundingBox(
-                        actualPos.chunkXPos << 4,
-                        0,
-                        actualPos.chunkZPos << 4,
-                        (actualPos.chunkXPos << 4) + 16,
-                        256,
-                        (actualPos.chunkZPos << 4) + 16);
-                    List<EntityLivingBase> tEntitys = world.getEntitiesWithinAABB(EntityLivingBase.class, chunk);
-                    for (EntityLivingBase tEnt : tEntitys) {
-                        if (tEnt instanceof EntityPlayerMP && ((EntityPlayerMP) tEnt).capabilities.isCreativeMode)
-                            continue;
-                        if (!(HazardProtection.isWearingFullGasHazmat(tEnt))) {
-                            switch (XSTR_INSTANCE.nextInt(3)) {
-                                default:
-                                    tEnt.addPotionEffect(
-                                        new PotionEffect(
-                                            Potion.digSlowdown.id,
-                                            Math.min(tPollution / 1000, 1000),
-                                            tPollution / 400000));
-                                case 1:
-                                    tEnt.addPotionEffect(
-                                        new PotionEffect(
-                                            Potion.weakness.id,
-                                            Math.min(tPollution / 1000, 1000),
-                                            tPollution / 400000));
-                                case 2:
-                                    tEnt.addPotionEffect(
-                                        new PotionEffect(
-                                            Potion.moveSlowdown.id,
-                                            Math.min(tPollution / 1000, 1000),
-                                            tPollution / 400000));
-                            }
-                        }
+        // Write new pollution to Hashmap !!!
+        for (Long2IntMap.Entry entry : nextPollution.long2IntEntrySet()) {
+            final long chunk = entry.getLongKey();
+            final int pollution = entry.getIntValue();
+            mutatePollution(world, getChunkX(chunk), getChunkZ(chunk), c -> c.setAmount(pollution), pollutedChunks);
+        }
+    }
+
+    /**
+     * @return Pollution of the chunk before the current step, looked up once per step.
+     */
+    private int getCurrentPollution(long chunk) {
+        if (currentPollution.containsKey(chunk)) return currentPollution.get(chunk);
+        final int pollution = STORAGE.get(world, getChunkX(chunk), getChunkZ(chunk))
+            .getAmount();
+        currentPollution.put(chunk, pollution);
+        return pollution;
+    }
+
+    /**
+     * Sends the new pollution of all the chunks of this step to every player near them in one packet.
+     */
+    private void sendPollution() {
+        if (world.playerEntities.isEmpty()) return;
+        int count = 0;
+        for (int i = 0; i < stepChunks.size(); i++) {
+            if (nextPollution.get(stepChunks.getLong(i)) > POLLUTIONPACKET_MINVALUE) count++;
+        }
+        if (count == 0) return;
+
+        final long[] chunks = new long[count];
+        final int[] pollution = new int[count];
+        for (Object tObject : world.playerEntities) {
+            if (!(tObject instanceof EntityPlayerMP player)) continue;
+            int found = 0;
+            for (int i = 0; i < stepChunks.size(); i++) {
+                final long chunk = stepChunks.getLong(i);
+                final int tPollution = nextPollution.get(chunk);
+                if (tPollution <= POLLUTIONPACKET_MINVALUE) continue;
+                // same range as the single chunk packets used to have
+                final double dx = (getChunkX(chunk) << 4) - player.posX;
+                final double dy = 64 - player.posY;
+                final double dz = (getChunkZ(chunk) << 4) - player.posZ;
+                if (dx * dx + dy * dy + dz * dz >= 256 * 256) continue;
+                chunks[found] = chunk;
+                pollution[found++] = tPollution;
+            }
+            if (found > 0) GTValues.NW.sendToPlayer(new GTPacketPollution(chunks, pollution, found), player);
+        }
+    }
+
+    private void applyEffects(int chunkX, int chunkZ, int tPollution) {
+        // Create Pollution effects
+        // Smog filter TODO
+        if (tPollution > GTMod.gregtechproxy.mPollutionSmogLimit) {
+            AxisAlignedBB chunk = AxisAlignedBB.getBoundingBox(
+                chunkX << 4,
+                0,
+                chunkZ << 4,
+                (chunkX << 4) + 16,
+                256,
+                (chunkZ << 4) + 16);
+            List<EntityLivingBase> tEntitys = world.getEntitiesWithinAABB(EntityLivingBase.class, chunk);
+            for (EntityLivingBase tEnt : tEntitys) {
+                if (tEnt instanceof EntityPlayerMP && ((EntityPlayerMP) tEnt).capabilities.isCreativeMode)
+                    continue;
+                if (!(HazardProtection.isWearingFullGasHazmat(tEnt))) {
+                    switch (XSTR_INSTANCE.nextInt(3)) {
+                        default:
+                            tEnt.addPotionEffect(
+                                new PotionEffect(
+                                    Potion.digSlowdown.id,
+                                    Math.min(tPollution / 1000, 1000),
+                                    tPollution / 400000));
+                        case 1:
+                            tEnt.addPotionEffect(
+                                new PotionEffect(
+                                    Potion.weakness.id,
+                                    Math.min(tPollution / 1000, 1000),
+                                    tPollution / 400000));
+                        case 2:
+                            tEnt.addPotionEffect(
+                                new PotionEffect(
+                                    Potion.moveSlowdown.id,
+                                    Math.min(tPollution / 1000, 1000),
+                                    tPollution / 400000));
                     }
+                }
+            }
 
-                    // Poison effects
-                    if (tPollution > GTMod.gregtechproxy.mPollutionPoisonLimit) {
-                        for (EntityLivingBase tEnt : tEntitys) {
-                            if (tEnt instanceof EntityPlayerMP && ((EntityPlayerMP) tEnt).capabilities.isCreativeMode)
-                                continue;
-                            if (!HazardProtection.isWearingFullGasHazmat(tEnt)) {
-                                switch (XSTR_INSTANCE.nextInt(4)) {
-                                    default:
-                                        tEnt.addPotionEffect(new PotionEffect(Potion.hunger.id, tPollution / 500000));
-                                    case 1:
-                                        tEnt.addPotionEffect(
-                                            new PotionEffect(
-                                                Potion.confusion.id,
-                                                Math.min(tPollution / 2000, 1000),
-                                                1));
-                                    case 2:
-                                        tEnt.addPotionEffect(
-                                            new PotionEffect(
-                                                Potion.poison.id,
-                                                Math.min(tPollution / 4000, 1000),
-                                                tPollution / 500000));
-                                    case 3:
-                                        tEnt.addPotionEffect(
-                                            new PotionEffect(
-                                                Potion.blindness.id,
-                                                Math.min(tPollution / 2000, 1000),
-                                                1));
-                                }
-                            }
+            // Poison effects
+            if (tPollution > GTMod.gregtechproxy.mPollutionPoisonLimit) {
+                for (EntityLivingBase tEnt : tEntitys) {
+                    if (tEnt instanceof EntityPlayerMP && ((EntityPlayerMP) tEnt).capabilities.isCreativeMode)
+                        continue;
+                    if (!HazardProtection.isWearingFullGasHazmat(tEnt)) {
+                        switch (XSTR_INSTANCE.nextInt(4)) {
+                            default:
+                                tEnt.addPotionEffect(new PotionEffect(Potion.hunger.id, tPollution / 500000));
+                            case 1:
+                                tEnt.addPotionEffect(
+                                    new PotionEffect(
+                                        Potion.confusion.id,
+                                        Math.min(tPollution / 2000, 1000),
+                                        1));
+                            case 2:
+                                tEnt.addPotionEffect(
+                                    new PotionEffect(
+                                        Potion.poison.id,
+                                        Math.min(tPollution / 4000, 1000),
+                                        tPollution / 500000));
+                            case 3:
+                                tEnt.addPotionEffect(
+                                    new PotionEffect(
+                                        Potion.blindness.id,
+                                        Math.min(tPollution / 2000, 1000),
+                                        1));
                         }
+                    }
+                }
 
-                        // killing plants
-                        if (tPollution > GTMod.gregtechproxy.mPollutionVegetationLimit) {
-                            int f = 20;
-                            for (; f < (tPollution / 25000); f++) {
-                                int x = (actualPos.chunkXPos << 4) + XSTR_INSTANCE.nextInt(16);
-                                int y = 60 + (-f + XSTR_INSTANCE.nextInt(f * 2 + 1));
-                                int z = (actualPos.chunkZPos << 4) + XSTR_INSTANCE.nextInt(16);
-                                damageBlock(world, x, y, z, tPollution > GTMod.gregtechproxy.mPollutionSourRainLimit);
-                            }
-                        }
+                // killing plants
+                if (tPollution > GTMod.gregtechproxy.mPollutionVegetationLimit) {
+                    int f = 20;
+                    for (; f < (tPollution / 25000); f++) {
+                        int x = (chunkX << 4) + XSTR_INSTANCE.nextInt(16);
+                        int y = 60 + (-f + XSTR_INSTANCE.nextInt(f * 2 + 1));
+                        int z = (chunkZ << 4) + XSTR_INSTANCE.nextInt(16);
+                        damageBlock(world, x, y, z, tPollution > GTMod.gregtechproxy.mPollutionSourRainLimit);
                     }
                 }
             }
-            // Write new pollution to Hashmap !!!
-            setChunkPollution(actualPos, tPollution);
-
-            // Send new value to players nearby
-            if (tPollution > POLLUTIONPACKET_MINVALUE) {
-                NetworkRegistry.TargetPoint point = new NetworkRegistry.TargetPoint(
-                    world.provider.dimensionId,
-                    (actualPos.chunkXPos << 4),
-                    64,
-                    (actualPos.chunkZPos << 4),
-                    256);
-                GTValues.NW.sendToAllAround(new GTPacketPollution(actualPos, tPollution), point);
-            }
         }
     }
 
-    private void setChunkPollution(ChunkCoordIntPair coord, int pollution) {
-        mutatePollution(world, coord.chunkXPos, coord.chunkZPos, c -> c.setAmount(pollution), pollutedChunks);
+    private static int getChunkX(long chunk) {
+        return (int) chunk;
+    }
+
+    private static int getChunkZ(long chunk) {
+        return (int) (chunk >>> 32);
     }
 
     private static void damageBlock(World world, int x, int y, int z, boolean sourRain) {
@@ -328,7 +421,9 @@ public class Pollution {
     }
 
     private static Pollution getPollutionManager(World world) {
-        return dimensionWisePollution.computeIfAbsent(world.provider.dimensionId, i -> new Pollution(world));
+        synchronized (dimensionWisePollution) {
+            return dimensionWisePollution.computeIfAbsent(world.provider.dimensionId, i -> new Pollution(world));
+        }
     }
 
     /** @see #addPollution(TileEntity, int) */
@@ -377,15 +472,17 @@ public class Pollution {
     }
 
     private static void mutatePollution(World world, int x, int z, Consumer<ChunkData> mutator,
-        @Nullable Set<ChunkCoordIntPair> chunks) {
+        @Nullable LongSet chunks) {
         ChunkData data = STORAGE.get(world, x, z);
         boolean hadPollution = data.getAmount() > 0;
         mutator.accept(data);
         boolean hasPollution = data.getAmount() > 0;
         if (hasPollution != hadPollution) {
             if (chunks == null) chunks = getPollutionManager(world).pollutedChunks;
-            if (hasPollution) chunks.add(new ChunkCoordIntPair(x, z));
-            else chunks.remove(new ChunkCoordIntPair(x, z));
+            synchronized (chunks) {
+                if (hasPollution) chunks.add(ChunkCoordIntPair.chunkXZ2Int(x, z));
+                else chunks.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+            }
         }
     }
 
@@ -469,8 +566,13 @@ public class Pollution {
             throws IOException {
             if (version != 0) throw new IOException("Region file corrupted");
             ChunkData data = new ChunkData(input.readInt());
-            if (data.getAmount() > 0)
-                getPollutionManager(world).pollutedChunks.add(new ChunkCoordIntPair(chunkX, chunkZ));
+            if (data.getAmount() > 0) {
+                // might be read by an IO worker while the server thread is ticking the pollution
+                final LongOpenHashSet chunks = getPollutionManager(world).pollutedChunks;
+                synchronized (chunks) {
+                    chunks.add(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+                }
+            }
             return data;
         }
 
@@ -479,6 +581,11 @@ public class Pollution {
             return new ChunkData();
         }
 
+        @Override
+        protected int getRecordSize() {
+            return 4;
+        }
+
         @Override
         public void loadAll(World w) {
             super.loadAll(w);
@@ -0,0 +1,112 @@
+package gregtech.common.tileentities.machines;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.server.MinecraftServer;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.security.BaseActionSource;
+import appeng.api.networking.security.MachineSource;
+import appeng.api.storage.IBaseMonitor;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.IMEMonitorHandlerReceiver;
+import appeng.api.storage.data.IAEStack;
+import gregtech.common.config.Other;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Simulated extractions of stocking hatches and buses, shared by all of them on the same ME network within one tick
+ * when {@link gregtech.common.config.Other#meStockingSnapshots} is enabled. Many machines stocking the same items from
+ * one network only ask it once per item and tick.
+ * <p>
+ * Results are kept per owner of the requesting machine, as the security of the network may allow different owners to
+ * extract different items. They are dropped at the start of the next tick, and right away once the network reports a
+ * change of the item, including the real extractions of {@code endRecipeProcessing}. Only accessed from the server
+ * thread.
+ */
+final class MEStockingSnapshot<T extends IAEStack<T>> implements IMEMonitorHandlerReceiver<T> {
+
+    // Snapshots don't reference their monitor, so the monitors of removed networks can be collected
+    private static final Map<IMEMonitor<?>, MEStockingSnapshot<?>> snapshots = new WeakHashMap<>();
+
+    private long tick = -1;
+    private final Int2ObjectOpenHashMap<Map<T, T>> results = new Int2ObjectOpenHashMap<>();
+
+    private MEStockingSnapshot() {}
+
+    /**
+     * Same as simulating the extraction of as much of the type as possible from the monitor, but reuses the result of
+     * an earlier call this tick.
+     *
+     * @param request Type to extract, its stack size is set to {@link Integer#MAX_VALUE}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends IAEStack<T>> T simulateExtract(IMEMonitor<T> monitor, T request, BaseActionSource source) {
+        MEStockingSnapshot<T> snapshot = (MEStockingSnapshot<T>) snapshots.get(monitor);
+        if (snapshot == null) {
+            snapshot = new MEStockingSnapshot<>();
+            snapshots.put(monitor, snapshot);
+            monitor.addListener(snapshot, snapshot);
+        }
+        final long now = currentTick();
+        if (snapshot.tick != now) {
+            snapshot.results.clear();
+            snapshot.tick = now;
+        }
+        final int owner = getOwner(source);
+        Map<T, T> ownerResults = snapshot.results.get(owner);
+        if (ownerResults == null) {
+            ownerResults = new HashMap<>();
+            snapshot.results.put(owner, ownerResults);
+        }
+
+        request.setStackSize(Integer.MAX_VALUE);
+        if (ownerResults.containsKey(request)) {
+            final T result = ownerResults.get(request);
+            return result == null ? null : result.copy();
+        }
+        final T result = monitor.extractItems(request, Actionable.SIMULATE, source);
+        ownerResults.put(request.copy(), result == null ? null : result.copy());
+        return result;
+    }
+
+    private static int getOwner(BaseActionSource source) {
+        if (source instanceof MachineSource machineSource && machineSource.via != null) {
+            final IGridNode node = machineSource.via.getActionableNode();
+            if (node != null) return node.getPlayerID();
+        }
+        return -1;
+    }
+
+    private static long currentTick() {
+        MinecraftServer server = MinecraftServer.getServer();
+        return server == null ? 0 : server.getTickCounter();
+    }
+
+    @Override
+    public boolean isValid(Object verificationToken) {
+        if (Other.meStockingSnapshots && verificationToken == this) return true;
+        // The monitor drops the listener, so a new snapshot has to be made if the config is turned on again
+        snapshots.values()
+            .remove(this);
+        return false;
+    }
+
+    @Override
+    public void postChange(IBaseMonitor<T> monitor, Iterable<T> change, BaseActionSource actionSource) {
+        if (results.isEmpty()) return;
+        for (T changed : change) {
+            for (Map<T, T> ownerResults : results.values()) {
+                ownerResults.remove(changed);
+            }
+        }
+    }
+
+    @Override
+    public void onListUpdate() {
+        results.clear();
+    }
+}
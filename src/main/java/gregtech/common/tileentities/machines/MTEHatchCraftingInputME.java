@@ -1260,4 +1260,10 @@ public class MTEHatchCraftingInputME extends MTEHatchInputBus
         } catch (Throwable ignored) {}
         CraftingGridCache.unpauseRebuilds();
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Pattern inventories are reported through justUpdated() instead
+        return false;
+    }
 }
@@ -318,4 +318,10 @@ public class MTEHatchCraftingInputSlave extends MTEHatchInputBus implements IDua
     public void setProcessingLogic(ProcessingLogic pl) {
         if (getMaster() != null) getMaster().setProcessingLogic(pl);
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Contents belong to the master buffer
+        return false;
+    }
 }
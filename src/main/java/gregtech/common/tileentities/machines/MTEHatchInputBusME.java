@@ -51,7 +51,9 @@ import appeng.api.networking.GridFlags;
 import appeng.api.networking.security.BaseActionSource;
 import appeng.api.networking.security.IActionHost;
 import appeng.api.networking.security.MachineSource;
+import appeng.api.storage.IBaseMonitor;
 import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.IMEMonitorHandlerReceiver;
 import appeng.api.storage.data.IAEItemStack;
 import appeng.api.util.AECableType;
 import appeng.api.util.AEColor;
@@ -79,6 +81,7 @@ import gregtech.api.recipe.check.SimpleCheckRecipeResult;
 import gregtech.api.render.TextureFactory;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.shutdown.ShutDownReasonRegistry;
+import gregtech.common.config.Other;
 import gregtech.common.gui.modularui.widget.AESlotWidget;
 import mcp.mobius.waila.api.IWailaConfigHandler;
 import mcp.mobius.waila.api.IWailaDataAccessor;
@@ -102,6 +105,13 @@ public class MTEHatchInputBusME extends MTEHatchInputBus
     protected boolean additionalConnection = false;
     protected boolean justHadNewItems = false;
     protected boolean expediteRecipeCheck = false;
+    // With Other.meStockingWatchers, simulated extractions are kept until the grid reports a change of the item.
+    // Recipe checks only use the ones made in the same tick, as storage buses report changes with a delay.
+    protected @Nullable StorageWatcher storageWatcher = null;
+    protected final IAEItemStack[] cachedRequests = new IAEItemStack[SLOT_COUNT];
+    protected final IAEItemStack[] cachedResults = new IAEItemStack[SLOT_COUNT];
+    protected final long[] cachedTicks = new long[SLOT_COUNT];
+    protected boolean storageChanged = true;
 
     public MTEHatchInputBusME(int aID, boolean autoPullAvailable, String aName, String aNameRegional) {
         super(
@@ -516,13 +526,7 @@ public class MTEHatchInputBusME extends MTEHatchInputBus
             }
 
             try {
-                IMEMonitor<IAEItemStack> sg = proxy.getStorage()
-                    .getItemInventory();
-
-                IAEItemStack request = AEItemStack.create(mInventory[aIndex]);
-                request.setStackSize(Integer.MAX_VALUE);
-
-                IAEItemStack result = sg.extractItems(request, Actionable.SIMULATE, getRequestSource());
+                IAEItemStack result = simulateStocking(proxy, aIndex);
 
                 if (result != null) {
                     this.shadowInventory[aIndex] = result.getItemStack();
@@ -567,6 +571,11 @@ public class MTEHatchInputBusME extends MTEHatchInputBus
         try {
             IMEMonitor<IAEItemStack> sg = proxy.getStorage()
                 .getItemInventory();
+            if (Other.meStockingWatchers) {
+                // Nothing in the grid changed since the last refresh
+                if (watchStorage(sg) && !storageChanged) return;
+                storageChanged = false;
+            }
             Iterator<IAEItemStack> iterator = sg.getStorageList()
                 .iterator();
             int index = 0;
@@ -591,6 +600,99 @@ public class MTEHatchInputBusME extends MTEHatchInputBus
         } catch (final GridAccessException ignored) {}
     }
 
+    /**
+     * Simulates extracting as much as possible of the item in the slot, only asks the grid if it reported a change of
+     * the item since the last time, or watchers are disabled. While processing a recipe, results of earlier ticks are
+     * not reused, as the recipe extracts what it has been told is there.
+     *
+     * @return The amount of the item that can be extracted, or null if none.
+     */
+    protected IAEItemStack simulateStocking(AENetworkProxy proxy, int aIndex) throws GridAccessException {
+        IMEMonitor<IAEItemStack> sg = proxy.getStorage()
+            .getItemInventory();
+        IAEItemStack request = AEItemStack.create(mInventory[aIndex]);
+        request.setStackSize(Integer.MAX_VALUE);
+        if (!Other.meStockingWatchers) return simulateExtract(sg, request);
+
+        watchStorage(sg);
+        final long tick = getBaseMetaTileEntity().getTimer();
+        if (cachedRequests[aIndex] != null && cachedRequests[aIndex].equals(request)
+            && (!processingRecipe || cachedTicks[aIndex] == tick)) {
+            return cachedResults[aIndex] == null ? null : cachedResults[aIndex].copy();
+        }
+        IAEItemStack result = simulateExtract(sg, request);
+        cachedRequests[aIndex] = request;
+        cachedResults[aIndex] = result == null ? null : result.copy();
+        cachedTicks[aIndex] = tick;
+        return result;
+    }
+
+    private IAEItemStack simulateExtract(IMEMonitor<IAEItemStack> sg, IAEItemStack request) {
+        if (Other.meStockingSnapshots) return MEStockingSnapshot.simulateExtract(sg, request, getRequestSource());
+        return sg.extractItems(request, Actionable.SIMULATE, getRequestSource());
+    }
+
+    /**
+     * Registers as a listener of the storage of the grid, dropping everything cached if it's a different one.
+     *
+     * @return if already listening to this storage.
+     */
+    protected boolean watchStorage(IMEMonitor<IAEItemStack> sg) {
+        if (storageWatcher != null && storageWatcher.monitor == sg) return true;
+        storageWatcher = new StorageWatcher(sg);
+        invalidateStockingCache();
+        sg.addListener(storageWatcher, sg);
+        return false;
+    }
+
+    protected void invalidateStockingCache() {
+        Arrays.fill(cachedRequests, null);
+        Arrays.fill(cachedResults, null);
+        storageChanged = true;
+    }
+
+    /**
+     * Forgets the cached amounts of the items the grid reports changes of. Removed by the grid on the next change after
+     * it's replaced, the bus is removed or watchers get disabled.
+     */
+    protected class StorageWatcher implements IMEMonitorHandlerReceiver<IAEItemStack> {
+
+        protected final IMEMonitor<IAEItemStack> monitor;
+
+        protected StorageWatcher(IMEMonitor<IAEItemStack> monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public boolean isValid(Object verificationToken) {
+            IGregTechTileEntity base = getBaseMetaTileEntity();
+            return Other.meStockingWatchers && storageWatcher == this
+                && verificationToken == monitor
+                && base != null
+                && !base.isDead()
+                && base.getMetaTileEntity() == MTEHatchInputBusME.this;
+        }
+
+        @Override
+        public void postChange(IBaseMonitor<IAEItemStack> changedMonitor, Iterable<IAEItemStack> change,
+            BaseActionSource actionSource) {
+            storageChanged = true;
+            for (IAEItemStack changed : change) {
+                for (int i = 0; i < SLOT_COUNT; i++) {
+                    if (cachedRequests[i] != null && cachedRequests[i].isSameType(changed)) {
+                        cachedRequests[i] = null;
+                        cachedResults[i] = null;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onListUpdate() {
+            invalidateStockingCache();
+        }
+    }
+
     protected void updateAllInformationSlots() {
         for (int index = 0; index < SLOT_COUNT; index++) {
             updateInformationSlot(index, mInventory[index]);
@@ -659,11 +761,7 @@ public class MTEHatchInputBusME extends MTEHatchInputBus
                 }
 
                 try {
-                    IMEMonitor<IAEItemStack> sg = proxy.getStorage()
-                        .getItemInventory();
-                    IAEItemStack request = AEItemStack.create(mInventory[aIndex]);
-                    request.setStackSize(Integer.MAX_VALUE);
-                    IAEItemStack result = sg.extractItems(request, Actionable.SIMULATE, getRequestSource());
+                    IAEItemStack result = simulateStocking(proxy, aIndex);
                     ItemStack s = (result != null) ? result.getItemStack() : null;
                     // We want to track changes in any ItemStack to notify any connected controllers to make a recipe
                     // check early
@@ -1009,4 +1107,10 @@ public class MTEHatchInputBusME extends MTEHatchInputBus
         strings.add("Configuration data can be copy/pasted using a data stick.");
         return strings.toArray(new String[0]);
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Contents mirror the ME network, which doesn't report changes to this bus
+        return false;
+    }
 }
@@ -83,6 +83,7 @@ import gregtech.api.recipe.check.SimpleCheckRecipeResult;
 import gregtech.api.render.TextureFactory;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.shutdown.ShutDownReasonRegistry;
+import gregtech.common.config.Other;
 import mcp.mobius.waila.api.IWailaConfigHandler;
 import mcp.mobius.waila.api.IWailaDataAccessor;
 
@@ -455,7 +456,9 @@ public class MTEHatchInputME extends MTEHatchInput implements IPowerChannelState
                 .getFluidInventory();
             IAEFluidStack request = AEFluidStack.create(fluidStack);
             request.setStackSize(Integer.MAX_VALUE);
-            IAEFluidStack result = sg.extractItems(request, Actionable.SIMULATE, getRequestSource());
+            IAEFluidStack result = Other.meStockingSnapshots
+                ? MEStockingSnapshot.simulateExtract(sg, request, getRequestSource())
+                : sg.extractItems(request, Actionable.SIMULATE, getRequestSource());
             FluidStack resultFluid = (result != null) ? result.getFluidStack() : null;
             // We want to track if any FluidStack is modified to notify any connected controllers to make a recipe check
             // early
@@ -1039,4 +1042,10 @@ public class MTEHatchInputME extends MTEHatchInput implements IPowerChannelState
         strings.add("Configuration data can be copy/pasted using a data stick.");
         return strings.toArray(new String[0]);
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Contents mirror the ME network, which doesn't report changes to this hatch
+        return false;
+    }
 }
@@ -30,8 +30,11 @@ import com.gtnewhorizons.modularui.api.screen.ModularWindow;
 import com.gtnewhorizons.modularui.api.screen.UIBuildContext;
 
 import appeng.api.AEApi;
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
 import appeng.api.implementations.IPowerChannelState;
 import appeng.api.networking.GridFlags;
+import appeng.api.networking.energy.IEnergySource;
 import appeng.api.networking.security.BaseActionSource;
 import appeng.api.networking.security.IActionHost;
 import appeng.api.networking.security.MachineSource;
@@ -73,6 +76,8 @@ public class MTEHatchOutputBusME extends MTEHatchOutputBus implements IPowerChan
     final IItemList<IAEItemStack> itemCache = AEApi.instance()
         .storage()
         .createItemList();
+    // Sum of the stack sizes in itemCache
+    long cachedAmount = 0;
     long lastOutputTick = 0;
     long lastInputTick = 0;
     long tickCounter = 0;
@@ -126,44 +131,100 @@ public class MTEHatchOutputBusME extends MTEHatchOutputBus implements IPowerChan
 
     @Override
     public boolean storePartial(ItemStack stack, boolean simulate) {
-        if (!lockedItems.isEmpty()) {
-            boolean isOk = false;
-
-            for (ItemStack lockedItem : lockedItems) {
-                if (lockedItem.isItemEqual(stack)) {
-                    isOk = true;
+        if (!isAcceptedByLock(stack)) {
+            return false;
+        }
 
-                    break;
-                }
+        // Always allow insertion on the same tick so we can output the entire recipe
+        if (canAcceptItem() || (lastInputTick == tickCounter)) {
+            if (!simulate) {
+                addToCache(stack, stack.stackSize);
+                lastInputTick = tickCounter;
             }
+            stack.stackSize = 0;
+            return true;
+        }
 
-            if (!isOk) {
-                return false;
-            }
+        return false;
+    }
+
+    /**
+     * Stores the whole amount as a single cache entry, without splitting it into stacks.
+     */
+    @Override
+    public long storeLong(ItemStack type, long amount, boolean simulate) {
+        if (amount <= 0) return 0;
+        if (!isAcceptedByLock(type)) {
+            return amount;
         }
 
         // Always allow insertion on the same tick so we can output the entire recipe
         if (canAcceptItem() || (lastInputTick == tickCounter)) {
             if (!simulate) {
-                itemCache.add(
-                    AEApi.instance()
-                        .storage()
-                        .createItemStack(stack));
+                addToCache(type, amount);
                 lastInputTick = tickCounter;
             }
-            stack.stackSize = 0;
-            return true;
+            return 0;
+        }
+
+        return amount;
+    }
+
+    /**
+     * Checks the cache capacity once for the whole batch, and adds each type to the cache with its full amount.
+     */
+    @Override
+    public boolean storeAll(ItemStack[] types, long[] amounts, boolean simulate) {
+        // Always allow insertion on the same tick so we can output the entire recipe
+        if (!canAcceptItem() && lastInputTick != tickCounter) return false;
+        boolean storedAll = true;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == null || amounts[i] <= 0) continue;
+            if (!isAcceptedByLock(types[i])) {
+                storedAll = false;
+                continue;
+            }
+            if (!simulate) addToCache(types[i], amounts[i]);
+            amounts[i] = 0;
         }
+        if (!simulate) lastInputTick = tickCounter;
+        return storedAll;
+    }
+
+    /**
+     * Merges the items into the cache entry of their type.
+     */
+    protected void addToCache(ItemStack type, long amount) {
+        itemCache.add(
+            AEApi.instance()
+                .storage()
+                .createItemStack(type)
+                .setStackSize(amount));
+        cachedAmount += amount;
+    }
 
+    private boolean isAcceptedByLock(ItemStack stack) {
+        if (lockedItems.isEmpty()) {
+            return true;
+        }
+        for (ItemStack lockedItem : lockedItems) {
+            if (lockedItem.isItemEqual(stack)) {
+                return true;
+            }
+        }
         return false;
     }
 
     protected long getCachedAmount() {
+        return cachedAmount;
+    }
+
+    protected void recountCachedAmount() {
         long itemAmount = 0;
         for (IAEItemStack item : itemCache) {
             itemAmount += item.getStackSize();
         }
-        return itemAmount;
+        cachedAmount = itemAmount;
     }
 
     protected long getCacheCapacity() {
@@ -266,16 +327,33 @@ public class MTEHatchOutputBusME extends MTEHatchOutputBus implements IPowerChan
         try {
             IMEMonitor<IAEItemStack> sg = proxy.getStorage()
                 .getItemInventory();
-            for (IAEItemStack s : itemCache) {
-                if (s.getStackSize() == 0) continue;
-                IAEItemStack rest = Platform.poweredInsert(proxy.getEnergy(), sg, s, getRequest());
-                if (rest != null && rest.getStackSize() > 0) {
-                    s.setStackSize(rest.getStackSize());
-                    break;
+            IEnergySource energy = proxy.getEnergy();
+            // With power for everything, pay once for the whole batch and skip simulating each insertion
+            if (energy.extractAEPower(cachedAmount, Actionable.SIMULATE, PowerMultiplier.CONFIG)
+                >= cachedAmount - 0.5) {
+                long inserted = 0;
+                for (IAEItemStack s : itemCache) {
+                    if (s.getStackSize() == 0) continue;
+                    IAEItemStack rest = sg.injectItems(s.copy(), Actionable.MODULATE, getRequest());
+                    long left = rest == null ? 0 : rest.getStackSize();
+                    inserted += s.getStackSize() - left;
+                    s.setStackSize(left);
+                    if (left > 0) break;
+                }
+                if (inserted > 0) energy.extractAEPower(inserted, Actionable.MODULATE, PowerMultiplier.CONFIG);
+            } else {
+                for (IAEItemStack s : itemCache) {
+                    if (s.getStackSize() == 0) continue;
+                    IAEItemStack rest = Platform.poweredInsert(energy, sg, s, getRequest());
+                    if (rest != null && rest.getStackSize() > 0) {
+                        s.setStackSize(rest.getStackSize());
+                        break;
+                    }
+                    s.setStackSize(0);
                 }
-                s.setStackSize(0);
             }
         } catch (final GridAccessException ignored) {}
+        recountCachedAmount();
         lastOutputTick = tickCounter;
     }
 
@@ -489,6 +567,7 @@ public class MTEHatchOutputBusME extends MTEHatchOutputBus implements IPowerChan
                 }
             }
         }
+        recountCachedAmount();
         additionalConnection = aNBT.getBoolean("additionalConnection");
         baseCapacity = aNBT.getLong("baseCapacity");
         hadCell = aNBT.getBoolean("hadCell");
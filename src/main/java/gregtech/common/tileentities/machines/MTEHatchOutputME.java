@@ -85,6 +85,8 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
     final IItemList<IAEFluidStack> fluidCache = AEApi.instance()
         .storage()
         .createFluidList();
+    // Sum of the amounts in fluidCache
+    long cachedAmount = 0;
     long lastOutputTick = 0;
     long lastInputTick = 0;
     long tickCounter = 0;
@@ -139,22 +141,8 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
 
     @Override
     public int fill(FluidStack aFluid, boolean doFill) {
-        if (!lockedFluids.isEmpty()) {
-            boolean isOk = false;
-
-            for (String lockedFluid : lockedFluids) {
-                if (lockedFluid.equals(
-                    aFluid.getFluid()
-                        .getName())) {
-                    isOk = true;
-
-                    break;
-                }
-            }
-
-            if (!isOk) {
-                return 0;
-            }
+        if (!isAcceptedByLock(aFluid)) {
+            return 0;
         }
 
         if (doFill) {
@@ -165,6 +153,20 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
         }
     }
 
+    private boolean isAcceptedByLock(FluidStack fluid) {
+        if (lockedFluids.isEmpty()) {
+            return true;
+        }
+        for (String lockedFluid : lockedFluids) {
+            if (lockedFluid.equals(
+                fluid.getFluid()
+                    .getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean canStoreFluid(@NotNull FluidStack fluidStack) {
         if (!isFluidLocked()) {
@@ -275,11 +277,15 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
     }
 
     private long getCachedAmount() {
+        return cachedAmount;
+    }
+
+    private void recountCachedAmount() {
         long fluidAmount = 0;
         for (IAEFluidStack fluid : fluidCache) {
             fluidAmount += fluid.getStackSize();
         }
-        return fluidAmount;
+        cachedAmount = fluidAmount;
     }
 
     private long getCacheCapacity() {
@@ -319,16 +325,71 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
         if (aFluid == null) return 0;
         // Always allow insertion on the same tick so we can output the entire recipe
         if (canAcceptFluid() || (lastInputTick == tickCounter)) {
-            fluidCache.add(
-                AEApi.instance()
-                    .storage()
-                    .createFluidStack(aFluid));
+            addToCache(aFluid, aFluid.amount);
             lastInputTick = tickCounter;
             return aFluid.amount;
         }
         return 0;
     }
 
+    /**
+     * Same as {@link #tryFillAE(FluidStack)}, but takes an amount which doesn't have to fit in a stack. Fluids not
+     * accepted by the lock of the hatch aren't filled, like in {@link #fill}.
+     *
+     * @param fluid  Type of the fluid to store. Its amount is ignored.
+     * @param amount Amount of the fluid to store.
+     * @return amount of fluid filled
+     */
+    public long tryFillAE(final FluidStack fluid, long amount) {
+        if (fluid == null || amount <= 0 || !isAcceptedByLock(fluid)) return 0;
+        // Always allow insertion on the same tick so we can output the entire recipe
+        if (canAcceptFluid() || (lastInputTick == tickCounter)) {
+            addToCache(fluid, amount);
+            lastInputTick = tickCounter;
+            return amount;
+        }
+        return 0;
+    }
+
+    /**
+     * Same as {@link #tryFillAE(FluidStack, long)} for several fluids at once, like
+     * {@link gregtech.api.util.ParallelHelper#getFluidOutputTypes} and
+     * {@link gregtech.api.util.ParallelHelper#getFluidOutputAmounts}. The cache capacity is checked once for the
+     * whole batch, fluids not accepted by the lock of the hatch are left over.
+     *
+     * @param fluids  Types of the fluids to store, null entries are skipped. Their amounts are ignored.
+     * @param amounts Amounts of the fluids to store. Set to the amounts which couldn't be filled.
+     * @return if all the fluids were filled.
+     */
+    public boolean tryFillAE(final FluidStack[] fluids, final long[] amounts) {
+        // Always allow insertion on the same tick so we can output the entire recipe
+        if (!canFillFluid()) return false;
+        boolean filledAll = true;
+        for (int i = 0; i < fluids.length; i++) {
+            if (fluids[i] == null || amounts[i] <= 0) continue;
+            if (!isAcceptedByLock(fluids[i])) {
+                filledAll = false;
+                continue;
+            }
+            addToCache(fluids[i], amounts[i]);
+            amounts[i] = 0;
+        }
+        lastInputTick = tickCounter;
+        return filledAll;
+    }
+
+    /**
+     * Merges the fluid into the cache entry of its type.
+     */
+    private void addToCache(FluidStack fluid, long amount) {
+        fluidCache.add(
+            AEApi.instance()
+                .storage()
+                .createFluidStack(fluid)
+                .setStackSize(amount));
+        cachedAmount += amount;
+    }
+
     private BaseActionSource getRequest() {
         if (requestSource == null) requestSource = new MachineSource((IActionHost) getBaseMetaTileEntity());
         return requestSource;
@@ -443,16 +504,34 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
         try {
             IMEMonitor<IAEFluidStack> sg = proxy.getStorage()
                 .getFluidInventory();
-            for (IAEFluidStack s : fluidCache) {
-                if (s.getStackSize() == 0) continue;
-                IAEFluidStack rest = fluidAEInsert(proxy.getEnergy(), sg, s, getRequest());
-                if (rest != null && rest.getStackSize() > 0) {
-                    s.setStackSize(rest.getStackSize());
-                    continue;
+            IEnergySource energy = proxy.getEnergy();
+            // With power for everything, pay once for the whole batch and skip simulating each insertion
+            long power = Math.max(1, cachedAmount / 1000);
+            if (energy.extractAEPower(power, Actionable.SIMULATE, PowerMultiplier.CONFIG) >= power - 0.5) {
+                long inserted = 0;
+                for (IAEFluidStack s : fluidCache) {
+                    if (s.getStackSize() == 0) continue;
+                    IAEFluidStack rest = sg.injectItems(s.copy(), Actionable.MODULATE, getRequest());
+                    long left = rest == null ? 0 : rest.getStackSize();
+                    inserted += s.getStackSize() - left;
+                    s.setStackSize(left);
+                }
+                // 1000 mb fluid will be considered as 1 item
+                if (inserted > 0) energy
+                    .extractAEPower(Math.max(1, inserted / 1000), Actionable.MODULATE, PowerMultiplier.CONFIG);
+            } else {
+                for (IAEFluidStack s : fluidCache) {
+                    if (s.getStackSize() == 0) continue;
+                    IAEFluidStack rest = fluidAEInsert(energy, sg, s, getRequest());
+                    if (rest != null && rest.getStackSize() > 0) {
+                        s.setStackSize(rest.getStackSize());
+                        continue;
+                    }
+                    s.setStackSize(0);
                 }
-                s.setStackSize(0);
             }
         } catch (final GridAccessException ignored) {}
+        recountCachedAmount();
         lastOutputTick = tickCounter;
     }
 
@@ -642,6 +721,7 @@ public class MTEHatchOutputME extends MTEHatchOutput implements IPowerChannelSta
                 }
             }
         }
+        recountCachedAmount();
         additionalConnection = aNBT.getBoolean("additionalConnection");
         baseCapacity = aNBT.getLong("baseCapacity");
         hadCell = aNBT.getBoolean("hadCell");
@@ -184,7 +184,12 @@ public class MTEDistillationTower extends MTEEnhancedMultiBlockBase<MTEDistillat
 
     @Override
     protected ProcessingLogic createProcessingLogic() {
-        return new ProcessingLogic();
+        return new ProcessingLogic().setRecipeSearchCaching(true);
+    }
+
+    @Override
+    protected boolean supportsInputStateSkipping() {
+        return true;
     }
 
     protected void onCasingFound() {
@@ -112,7 +112,17 @@ public class MTEImplosionCompressor extends MTECubicMultiBlockBase<MTEImplosionC
 
     @Override
     protected ProcessingLogic createProcessingLogic() {
-        return new ProcessingLogic();
+        return new ProcessingLogic().setRecipeSearchCaching(true);
+    }
+
+    @Override
+    protected boolean supportsInputStateSkipping() {
+        return true;
+    }
+
+    @Override
+    protected boolean supportsBulkOutput() {
+        return true;
     }
 
     @Override
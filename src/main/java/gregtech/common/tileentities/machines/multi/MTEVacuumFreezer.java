@@ -107,7 +107,17 @@ public class MTEVacuumFreezer extends MTECubicMultiBlockBase<MTEVacuumFreezer> {
 
     @Override
     protected ProcessingLogic createProcessingLogic() {
-        return new ProcessingLogic();
+        return new ProcessingLogic().setRecipeSearchCaching(true);
+    }
+
+    @Override
+    protected boolean supportsInputStateSkipping() {
+        return true;
+    }
+
+    @Override
+    protected boolean supportsBulkOutput() {
+        return true;
     }
 
     @Override
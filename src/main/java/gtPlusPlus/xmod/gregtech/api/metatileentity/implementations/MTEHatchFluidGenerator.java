@@ -212,4 +212,10 @@ public abstract class MTEHatchFluidGenerator extends MTEHatchInput {
         mMaxProgresstime = aNBT.getInteger("mMaxProgresstime");
         super.loadNBTData(aNBT);
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Fluid is generated in place every tick
+        return false;
+    }
 }
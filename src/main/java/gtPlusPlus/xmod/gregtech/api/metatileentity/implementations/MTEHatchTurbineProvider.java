@@ -210,4 +210,10 @@ public class MTEHatchTurbineProvider extends MTEHatchInputBus {
                 .setAccess(false, true)
                 .setPos(79, 34));
     }
+
+    @Override
+    public boolean isInputChangeTracked() {
+        // Feeds the controller slot of its turbine directly
+        return false;
+    }
 }
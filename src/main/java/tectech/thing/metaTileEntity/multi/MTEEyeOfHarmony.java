@@ -1517,13 +1517,21 @@ public class MTEEyeOfHarmony extends TTMultiblockBase implements IConstructable,
         outputFailedChance();
 
         if (successfulParallelAmount > 0) {
-            for (ItemStackLong itemStack : outputItems) {
-                outputItemToAENetwork(itemStack.itemStack, itemStack.stackSize);
+            final ItemStack[] itemTypes = new ItemStack[outputItems.size()];
+            final long[] itemAmounts = new long[itemTypes.length];
+            for (int i = 0; i < itemTypes.length; i++) {
+                itemTypes[i] = outputItems.get(i).itemStack;
+                itemAmounts[i] = outputItems.get(i).stackSize;
             }
+            addItemOutputs(itemTypes, itemAmounts);
 
-            for (FluidStackLong fluidStack : outputFluids) {
-                outputFluidToAENetwork(fluidStack.fluidStack, fluidStack.amount);
+            final FluidStack[] fluidTypes = new FluidStack[outputFluids.size()];
+            final long[] fluidAmounts = new long[fluidTypes.length];
+            for (int i = 0; i < fluidTypes.length; i++) {
+                fluidTypes[i] = outputFluids.get(i).fluidStack;
+                fluidAmounts[i] = outputFluids.get(i).amount;
             }
+            addFluidOutputs(fluidTypes, fluidAmounts);
         }
 
         // Clear the array list for new recipes.
@@ -1552,36 +1560,6 @@ public class MTEEyeOfHarmony extends TTMultiblockBase implements IConstructable,
 
     private boolean recipeRunning = false;
 
-    private void outputItemToAENetwork(ItemStack item, long amount) {
-        if (item == null || amount <= 0) return;
-
-        while (amount >= Integer.MAX_VALUE) {
-            ItemStack tmpItem = item.copy();
-            tmpItem.stackSize = Integer.MAX_VALUE;
-            mOutputBusses.get(0)
-                .storePartial(tmpItem);
-            amount -= Integer.MAX_VALUE;
-        }
-        ItemStack tmpItem = item.copy();
-        tmpItem.stackSize = (int) amount;
-        mOutputBusses.get(0)
-            .storePartial(tmpItem);
-    }
-
-    private void outputFluidToAENetwork(FluidStack fluid, long amount) {
-        if (fluid == null || amount <= 0) return;
-
-        while (amount >= Integer.MAX_VALUE) {
-            FluidStack tmpFluid = fluid.copy();
-            tmpFluid.amount = Integer.MAX_VALUE;
-            ((MTEHatchOutputME) mOutputHatches.get(0)).tryFillAE(tmpFluid);
-            amount -= Integer.MAX_VALUE;
-        }
-        FluidStack tmpFluid = fluid.copy();
-        tmpFluid.amount = (int) amount;
-        ((MTEHatchOutputME) mOutputHatches.get(0)).tryFillAE(tmpFluid);
-    }
-
     @Override
     public String[] getInfoData() {
         ArrayList<String> str = new ArrayList<>(Arrays.asList(super.getInfoData()));
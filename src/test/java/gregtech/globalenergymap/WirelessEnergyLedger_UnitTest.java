@@ -0,0 +1,90 @@
+package gregtech.globalenergymap;
+
+import static gregtech.common.misc.GlobalVariableStorage.GlobalEnergy;
+import static gregtech.common.misc.WirelessNetworkManager.addEUToGlobalEnergyMap;
+import static gregtech.common.misc.WirelessNetworkManager.clearGlobalEnergyInformationMaps;
+import static gregtech.common.misc.WirelessNetworkManager.getUserEU;
+import static gregtech.common.misc.WirelessNetworkManager.setUserEU;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gregtech.common.config.Other;
+import gregtech.common.misc.WirelessEnergyLedger;
+
+class WirelessEnergyLedger_UnitTest {
+
+    static final String message = "Comparison failed";
+
+    @BeforeEach
+    void enableLedger() {
+        Other.wirelessEnergyLedger = true;
+    }
+
+    @AfterEach
+    void disableLedger() {
+        clearGlobalEnergyInformationMaps();
+        Other.wirelessEnergyLedger = false;
+    }
+
+    @Test
+    void WirelessEnergyLedger_SettlesDeposits() {
+        UUID user_uuid = UUID.randomUUID();
+
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, 5L));
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, 7));
+        assertEquals(GlobalEnergy.getOrDefault(user_uuid, BigInteger.ZERO), BigInteger.ZERO, message);
+        assertEquals(getUserEU(user_uuid), BigInteger.valueOf(12L), message);
+
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, 3L));
+        WirelessEnergyLedger.settleAll();
+        assertEquals(GlobalEnergy.get(user_uuid), BigInteger.valueOf(15L), message);
+    }
+
+    @Test
+    void WirelessEnergyLedger_ExactOverdraft() {
+        UUID user_uuid = UUID.randomUUID();
+
+        assertFalse(addEUToGlobalEnergyMap(user_uuid, -1L));
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, 10L));
+        // Not settled yet, still has to see the deposit
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, -4L));
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, -6L));
+        assertFalse(addEUToGlobalEnergyMap(user_uuid, -1L));
+        assertEquals(getUserEU(user_uuid), BigInteger.ZERO, message);
+
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, 3L));
+        WirelessEnergyLedger.settleAll();
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, -2L));
+        assertFalse(addEUToGlobalEnergyMap(user_uuid, -2L));
+        assertEquals(getUserEU(user_uuid), BigInteger.ONE, message);
+    }
+
+    @Test
+    void WirelessEnergyLedger_LargeAmounts() {
+        UUID user_uuid = UUID.randomUUID();
+        BigInteger large = BigInteger.valueOf(Long.MAX_VALUE)
+            .multiply(BigInteger.TEN);
+
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, large));
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, Long.MAX_VALUE));
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, -Long.MAX_VALUE));
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, Long.MIN_VALUE));
+        assertEquals(
+            getUserEU(user_uuid),
+            large.add(BigInteger.valueOf(Long.MIN_VALUE)),
+            message);
+
+        assertFalse(addEUToGlobalEnergyMap(user_uuid, large.negate()));
+        setUserEU(user_uuid, BigInteger.ONE);
+        assertTrue(addEUToGlobalEnergyMap(user_uuid, 1L));
+        assertEquals(getUserEU(user_uuid), BigInteger.valueOf(2L), message);
+    }
+}